@@ -1,6 +1,11 @@
 package org.jhipster.blog.config;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Properties specific to Blog.
@@ -11,4 +16,678 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
 public class ApplicationProperties {
 
+    private final EntryContent entryContent = new EntryContent();
+
+    private final Datasource datasource = new Datasource();
+
+    private final TagUsage tagUsage = new TagUsage();
+
+    private final TagSuggestion tagSuggestion = new TagSuggestion();
+
+    private final Feed feed = new Feed();
+
+    private final Cache cache = new Cache();
+
+    private final Jwt jwt = new Jwt();
+
+    private final PasswordHashing passwordHashing = new PasswordHashing();
+
+    private final RateLimit rateLimit = new RateLimit();
+
+    public EntryContent getEntryContent() {
+        return entryContent;
+    }
+
+    public Datasource getDatasource() {
+        return datasource;
+    }
+
+    public TagUsage getTagUsage() {
+        return tagUsage;
+    }
+
+    public TagSuggestion getTagSuggestion() {
+        return tagSuggestion;
+    }
+
+    public Feed getFeed() {
+        return feed;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public Jwt getJwt() {
+        return jwt;
+    }
+
+    public PasswordHashing getPasswordHashing() {
+        return passwordHashing;
+    }
+
+    public RateLimit getRateLimit() {
+        return rateLimit;
+    }
+
+    public static class EntryContent {
+
+        private final Compression compression = new Compression();
+
+        private final Html html = new Html();
+
+        public Compression getCompression() {
+            return compression;
+        }
+
+        public Html getHtml() {
+            return html;
+        }
+
+        public static class Compression {
+
+            private boolean enabled = false;
+
+            private int minLength = 1024;
+
+            private final Migration migration = new Migration();
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public int getMinLength() {
+                return minLength;
+            }
+
+            public void setMinLength(int minLength) {
+                this.minLength = minLength;
+            }
+
+            public Migration getMigration() {
+                return migration;
+            }
+
+            public static class Migration {
+
+                private boolean enabled = false;
+
+                private int batchSize = 500;
+
+                public boolean isEnabled() {
+                    return enabled;
+                }
+
+                public void setEnabled(boolean enabled) {
+                    this.enabled = enabled;
+                }
+
+                public int getBatchSize() {
+                    return batchSize;
+                }
+
+                public void setBatchSize(int batchSize) {
+                    this.batchSize = batchSize;
+                }
+            }
+        }
+
+        public static class Html {
+
+            private boolean persist = false;
+
+            public boolean isPersist() {
+                return persist;
+            }
+
+            public void setPersist(boolean persist) {
+                this.persist = persist;
+            }
+        }
+    }
+
+    public static class Datasource {
+
+        private final Replica replica = new Replica();
+
+        public Replica getReplica() {
+            return replica;
+        }
+
+        public static class Replica {
+
+            private boolean enabled = false;
+
+            private String url;
+
+            private String username;
+
+            private String password;
+
+            private Integer maximumPoolSize;
+
+            private int maxLagInSeconds = 10;
+
+            private int lagCheckIntervalInSeconds = 5;
+
+            private String lagQuery = "select case when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0 " +
+                "else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()), 0) end";
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public String getUrl() {
+                return url;
+            }
+
+            public void setUrl(String url) {
+                this.url = url;
+            }
+
+            public String getUsername() {
+                return username;
+            }
+
+            public void setUsername(String username) {
+                this.username = username;
+            }
+
+            public String getPassword() {
+                return password;
+            }
+
+            public void setPassword(String password) {
+                this.password = password;
+            }
+
+            public Integer getMaximumPoolSize() {
+                return maximumPoolSize;
+            }
+
+            public void setMaximumPoolSize(Integer maximumPoolSize) {
+                this.maximumPoolSize = maximumPoolSize;
+            }
+
+            public int getMaxLagInSeconds() {
+                return maxLagInSeconds;
+            }
+
+            public void setMaxLagInSeconds(int maxLagInSeconds) {
+                this.maxLagInSeconds = maxLagInSeconds;
+            }
+
+            public int getLagCheckIntervalInSeconds() {
+                return lagCheckIntervalInSeconds;
+            }
+
+            public void setLagCheckIntervalInSeconds(int lagCheckIntervalInSeconds) {
+                this.lagCheckIntervalInSeconds = lagCheckIntervalInSeconds;
+            }
+
+            public String getLagQuery() {
+                return lagQuery;
+            }
+
+            public void setLagQuery(String lagQuery) {
+                this.lagQuery = lagQuery;
+            }
+        }
+    }
+
+    public static class TagUsage {
+
+        private int reconcileIntervalInSeconds = 300;
+
+        public int getReconcileIntervalInSeconds() {
+            return reconcileIntervalInSeconds;
+        }
+
+        public void setReconcileIntervalInSeconds(int reconcileIntervalInSeconds) {
+            this.reconcileIntervalInSeconds = reconcileIntervalInSeconds;
+        }
+    }
+
+    public static class TagSuggestion {
+
+        private int rebuildDelayInMillis = 1000;
+
+        private int refreshIntervalInSeconds = 300;
+
+        public int getRebuildDelayInMillis() {
+            return rebuildDelayInMillis;
+        }
+
+        public void setRebuildDelayInMillis(int rebuildDelayInMillis) {
+            this.rebuildDelayInMillis = rebuildDelayInMillis;
+        }
+
+        public int getRefreshIntervalInSeconds() {
+            return refreshIntervalInSeconds;
+        }
+
+        public void setRefreshIntervalInSeconds(int refreshIntervalInSeconds) {
+            this.refreshIntervalInSeconds = refreshIntervalInSeconds;
+        }
+    }
+
+    public static class Feed {
+
+        private int size = 20;
+
+        public int getSize() {
+            return size;
+        }
+
+        public void setSize(int size) {
+            this.size = size;
+        }
+    }
+
+    public static class Cache {
+
+        private String diskPath = new File(System.getProperty("java.io.tmpdir"), "blog-cache").getPath();
+
+        private final Map<String, Region> regions = new HashMap<>();
+
+        private final Invalidation invalidation = new Invalidation();
+
+        private final WarmUp warmUp = new WarmUp();
+
+        private final Users users = new Users();
+
+        public String getDiskPath() {
+            return diskPath;
+        }
+
+        public void setDiskPath(String diskPath) {
+            this.diskPath = diskPath;
+        }
+
+        public Map<String, Region> getRegions() {
+            return regions;
+        }
+
+        public Invalidation getInvalidation() {
+            return invalidation;
+        }
+
+        public WarmUp getWarmUp() {
+            return warmUp;
+        }
+
+        public Users getUsers() {
+            return users;
+        }
+
+        /**
+         * The configuration of a cache region. Unset values fall back to {@code jhipster.cache.ehcache}.
+         */
+        public static class Region {
+
+            private Long maxEntries;
+
+            private DataSize maxHeapSize;
+
+            private Long timeToLiveSeconds;
+
+            private Long timeToIdleSeconds;
+
+            private DataSize offHeapSize;
+
+            private DataSize diskSize;
+
+            private boolean diskPersistent = false;
+
+            public Long getMaxEntries() {
+                return maxEntries;
+            }
+
+            public void setMaxEntries(Long maxEntries) {
+                this.maxEntries = maxEntries;
+            }
+
+            public DataSize getMaxHeapSize() {
+                return maxHeapSize;
+            }
+
+            public void setMaxHeapSize(DataSize maxHeapSize) {
+                this.maxHeapSize = maxHeapSize;
+            }
+
+            public Long getTimeToLiveSeconds() {
+                return timeToLiveSeconds;
+            }
+
+            public void setTimeToLiveSeconds(Long timeToLiveSeconds) {
+                this.timeToLiveSeconds = timeToLiveSeconds;
+            }
+
+            public Long getTimeToIdleSeconds() {
+                return timeToIdleSeconds;
+            }
+
+            public void setTimeToIdleSeconds(Long timeToIdleSeconds) {
+                this.timeToIdleSeconds = timeToIdleSeconds;
+            }
+
+            public DataSize getOffHeapSize() {
+                return offHeapSize;
+            }
+
+            public void setOffHeapSize(DataSize offHeapSize) {
+                this.offHeapSize = offHeapSize;
+            }
+
+            public DataSize getDiskSize() {
+                return diskSize;
+            }
+
+            public void setDiskSize(DataSize diskSize) {
+                this.diskSize = diskSize;
+            }
+
+            public boolean isDiskPersistent() {
+                return diskPersistent;
+            }
+
+            public void setDiskPersistent(boolean diskPersistent) {
+                this.diskPersistent = diskPersistent;
+            }
+        }
+
+        /**
+         * The broadcast of second-level cache evictions to the other nodes.
+         */
+        public static class Invalidation {
+
+            public enum Transport {
+                LOOPBACK, POSTGRES
+            }
+
+            private boolean enabled = false;
+
+            private Transport transport = Transport.POSTGRES;
+
+            private String channel = "blog_cache_invalidation";
+
+            private int flushIntervalInMillis = 100;
+
+            private int maxKeysPerRegion = 100;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public Transport getTransport() {
+                return transport;
+            }
+
+            public void setTransport(Transport transport) {
+                this.transport = transport;
+            }
+
+            public String getChannel() {
+                return channel;
+            }
+
+            public void setChannel(String channel) {
+                this.channel = channel;
+            }
+
+            public int getFlushIntervalInMillis() {
+                return flushIntervalInMillis;
+            }
+
+            public void setFlushIntervalInMillis(int flushIntervalInMillis) {
+                this.flushIntervalInMillis = flushIntervalInMillis;
+            }
+
+            public int getMaxKeysPerRegion() {
+                return maxKeysPerRegion;
+            }
+
+            public void setMaxKeysPerRegion(int maxKeysPerRegion) {
+                this.maxKeysPerRegion = maxKeysPerRegion;
+            }
+        }
+
+        /**
+         * The snapshot of the hottest keys of the caches, and their preloading on startup.
+         */
+        public static class WarmUp {
+
+            private boolean enabled = false;
+
+            private String snapshotFile;
+
+            private int snapshotIntervalInSeconds = 300;
+
+            private int maxKeysPerRegion = 1000;
+
+            private int threads = 4;
+
+            private int batchSize = 100;
+
+            private int timeoutInSeconds = 60;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public String getSnapshotFile() {
+                return snapshotFile;
+            }
+
+            public void setSnapshotFile(String snapshotFile) {
+                this.snapshotFile = snapshotFile;
+            }
+
+            public int getSnapshotIntervalInSeconds() {
+                return snapshotIntervalInSeconds;
+            }
+
+            public void setSnapshotIntervalInSeconds(int snapshotIntervalInSeconds) {
+                this.snapshotIntervalInSeconds = snapshotIntervalInSeconds;
+            }
+
+            public int getMaxKeysPerRegion() {
+                return maxKeysPerRegion;
+            }
+
+            public void setMaxKeysPerRegion(int maxKeysPerRegion) {
+                this.maxKeysPerRegion = maxKeysPerRegion;
+            }
+
+            public int getThreads() {
+                return threads;
+            }
+
+            public void setThreads(int threads) {
+                this.threads = threads;
+            }
+
+            public int getBatchSize() {
+                return batchSize;
+            }
+
+            public void setBatchSize(int batchSize) {
+                this.batchSize = batchSize;
+            }
+
+            public int getTimeoutInSeconds() {
+                return timeoutInSeconds;
+            }
+
+            public void setTimeoutInSeconds(int timeoutInSeconds) {
+                this.timeoutInSeconds = timeoutInSeconds;
+            }
+        }
+
+        /**
+         * The caches of the users by login and by email.
+         */
+        public static class Users {
+
+            private double refreshAheadRatio = 0.8;
+
+            public double getRefreshAheadRatio() {
+                return refreshAheadRatio;
+            }
+
+            public void setRefreshAheadRatio(double refreshAheadRatio) {
+                this.refreshAheadRatio = refreshAheadRatio;
+            }
+        }
+    }
+
+    /**
+     * The authentication of the requests by their JWT.
+     */
+    public static class Jwt {
+
+        private int verifiedTokensCacheSize = 10000;
+
+        public int getVerifiedTokensCacheSize() {
+            return verifiedTokensCacheSize;
+        }
+
+        public void setVerifiedTokensCacheSize(int verifiedTokensCacheSize) {
+            this.verifiedTokensCacheSize = verifiedTokensCacheSize;
+        }
+    }
+
+    /**
+     * The executor hashing the passwords, apart from the request threads.
+     */
+    public static class PasswordHashing {
+
+        /**
+         * Defaults to the number of available processors.
+         */
+        private int threads;
+
+        private int queueCapacity = 100;
+
+        private long retryAfterInSeconds = 1;
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public long getRetryAfterInSeconds() {
+            return retryAfterInSeconds;
+        }
+
+        public void setRetryAfterInSeconds(long retryAfterInSeconds) {
+            this.retryAfterInSeconds = retryAfterInSeconds;
+        }
+    }
+
+    /**
+     * The rate limits of authentication, registration and password reset.
+     */
+    public static class RateLimit {
+
+        private boolean enabled = true;
+
+        private final Limit byIp = new Limit(20, 10);
+
+        private final Limit byLogin = new Limit(5, 5);
+
+        private int maxEntries = 100000;
+
+        private int cleanupIntervalInSeconds = 60;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Limit getByIp() {
+            return byIp;
+        }
+
+        public Limit getByLogin() {
+            return byLogin;
+        }
+
+        public int getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        public int getCleanupIntervalInSeconds() {
+            return cleanupIntervalInSeconds;
+        }
+
+        public void setCleanupIntervalInSeconds(int cleanupIntervalInSeconds) {
+            this.cleanupIntervalInSeconds = cleanupIntervalInSeconds;
+        }
+
+        /**
+         * A token bucket: the requests allowed at once, and how fast they are allowed again.
+         */
+        public static class Limit {
+
+            private int capacity;
+
+            private int tokensPerMinute;
+
+            Limit(int capacity, int tokensPerMinute) {
+                this.capacity = capacity;
+                this.tokensPerMinute = tokensPerMinute;
+            }
+
+            public int getCapacity() {
+                return capacity;
+            }
+
+            public void setCapacity(int capacity) {
+                this.capacity = capacity;
+            }
+
+            public int getTokensPerMinute() {
+                return tokensPerMinute;
+            }
+
+            public void setTokensPerMinute(int tokensPerMinute) {
+                this.tokensPerMinute = tokensPerMinute;
+            }
+        }
+    }
 }
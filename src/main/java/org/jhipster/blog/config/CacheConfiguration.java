@@ -1,33 +1,57 @@
 package org.jhipster.blog.config;
 
+import java.io.File;
+import java.net.URI;
 import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
 
 import org.ehcache.config.builders.*;
+import org.ehcache.config.units.EntryUnit;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.impl.config.persistence.DefaultPersistenceConfiguration;
+import org.ehcache.impl.internal.statistics.DefaultStatisticsService;
 import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
 
 import org.hibernate.cache.jcache.ConfigSettings;
 import io.github.jhipster.config.JHipsterProperties;
 
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
 import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
 import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.jcache.JCacheCache;
 import org.springframework.context.annotation.*;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 
+/**
+ * Cache configuration.
+ * <p>
+ * Every region can be sized and tiered under {@code application.cache.regions.<name>}, see
+ * {@link ApplicationProperties.Cache.Region}; regions without configuration use {@code jhipster.cache.ehcache}.
+ * Off-heap and disk tiers hold serialized values outside of the Java heap, so large regions do not add GC
+ * pressure. The JCache manager is created here rather than by Spring Boot, so that it gets a persistence
+ * directory when a region has a disk tier.
+ * <p>
+ * Every region is bound to Micrometer with {@link EhcacheMetrics}, tagged by {@code name}, so that hits, misses,
+ * evictions, entries and bytes show on {@code /management/prometheus} and {@code /management/jhimetrics}.
+ */
 @Configuration
 @EnableCaching
 public class CacheConfiguration {
 
-    private final javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration;
+    private final JHipsterProperties.Cache.Ehcache ehcache;
 
-    public CacheConfiguration(JHipsterProperties jHipsterProperties) {
-        JHipsterProperties.Cache.Ehcache ehcache =
-            jHipsterProperties.getCache().getEhcache();
+    private final ApplicationProperties.Cache cacheProperties;
 
-        jcacheConfiguration = Eh107Configuration.fromEhcacheCacheConfiguration(
-            CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class,
-                ResourcePoolsBuilder.heap(ehcache.getMaxEntries()))
-                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ehcache.getTimeToLiveSeconds())))
-                .build());
+    private final DefaultStatisticsService statisticsService = new DefaultStatisticsService();
+
+    public CacheConfiguration(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
+        this.ehcache = jHipsterProperties.getCache().getEhcache();
+        this.cacheProperties = applicationProperties.getCache();
     }
 
     @Bean
@@ -35,11 +59,43 @@ public class CacheConfiguration {
         return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
     }
 
+    @Bean
+    public javax.cache.CacheManager jCacheCacheManager(List<JCacheManagerCustomizer> customizers) {
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) javax.cache.Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        ClassLoader classLoader = getClass().getClassLoader();
+        boolean diskTier = cacheProperties.getRegions().values().stream().anyMatch(region -> region.getDiskSize() != null);
+        DefaultConfiguration configuration = diskTier ?
+            new DefaultConfiguration(classLoader, new DefaultPersistenceConfiguration(new File(cacheProperties.getDiskPath()))) :
+            new DefaultConfiguration(classLoader);
+        // A cache manager of its own, as the caches are recreated by each application context sharing the JVM
+        javax.cache.CacheManager cm = provider.getCacheManager(URI.create("urn:blog:" + UUID.randomUUID()), configuration);
+        customizers.forEach(customizer -> customizer.customize(cm));
+        return cm;
+    }
+
+    /**
+     * Takes precedence over the binder of Spring Boot, which reads JSR-107 statistics MBeans that are not enabled.
+     */
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public CacheMeterBinderProvider<JCacheCache> ehcacheMeterBinderProvider() {
+        return (cache, tags) -> {
+            try {
+                return new EhcacheMetrics(cache.getNativeCache(), statisticsService.getCacheStatistics(cache.getName()), tags);
+            } catch (IllegalArgumentException e) {
+                // Not created by this configuration
+                return null;
+            }
+        };
+    }
+
     @Bean
     public JCacheManagerCustomizer cacheManagerCustomizer() {
         return cm -> {
             createCache(cm, org.jhipster.blog.repository.UserRepository.USERS_BY_LOGIN_CACHE);
             createCache(cm, org.jhipster.blog.repository.UserRepository.USERS_BY_EMAIL_CACHE);
+            createCache(cm, org.jhipster.blog.repository.UserRepository.UNKNOWN_LOGINS_CACHE);
+            createCache(cm, org.jhipster.blog.repository.UserRepository.UNKNOWN_EMAILS_CACHE);
             createCache(cm, org.jhipster.blog.domain.User.class.getName());
             createCache(cm, org.jhipster.blog.domain.Authority.class.getName());
             createCache(cm, org.jhipster.blog.domain.User.class.getName() + ".authorities");
@@ -48,6 +104,10 @@ public class CacheConfiguration {
             createCache(cm, org.jhipster.blog.domain.Entry.class.getName() + ".tags");
             createCache(cm, org.jhipster.blog.domain.Tag.class.getName());
             createCache(cm, org.jhipster.blog.domain.Tag.class.getName() + ".entries");
+            createCache(cm, org.jhipster.blog.repository.TagRepository.TAG_IDS_BY_NAME_CACHE);
+            createCache(cm, org.jhipster.blog.service.PublicBlogService.PUBLIC_BLOG_RESPONSES_CACHE);
+            createCache(cm, org.jhipster.blog.service.PublicBlogService.PUBLIC_BLOG_GENERATIONS_CACHE);
+            createCache(cm, org.jhipster.blog.service.EntryHtmlService.ENTRY_HTML_CACHE);
             // jhipster-needle-ehcache-add-entry
         };
     }
@@ -57,6 +117,39 @@ public class CacheConfiguration {
         if (cache != null) {
             cm.destroyCache(cacheName);
         }
-        cm.createCache(cacheName, jcacheConfiguration);
+        cache = cm.createCache(cacheName, Eh107Configuration.fromEhcacheCacheConfiguration(regionConfiguration(cacheName)));
+        statisticsService.cacheAdded(cacheName, cache.unwrap(org.ehcache.Cache.class));
+    }
+
+    private org.ehcache.config.CacheConfiguration<Object, Object> regionConfiguration(String cacheName) {
+        ApplicationProperties.Cache.Region region =
+            cacheProperties.getRegions().getOrDefault(cacheName, new ApplicationProperties.Cache.Region());
+        ResourcePoolsBuilder resourcePools = ResourcePoolsBuilder.newResourcePoolsBuilder();
+        if (region.getMaxHeapSize() != null) {
+            if (region.getMaxEntries() != null) {
+                throw new IllegalStateException("Cache region " + cacheName + " cannot have both max-entries and max-heap-size");
+            }
+            resourcePools = resourcePools.heap(region.getMaxHeapSize().toBytes(), MemoryUnit.B);
+        } else {
+            resourcePools = resourcePools.heap(region.getMaxEntries() != null ? region.getMaxEntries() : ehcache.getMaxEntries(), EntryUnit.ENTRIES);
+        }
+        if (region.getOffHeapSize() != null) {
+            resourcePools = resourcePools.offheap(region.getOffHeapSize().toBytes(), MemoryUnit.B);
+        }
+        if (region.getDiskSize() != null) {
+            resourcePools = resourcePools.disk(region.getDiskSize().toBytes(), MemoryUnit.B, region.isDiskPersistent());
+        }
+        CacheConfigurationBuilder<Object, Object> builder =
+            CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class, resourcePools);
+        if (region.getTimeToIdleSeconds() != null) {
+            if (region.getTimeToLiveSeconds() != null) {
+                throw new IllegalStateException("Cache region " + cacheName + " cannot have both time-to-live-seconds and time-to-idle-seconds");
+            }
+            builder = builder.withExpiry(ExpiryPolicyBuilder.timeToIdleExpiration(Duration.ofSeconds(region.getTimeToIdleSeconds())));
+        } else {
+            long timeToLiveSeconds = region.getTimeToLiveSeconds() != null ? region.getTimeToLiveSeconds() : ehcache.getTimeToLiveSeconds();
+            builder = builder.withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(timeToLiveSeconds)));
+        }
+        return builder.build();
     }
 }
@@ -0,0 +1,71 @@
+package org.jhipster.blog.config;
+
+import org.jhipster.blog.config.cache.CacheInvalidationBus;
+import org.jhipster.blog.config.cache.CacheInvalidationTransport;
+import org.jhipster.blog.config.cache.InvalidatingJCacheRegionFactory;
+import org.jhipster.blog.config.cache.LoopbackCacheInvalidationTransport;
+import org.jhipster.blog.config.cache.PostgresCacheInvalidationTransport;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.cfg.AvailableSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Configuration of the broadcast of second-level cache evictions, so that the nodes of a cluster do not serve
+ * entities changed by another node until they expire.
+ * <p>
+ * The transport is PostgreSQL {@code LISTEN}/{@code NOTIFY} on the application database, or an in-JVM loopback
+ * for tests. Evictions are sent every {@code application.cache.invalidation.flush-interval-in-millis}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.cache.invalidation", name = "enabled", havingValue = "true")
+public class CacheInvalidationConfiguration {
+
+    private final Logger log = LoggerFactory.getLogger(CacheInvalidationConfiguration.class);
+
+    private final ApplicationProperties.Cache.Invalidation invalidation;
+
+    private CacheInvalidationBus bus;
+
+    public CacheInvalidationConfiguration(ApplicationProperties applicationProperties) {
+        this.invalidation = applicationProperties.getCache().getInvalidation();
+    }
+
+    @Bean
+    public CacheInvalidationTransport cacheInvalidationTransport(DataSourceProperties dataSourceProperties) {
+        log.info("Broadcasting cache evictions with transport {}", invalidation.getTransport());
+        if (invalidation.getTransport() == ApplicationProperties.Cache.Invalidation.Transport.LOOPBACK) {
+            return new LoopbackCacheInvalidationTransport();
+        }
+        return new PostgresCacheInvalidationTransport(dataSourceProperties.determineUrl(),
+            dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword(), invalidation.getChannel());
+    }
+
+    @Bean
+    public CacheInvalidationBus cacheInvalidationBus(javax.cache.CacheManager cacheManager, CacheInvalidationTransport transport,
+                                                     ObjectMapper objectMapper) {
+        bus = new CacheInvalidationBus(cacheManager, transport, objectMapper, invalidation.getMaxKeysPerRegion());
+        transport.subscribe(bus);
+        return bus;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer invalidatingRegionFactoryCustomizer(CacheInvalidationBus bus) {
+        return hibernateProperties ->
+            hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, new InvalidatingJCacheRegionFactory(bus));
+    }
+
+    @Scheduled(fixedDelayString = "${application.cache.invalidation.flush-interval-in-millis:100}")
+    public void flush() {
+        if (bus != null) {
+            bus.flush();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package org.jhipster.blog.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+import org.ehcache.core.statistics.CacheStatistics;
+import org.ehcache.core.statistics.TierStatistics;
+
+/**
+ * Micrometer metrics of an Ehcache region, read from the Ehcache statistics rather than from JSR-107 MBeans.
+ * <p>
+ * On top of the usual {@code cache.gets}, {@code cache.puts}, {@code cache.evictions} and {@code cache.size},
+ * this binds {@code cache.removals}, {@code cache.expirations}, the estimated bytes held by the region, and the
+ * entries and bytes of every tier (heap, off-heap, disk), tagged by {@code tier}.
+ */
+public class EhcacheMetrics extends CacheMeterBinder {
+
+    private final CacheStatistics statistics;
+
+    public EhcacheMetrics(javax.cache.Cache<?, ?> cache, CacheStatistics statistics, Iterable<Tag> tags) {
+        super(cache, cache.getName(), tags);
+        this.statistics = statistics;
+    }
+
+    /**
+     * The lowest tier holds every entry of the region, so it has the most mappings.
+     */
+    @Override
+    protected Long size() {
+        return statistics.getTierStatistics().values().stream()
+            .mapToLong(TierStatistics::getMappings)
+            .max()
+            .orElse(0);
+    }
+
+    @Override
+    protected long hitCount() {
+        return statistics.getCacheHits();
+    }
+
+    @Override
+    protected Long missCount() {
+        return statistics.getCacheMisses();
+    }
+
+    @Override
+    protected Long evictionCount() {
+        return statistics.getCacheEvictions();
+    }
+
+    @Override
+    protected long putCount() {
+        return statistics.getCachePuts();
+    }
+
+    /**
+     * Heap tiers sized in entries do not measure their bytes, and report a negative size that is left out.
+     */
+    private long bytes() {
+        return statistics.getTierStatistics().values().stream()
+            .mapToLong(TierStatistics::getOccupiedByteSize)
+            .filter(bytes -> bytes > 0)
+            .sum();
+    }
+
+    @Override
+    protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+        FunctionCounter.builder("cache.removals", statistics, CacheStatistics::getCacheRemovals)
+            .tags(getTagsWithCacheName())
+            .description("Cache removals")
+            .register(registry);
+        FunctionCounter.builder("cache.expirations", statistics, CacheStatistics::getCacheExpirations)
+            .tags(getTagsWithCacheName())
+            .description("Entries removed from the cache because they expired")
+            .register(registry);
+        Gauge.builder("cache.bytes", this, EhcacheMetrics::bytes)
+            .tags(getTagsWithCacheName())
+            .description("The estimated bytes used by the entries of this cache, in the tiers measuring them")
+            .baseUnit("bytes")
+            .register(registry);
+        statistics.getTierStatistics().forEach((tier, tierStatistics) -> {
+            Tags tierTags = Tags.concat(getTagsWithCacheName(), "tier", tier);
+            Gauge.builder("cache.tier.size", tierStatistics, TierStatistics::getMappings)
+                .tags(tierTags)
+                .description("The number of entries in this tier of the cache")
+                .register(registry);
+            Gauge.builder("cache.tier.bytes", tierStatistics, TierStatistics::getOccupiedByteSize)
+                .tags(tierTags)
+                .description("The bytes used by the entries in this tier of the cache, or -1 if the tier does not measure them")
+                .baseUnit("bytes")
+                .register(registry);
+        });
+    }
+}
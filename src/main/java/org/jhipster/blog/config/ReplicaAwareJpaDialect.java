@@ -0,0 +1,78 @@
+package org.jhipster.blog.config;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
+import java.sql.SQLException;
+
+/**
+ * JPA dialect keeping the sessions which read the replica from writing to the second-level cache.
+ * <p>
+ * A replica lags behind the primary, so an entity read there right after a write would put its previous state
+ * back in the cache, where it would be served, and merged against, until it expires. The sessions of read-only
+ * transactions which read the replica therefore only get entities from the cache, with {@link CacheMode#GET}.
+ */
+public class ReplicaAwareJpaDialect extends HibernateJpaDialect {
+
+    private final ReplicaRoutingDataSource routingDataSource;
+
+    public ReplicaAwareJpaDialect(ReplicaRoutingDataSource routingDataSource) {
+        this.routingDataSource = routingDataSource;
+    }
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+        throws PersistenceException, SQLException {
+        Object transactionData = super.beginTransaction(entityManager, definition);
+        if (!definition.isReadOnly()) {
+            return transactionData;
+        }
+        Session session = entityManager.unwrap(Session.class);
+        ReplicaTransactionData replicaTransactionData = new ReplicaTransactionData(transactionData, session,
+            session.getCacheMode(), routingDataSource.isReadingReplica());
+        if (routingDataSource.beginReadOnlyTransaction()) {
+            session.setCacheMode(CacheMode.GET);
+        }
+        return replicaTransactionData;
+    }
+
+    @Override
+    public void cleanupTransaction(Object transactionData) {
+        if (transactionData instanceof ReplicaTransactionData) {
+            ReplicaTransactionData replicaTransactionData = (ReplicaTransactionData) transactionData;
+            routingDataSource.endReadOnlyTransaction(replicaTransactionData.previousReadingReplica);
+            if (replicaTransactionData.session.isOpen()) {
+                replicaTransactionData.session.setCacheMode(replicaTransactionData.previousCacheMode);
+            }
+            super.cleanupTransaction(replicaTransactionData.transactionData);
+        } else {
+            super.cleanupTransaction(transactionData);
+        }
+    }
+
+    /**
+     * The state of a read-only transaction, restored when it ends.
+     */
+    private static final class ReplicaTransactionData {
+
+        private final Object transactionData;
+
+        private final Session session;
+
+        private final CacheMode previousCacheMode;
+
+        private final Boolean previousReadingReplica;
+
+        ReplicaTransactionData(Object transactionData, Session session, CacheMode previousCacheMode,
+                               Boolean previousReadingReplica) {
+            this.transactionData = transactionData;
+            this.session = session;
+            this.previousCacheMode = previousCacheMode;
+            this.previousReadingReplica = previousReadingReplica;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package org.jhipster.blog.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.StringUtils;
+
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+
+/**
+ * Configuration of a read replica, used by read-only transactions.
+ * <p>
+ * The primary pool is configured like the default one, from {@code spring.datasource}. The replica pool is a
+ * copy of its configuration, with the URL of {@code application.datasource.replica}, and its credentials when
+ * they are set. Both pools report Hikari metrics, tagged with their pool name.
+ * <p>
+ * The pools are not beans themselves, as the data source initialization of Spring Boot expects a single
+ * {@link DataSource} bean.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.datasource.replica", name = "enabled", havingValue = "true")
+public class ReplicaDataSourceConfiguration {
+
+    private static final String HIKARI_PREFIX = "spring.datasource.hikari";
+
+    private final Logger log = LoggerFactory.getLogger(ReplicaDataSourceConfiguration.class);
+
+    private final ApplicationProperties applicationProperties;
+
+    private final Environment env;
+
+    private HikariDataSource primaryDataSource;
+
+    private HikariDataSource replicaDataSource;
+
+    private ReplicaRoutingDataSource routingDataSource;
+
+    public ReplicaDataSourceConfiguration(ApplicationProperties applicationProperties, Environment env) {
+        this.applicationProperties = applicationProperties;
+        this.env = env;
+    }
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties, MeterRegistry meterRegistry) {
+        ApplicationProperties.Datasource.Replica replica = applicationProperties.getDatasource().getReplica();
+        log.info("Configuring read replica {}", replica.getUrl());
+
+        primaryDataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(env).bind(HIKARI_PREFIX, Bindable.ofInstance(primaryDataSource));
+        if (StringUtils.hasText(properties.getName())) {
+            primaryDataSource.setPoolName(properties.getName());
+        }
+        if (primaryDataSource.getPoolName() == null) {
+            primaryDataSource.setPoolName("Hikari");
+        }
+
+        replicaDataSource = new HikariDataSource();
+        primaryDataSource.copyStateTo(replicaDataSource);
+        replicaDataSource.setJdbcUrl(replica.getUrl());
+        if (StringUtils.hasText(replica.getUsername())) {
+            replicaDataSource.setUsername(replica.getUsername());
+            replicaDataSource.setPassword(replica.getPassword());
+        }
+        replicaDataSource.setPoolName(primaryDataSource.getPoolName() + "-replica");
+        replicaDataSource.setReadOnly(true);
+        if (replica.getMaximumPoolSize() != null) {
+            replicaDataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+        }
+
+        MicrometerMetricsTrackerFactory metricsTrackerFactory = new MicrometerMetricsTrackerFactory(meterRegistry);
+        primaryDataSource.setMetricsTrackerFactory(metricsTrackerFactory);
+        replicaDataSource.setMetricsTrackerFactory(metricsTrackerFactory);
+
+        routingDataSource = new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource,
+            applicationProperties.getDatasource()::getReplica, meterRegistry);
+        routingDataSource.afterPropertiesSet();
+        // Do not send read-only transactions to a replica before its lag is known
+        routingDataSource.checkReplica();
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        dataSource.setDefaultAutoCommit(primaryDataSource.isAutoCommit());
+        return dataSource;
+    }
+
+    /**
+     * Use a {@link ReplicaAwareJpaDialect} for the entity manager factory, so that the transactions know whether
+     * they read the replica when they begin.
+     */
+    @Bean
+    public static BeanPostProcessor replicaAwareJpaDialectPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof LocalContainerEntityManagerFactoryBean) {
+                    LocalContainerEntityManagerFactoryBean entityManagerFactory = (LocalContainerEntityManagerFactoryBean) bean;
+                    DataSource dataSource = entityManagerFactory.getDataSource();
+                    if (dataSource instanceof LazyConnectionDataSourceProxy &&
+                        ((LazyConnectionDataSourceProxy) dataSource).getTargetDataSource() instanceof ReplicaRoutingDataSource) {
+                        entityManagerFactory.setJpaDialect(new ReplicaAwareJpaDialect(
+                            (ReplicaRoutingDataSource) ((LazyConnectionDataSourceProxy) dataSource).getTargetDataSource()));
+                    }
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Scheduled(fixedDelayString = "#{${application.datasource.replica.lag-check-interval-in-seconds:5} * 1000}")
+    public void checkReplica() {
+        if (routingDataSource != null) {
+            routingDataSource.checkReplica();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (replicaDataSource != null) {
+            replicaDataSource.close();
+        }
+        if (primaryDataSource != null) {
+            primaryDataSource.close();
+        }
+    }
+}
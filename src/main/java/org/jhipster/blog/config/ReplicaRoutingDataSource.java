@@ -0,0 +1,144 @@
+package org.jhipster.blog.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * {@link DataSource} sending read-only transactions to a replica, and everything else to the primary.
+ * <p>
+ * The read-only flag of a transaction is only known once it has begun, so this data source must be wrapped
+ * in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, which only gets a connection
+ * when the first statement runs.
+ * <p>
+ * The replication lag is checked periodically with {@link #checkReplica()}: while the replica lags behind by
+ * more than the configured maximum, or cannot be reached, read-only transactions go to the primary as well.
+ * <p>
+ * Whether a read-only transaction reads the replica is decided when it begins, by {@link ReplicaAwareJpaDialect},
+ * so that the sessions reading the replica are known not to fill the second-level cache with lagging rows.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target {
+        PRIMARY, REPLICA
+    }
+
+    private final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private final JdbcTemplate replicaJdbcTemplate;
+
+    private final Supplier<ApplicationProperties.Datasource.Replica> properties;
+
+    private final Counter primaryCounter;
+
+    private final Counter replicaCounter;
+
+    private final ThreadLocal<Boolean> readingReplica = new ThreadLocal<>();
+
+    private volatile boolean replicaAvailable = true;
+
+    private volatile double replicaLag;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica,
+                                    Supplier<ApplicationProperties.Datasource.Replica> properties, MeterRegistry meterRegistry) {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(Target.PRIMARY, primary);
+        targets.put(Target.REPLICA, replica);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        this.replicaJdbcTemplate = new JdbcTemplate(replica);
+        this.properties = properties;
+        this.primaryCounter = Counter.builder("datasource.routing")
+            .description("Connections obtained, by target database")
+            .tag("target", "primary")
+            .register(meterRegistry);
+        this.replicaCounter = Counter.builder("datasource.routing")
+            .description("Connections obtained, by target database")
+            .tag("target", "replica")
+            .register(meterRegistry);
+        Gauge.builder("datasource.replica.lag", this, dataSource -> dataSource.replicaLag)
+            .description("Replication lag of the replica, in seconds")
+            .baseUnit("seconds")
+            .register(meterRegistry);
+        Gauge.builder("datasource.replica.available", this, dataSource -> dataSource.replicaAvailable ? 1 : 0)
+            .description("Whether read-only transactions are sent to the replica")
+            .register(meterRegistry);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (replicaAvailable && Boolean.TRUE.equals(readingReplica.get())
+            && TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            replicaCounter.increment();
+            return Target.REPLICA;
+        }
+        primaryCounter.increment();
+        return Target.PRIMARY;
+    }
+
+    /**
+     * Decide whether the read-only transaction beginning on the current thread reads the replica.
+     *
+     * @return whether it reads the replica.
+     */
+    boolean beginReadOnlyTransaction() {
+        boolean replica = replicaAvailable;
+        readingReplica.set(replica);
+        return replica;
+    }
+
+    /**
+     * Restore the decision of the enclosing transaction, once a read-only transaction has ended.
+     *
+     * @param previous whether the enclosing transaction reads the replica, null when there is none.
+     */
+    void endReadOnlyTransaction(Boolean previous) {
+        if (previous == null) {
+            readingReplica.remove();
+        } else {
+            readingReplica.set(previous);
+        }
+    }
+
+    Boolean isReadingReplica() {
+        return readingReplica.get();
+    }
+
+    /**
+     * Measure the replication lag, and stop or resume using the replica accordingly.
+     */
+    public void checkReplica() {
+        ApplicationProperties.Datasource.Replica replica = properties.get();
+        boolean available;
+        try {
+            Double lag = replicaJdbcTemplate.queryForObject(replica.getLagQuery(), Double.class);
+            replicaLag = lag == null ? 0 : lag;
+            available = replicaLag <= replica.getMaxLagInSeconds();
+        } catch (RuntimeException e) {
+            log.warn("Could not check the replica: {}", e.getMessage());
+            available = false;
+        }
+        if (available != replicaAvailable) {
+            if (available) {
+                log.info("Replica is back, with a lag of {} s: using it for read-only transactions", replicaLag);
+            } else {
+                log.warn("Replica lags {} s behind or is down: using the primary for read-only transactions", replicaLag);
+            }
+            replicaAvailable = available;
+        }
+    }
+
+    public boolean isReplicaAvailable() {
+        return replicaAvailable;
+    }
+}
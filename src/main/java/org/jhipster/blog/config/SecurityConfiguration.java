@@ -2,9 +2,12 @@ package org.jhipster.blog.config;
 
 import org.jhipster.blog.security.*;
 import org.jhipster.blog.security.jwt.*;
+import org.jhipster.blog.security.ratelimit.RateLimitService;
+import org.jhipster.blog.security.ratelimit.RateLimitingFilter;
 
 import org.springframework.beans.factory.BeanInitializationException;
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpMethod;
@@ -19,8 +22,13 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.security.web.header.writers.ReferrerPolicyHeaderWriter;
 import org.springframework.web.filter.CorsFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
 import org.zalando.problem.spring.web.advice.security.SecurityProblemSupport;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.ExecutorService;
+
 @EnableWebSecurity
 @EnableGlobalMethodSecurity(prePostEnabled = true, securedEnabled = true)
 @Import(SecurityProblemSupport.class)
@@ -31,15 +39,24 @@ public class SecurityConfiguration extends WebSecurityConfigurerAdapter {
     private final CorsFilter corsFilter;
     private final SecurityProblemSupport problemSupport;
 
-    public SecurityConfiguration(TokenProvider tokenProvider, CorsFilter corsFilter, SecurityProblemSupport problemSupport) {
+    private final RateLimitService rateLimitService;
+    private final HandlerExceptionResolver handlerExceptionResolver;
+
+    public SecurityConfiguration(TokenProvider tokenProvider, CorsFilter corsFilter, SecurityProblemSupport problemSupport,
+                                 RateLimitService rateLimitService,
+                                 @Qualifier("handlerExceptionResolver") HandlerExceptionResolver handlerExceptionResolver) {
         this.tokenProvider = tokenProvider;
         this.corsFilter = corsFilter;
         this.problemSupport = problemSupport;
+        this.rateLimitService = rateLimitService;
+        this.handlerExceptionResolver = handlerExceptionResolver;
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Qualifier("passwordHashingExecutor") ExecutorService passwordHashingExecutor,
+                                           ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        return new BulkheadPasswordEncoder(new BCryptPasswordEncoder(), passwordHashingExecutor,
+            applicationProperties.getPasswordHashing().getRetryAfterInSeconds(), meterRegistry);
     }
 
     @Override
@@ -61,6 +78,7 @@ public class SecurityConfiguration extends WebSecurityConfigurerAdapter {
             .csrf()
             .disable()
             .addFilterBefore(corsFilter, UsernamePasswordAuthenticationFilter.class)
+            .addFilterAfter(new RateLimitingFilter(rateLimitService, handlerExceptionResolver), CorsFilter.class)
             .exceptionHandling()
             .authenticationEntryPoint(problemSupport)
             .accessDeniedHandler(problemSupport)
@@ -79,6 +97,7 @@ public class SecurityConfiguration extends WebSecurityConfigurerAdapter {
             .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
         .and()
             .authorizeRequests()
+            .antMatchers(HttpMethod.GET, "/public/**").permitAll()
             .antMatchers("/api/authenticate").permitAll()
             .antMatchers("/api/register").permitAll()
             .antMatchers("/api/activate").permitAll()
@@ -0,0 +1,316 @@
+package org.jhipster.blog.config.cache;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Broadcasts cache evictions to the other nodes, and applies theirs to the local caches.
+ * <p>
+ * Evictions are queued and sent in batches by {@link #flush()}: the keys of a region are deduplicated, and
+ * once a region has more than {@code maxKeysPerRegion} keys in a batch, the whole region is cleared instead.
+ * Messages are JSON, split to fit the transport. Received evictions are applied to the JCache caches
+ * directly, so they are not broadcast again.
+ * <p>
+ * Only {@link Long}, {@link Integer} and {@link String} keys can be sent; an eviction with another type of key
+ * clears its whole region.
+ */
+public class CacheInvalidationBus implements CacheInvalidationTransport.Listener {
+
+    public enum KeyType {
+        LONG, INTEGER, STRING;
+
+        static KeyType of(Object key) {
+            if (key instanceof Long) {
+                return LONG;
+            }
+            if (key instanceof Integer) {
+                return INTEGER;
+            }
+            if (key instanceof String) {
+                return STRING;
+            }
+            return null;
+        }
+
+        Object read(Object value) {
+            switch (this) {
+                case LONG:
+                    return ((Number) value).longValue();
+                case INTEGER:
+                    return ((Number) value).intValue();
+                default:
+                    return value.toString();
+            }
+        }
+    }
+
+    private final Logger log = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+    private final String node = UUID.randomUUID().toString();
+
+    private final javax.cache.CacheManager cacheManager;
+
+    private final CacheInvalidationTransport transport;
+
+    private final ObjectMapper objectMapper;
+
+    private final int maxKeysPerRegion;
+
+    private final Object lock = new Object();
+
+    private Map<String, Set<Object>> pendingKeys = new LinkedHashMap<>();
+
+    private Set<String> pendingRegions = new LinkedHashSet<>();
+
+    public CacheInvalidationBus(javax.cache.CacheManager cacheManager, CacheInvalidationTransport transport,
+                                ObjectMapper objectMapper, int maxKeysPerRegion) {
+        this.cacheManager = cacheManager;
+        this.transport = transport;
+        this.objectMapper = objectMapper;
+        this.maxKeysPerRegion = maxKeysPerRegion;
+    }
+
+    /**
+     * Evict a key from a region on the other nodes.
+     *
+     * @param region the name of the cache.
+     * @param key the key.
+     */
+    public void evict(String region, Object key) {
+        if (KeyType.of(key) == null) {
+            evictAll(region);
+            return;
+        }
+        synchronized (lock) {
+            if (pendingRegions.contains(region)) {
+                return;
+            }
+            Set<Object> keys = pendingKeys.computeIfAbsent(region, r -> new LinkedHashSet<>());
+            keys.add(key);
+            if (keys.size() > maxKeysPerRegion) {
+                pendingKeys.remove(region);
+                pendingRegions.add(region);
+            }
+        }
+    }
+
+    /**
+     * Clear a region on the other nodes.
+     *
+     * @param region the name of the cache.
+     */
+    public void evictAll(String region) {
+        synchronized (lock) {
+            pendingKeys.remove(region);
+            pendingRegions.add(region);
+        }
+    }
+
+    /**
+     * Send the queued evictions. If the transport fails, they are queued again, to be sent with the next batch.
+     */
+    public void flush() {
+        Map<String, Set<Object>> keys;
+        Set<String> regions;
+        synchronized (lock) {
+            if (pendingKeys.isEmpty() && pendingRegions.isEmpty()) {
+                return;
+            }
+            keys = pendingKeys;
+            regions = pendingRegions;
+            pendingKeys = new LinkedHashMap<>();
+            pendingRegions = new LinkedHashSet<>();
+        }
+        List<Eviction> evictions = new ArrayList<>();
+        regions.forEach(region -> evictions.add(new Eviction(region, null, null)));
+        keys.forEach((region, regionKeys) -> {
+            Map<KeyType, List<Object>> keysByType = new LinkedHashMap<>();
+            regionKeys.forEach(key -> keysByType.computeIfAbsent(KeyType.of(key), type -> new ArrayList<>()).add(key));
+            keysByType.forEach((type, typedKeys) -> evictions.add(new Eviction(region, type, typedKeys)));
+        });
+        try {
+            for (String message : encode(evictions)) {
+                transport.publish(message);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not send {} cache evictions, they will be sent again: {}", evictions.size(), e.getMessage());
+            synchronized (lock) {
+                regions.forEach(this::evictAll);
+                keys.forEach((region, regionKeys) -> regionKeys.forEach(key -> evict(region, key)));
+            }
+        }
+    }
+
+    /**
+     * Pack evictions into as few messages as the transport allows.
+     */
+    List<String> encode(List<Eviction> evictions) {
+        int maxLength = transport.getMaxMessageLength();
+        String prefix = "{\"node\":\"" + node + "\",\"evictions\":[";
+        String suffix = "]}";
+        List<String> messages = new ArrayList<>();
+        StringBuilder message = new StringBuilder(prefix);
+        int length = prefix.length() + suffix.length();
+        int count = 0;
+        for (Eviction eviction : evictions) {
+            String json = toJson(eviction);
+            int jsonLength = json.getBytes(StandardCharsets.UTF_8).length;
+            if (prefix.length() + suffix.length() + jsonLength > maxLength) {
+                json = toJson(new Eviction(eviction.getRegion(), null, null));
+                jsonLength = json.getBytes(StandardCharsets.UTF_8).length;
+            }
+            if (count > 0 && length + 1 + jsonLength > maxLength) {
+                messages.add(message.append(suffix).toString());
+                message = new StringBuilder(prefix);
+                length = prefix.length() + suffix.length();
+                count = 0;
+            }
+            if (count > 0) {
+                message.append(',');
+                length++;
+            }
+            message.append(json);
+            length += jsonLength;
+            count++;
+        }
+        if (count > 0) {
+            messages.add(message.append(suffix).toString());
+        }
+        return messages;
+    }
+
+    private String toJson(Eviction eviction) {
+        try {
+            return objectMapper.writeValueAsString(eviction);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not encode cache eviction for region " + eviction.getRegion(), e);
+        }
+    }
+
+    @Override
+    public void onMessage(String message) {
+        Message decoded;
+        try {
+            decoded = objectMapper.readValue(message, Message.class);
+        } catch (IOException e) {
+            log.warn("Ignoring malformed cache invalidation message: {}", e.getMessage());
+            return;
+        }
+        if (node.equals(decoded.getNode()) || decoded.getEvictions() == null) {
+            return;
+        }
+        for (Eviction eviction : decoded.getEvictions()) {
+            javax.cache.Cache<Object, Object> cache = cacheManager.getCache(eviction.getRegion());
+            if (cache == null) {
+                continue;
+            }
+            if (eviction.getKeys() == null || eviction.getKeyType() == null) {
+                log.debug("Clearing cache {} for node {}", eviction.getRegion(), decoded.getNode());
+                cache.clear();
+            } else {
+                Set<Object> keys = new HashSet<>();
+                eviction.getKeys().forEach(key -> keys.add(eviction.getKeyType().read(key)));
+                log.debug("Evicting {} keys from cache {} for node {}", keys.size(), eviction.getRegion(), decoded.getNode());
+                cache.removeAll(keys);
+            }
+        }
+    }
+
+    /**
+     * Evictions sent while messages were lost are unknown, so every cache is cleared.
+     */
+    @Override
+    public void onReset() {
+        log.info("Cache invalidation messages may have been lost, clearing all caches");
+        for (String cacheName : cacheManager.getCacheNames()) {
+            javax.cache.Cache<Object, Object> cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+
+    public static class Message {
+
+        private String node;
+
+        private List<Eviction> evictions;
+
+        public String getNode() {
+            return node;
+        }
+
+        public void setNode(String node) {
+            this.node = node;
+        }
+
+        public List<Eviction> getEvictions() {
+            return evictions;
+        }
+
+        public void setEvictions(List<Eviction> evictions) {
+            this.evictions = evictions;
+        }
+    }
+
+    /**
+     * Keys of a region to evict, or the whole region when there are none.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Eviction {
+
+        private String region;
+
+        private KeyType keyType;
+
+        private List<Object> keys;
+
+        public Eviction() {
+        }
+
+        public Eviction(String region, KeyType keyType, List<Object> keys) {
+            this.region = region;
+            this.keyType = keyType;
+            this.keys = keys == null ? null : Collections.unmodifiableList(keys);
+        }
+
+        public String getRegion() {
+            return region;
+        }
+
+        public void setRegion(String region) {
+            this.region = region;
+        }
+
+        public KeyType getKeyType() {
+            return keyType;
+        }
+
+        public void setKeyType(KeyType keyType) {
+            this.keyType = keyType;
+        }
+
+        public List<Object> getKeys() {
+            return keys;
+        }
+
+        public void setKeys(List<Object> keys) {
+            this.keys = keys;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package org.jhipster.blog.config.cache;
+
+/**
+ * Carries cache invalidation messages between the nodes of a cluster.
+ * <p>
+ * Delivery is best effort: a transport which may have lost messages, for instance after a reconnection, must
+ * tell its listeners with {@link Listener#onReset()}.
+ */
+public interface CacheInvalidationTransport {
+
+    /**
+     * Send a message to every node, possibly including this one.
+     *
+     * @param message the message, no longer than {@link #getMaxMessageLength()} bytes in UTF-8.
+     */
+    void publish(String message);
+
+    /**
+     * Receive the messages published by every node, possibly including this one.
+     *
+     * @param listener the listener.
+     */
+    void subscribe(Listener listener);
+
+    /**
+     * @return the maximum length of a message, in bytes of UTF-8.
+     */
+    default int getMaxMessageLength() {
+        return Integer.MAX_VALUE;
+    }
+
+    interface Listener {
+
+        void onMessage(String message);
+
+        /**
+         * Called when messages may have been lost.
+         */
+        void onReset();
+    }
+}
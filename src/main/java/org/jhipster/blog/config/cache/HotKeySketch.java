@@ -0,0 +1,201 @@
+package org.jhipster.blog.config.cache;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Tracks the most accessed keys of a cache region in bounded memory.
+ * <p>
+ * Access frequencies are estimated with a count-min sketch (with conservative updates, so that estimates only
+ * overcount on collisions), and the {@code maxKeys} keys with the highest estimates are kept as candidates. A key
+ * replaces the coldest candidate once its estimate is higher. {@link #age()} halves every count, so that keys
+ * which are no longer accessed make way for new ones.
+ * <p>
+ * {@link #record(Object)} is called on every load of an entity, so it takes no lock and allocates nothing: the
+ * counters are atomic, and the key is only written to a buffer. Whichever thread fills the buffer drains it into
+ * the candidates if no other thread is doing so; otherwise the keys are dropped until the buffer is drained,
+ * while their accesses are still counted. Concurrent updates of a counter may lose an increment, which only
+ * makes an estimate slightly low.
+ */
+public class HotKeySketch {
+
+    private static final int DEPTH = 4;
+
+    private static final int[] SEEDS = {0x97cb3127, 0xb58c6d93, 0xc2b2ae35, 0x85ebca6b};
+
+    private static final int BUFFER_SIZE = 128;
+
+    private final int maxKeys;
+
+    private final int width;
+
+    private final int widthShift;
+
+    private final AtomicIntegerArray counters;
+
+    private final AtomicReferenceArray<Object> buffer = new AtomicReferenceArray<>(BUFFER_SIZE);
+
+    private final AtomicInteger bufferWrites = new AtomicInteger();
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Map<Object, Integer> candidates = new HashMap<>();
+
+    private Object coldestKey;
+
+    private int coldestCount;
+
+    public HotKeySketch(int maxKeys) {
+        if (maxKeys < 1) {
+            throw new IllegalArgumentException("A sketch must keep at least one key: " + maxKeys);
+        }
+        this.maxKeys = maxKeys;
+        this.width = Integer.highestOneBit(Math.max(64, maxKeys * 8) - 1) << 1;
+        this.widthShift = Integer.SIZE - Integer.numberOfTrailingZeros(width);
+        this.counters = new AtomicIntegerArray(DEPTH * width);
+    }
+
+    /**
+     * Record an access to a key.
+     *
+     * @param key the key.
+     */
+    public void record(Object key) {
+        increment(key.hashCode());
+        int write = bufferWrites.getAndIncrement();
+        if (write < BUFFER_SIZE) {
+            buffer.lazySet(write, key);
+        }
+        if ((write & (BUFFER_SIZE - 1)) == BUFFER_SIZE - 1 && lock.tryLock()) {
+            try {
+                drain();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Get the hottest keys.
+     *
+     * @return at most {@code maxKeys} keys, hottest first.
+     */
+    public List<Object> hottest() {
+        lock.lock();
+        try {
+            drain();
+            List<Map.Entry<Object, Integer>> entries = new ArrayList<>(candidates.entrySet());
+            entries.sort(Map.Entry.<Object, Integer>comparingByValue().reversed());
+            List<Object> keys = new ArrayList<>(entries.size());
+            entries.forEach(entry -> keys.add(entry.getKey()));
+            return keys;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Halve every count, and forget the keys that are no longer counted.
+     */
+    public void age() {
+        lock.lock();
+        try {
+            drain();
+            for (int i = 0; i < counters.length(); i++) {
+                counters.getAndUpdate(i, count -> count >>> 1);
+            }
+            for (Iterator<Map.Entry<Object, Integer>> it = candidates.entrySet().iterator(); it.hasNext(); ) {
+                Map.Entry<Object, Integer> candidate = it.next();
+                if (candidate.getValue() <= 1) {
+                    it.remove();
+                } else {
+                    candidate.setValue(candidate.getValue() >>> 1);
+                }
+            }
+            coldestKey = null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Offer the buffered keys to the candidates, with their current estimates. Called with the lock held.
+     */
+    private void drain() {
+        int writes = Math.min(bufferWrites.get(), BUFFER_SIZE);
+        for (int i = 0; i < writes; i++) {
+            Object key = buffer.getAndSet(i, null);
+            if (key != null) {
+                offer(key, estimate(key.hashCode()));
+            }
+        }
+        bufferWrites.set(0);
+    }
+
+    private void offer(Object key, int count) {
+        if (candidates.containsKey(key)) {
+            candidates.put(key, count);
+            if (key.equals(coldestKey)) {
+                coldestKey = null;
+            }
+            return;
+        }
+        if (candidates.size() < maxKeys) {
+            candidates.put(key, count);
+            if (coldestKey != null && count < coldestCount) {
+                coldestKey = key;
+                coldestCount = count;
+            }
+            return;
+        }
+        if (coldestKey == null) {
+            findColdest();
+        }
+        if (count > coldestCount) {
+            candidates.remove(coldestKey);
+            candidates.put(key, count);
+            findColdest();
+        }
+    }
+
+    private void increment(int hashCode) {
+        int min = estimate(hashCode);
+        if (min == Integer.MAX_VALUE) {
+            return;
+        }
+        for (int row = 0; row < DEPTH; row++) {
+            counters.compareAndSet(index(hashCode, row), min, min + 1);
+        }
+    }
+
+    private int estimate(int hashCode) {
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            min = Math.min(min, counters.get(index(hashCode, row)));
+        }
+        return min;
+    }
+
+    private int index(int hashCode, int row) {
+        int hash = (hashCode ^ (hashCode >>> 16)) * SEEDS[row];
+        return row * width + (hash >>> widthShift);
+    }
+
+    private void findColdest() {
+        coldestKey = null;
+        coldestCount = Integer.MAX_VALUE;
+        candidates.forEach((key, count) -> {
+            if (count < coldestCount) {
+                coldestKey = key;
+                coldestCount = count;
+            }
+        });
+    }
+}
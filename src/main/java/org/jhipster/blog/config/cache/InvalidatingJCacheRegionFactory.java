@@ -0,0 +1,105 @@
+package org.jhipster.blog.config.cache;
+
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.internal.SimpleCacheKeysFactory;
+import org.hibernate.cache.jcache.internal.JCacheAccessImpl;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/**
+ * {@link JCacheRegionFactory} sending the evictions made by Hibernate to the other nodes, through a
+ * {@link CacheInvalidationBus}.
+ * <p>
+ * Entity and collection regions broadcast the keys they remove, which is every key Hibernate invalidates with
+ * {@code NONSTRICT_READ_WRITE}, once when the change is flushed and again after the commit. Query regions
+ * broadcast when they are cleared, and an update of the timestamps region clears the query regions of the
+ * other nodes, as their results may be stale.
+ * <p>
+ * Keys are the plain ids ({@link SimpleCacheKeysFactory}), so that they can be sent; this requires a region per
+ * entity hierarchy, as configured in {@link org.jhipster.blog.config.CacheConfiguration}.
+ */
+public class InvalidatingJCacheRegionFactory extends JCacheRegionFactory {
+
+    private final CacheInvalidationBus bus;
+
+    private final Set<String> queryRegions = new CopyOnWriteArraySet<>();
+
+    public InvalidatingJCacheRegionFactory(CacheInvalidationBus bus) {
+        super(SimpleCacheKeysFactory.INSTANCE);
+        this.bus = bus;
+    }
+
+    @Override
+    protected DomainDataStorageAccess createDomainDataStorageAccess(DomainDataRegionConfig regionConfig,
+                                                                    DomainDataRegionBuildingContext buildingContext) {
+        JCacheAccessImpl access = (JCacheAccessImpl) super.createDomainDataStorageAccess(regionConfig, buildingContext);
+        return new InvalidatingAccess(access.getUnderlyingCache());
+    }
+
+    @Override
+    protected StorageAccess createQueryResultsRegionStorageAccess(String regionName, SessionFactoryImplementor sessionFactory) {
+        JCacheAccessImpl access = (JCacheAccessImpl) super.createQueryResultsRegionStorageAccess(regionName, sessionFactory);
+        queryRegions.add(access.getUnderlyingCache().getName());
+        return new InvalidatingAccess(access.getUnderlyingCache());
+    }
+
+    @Override
+    protected StorageAccess createTimestampsRegionStorageAccess(String regionName, SessionFactoryImplementor sessionFactory) {
+        JCacheAccessImpl access = (JCacheAccessImpl) super.createTimestampsRegionStorageAccess(regionName, sessionFactory);
+        return new TimestampsAccess(access.getUnderlyingCache());
+    }
+
+    private class InvalidatingAccess extends JCacheAccessImpl {
+
+        private final String region;
+
+        InvalidatingAccess(javax.cache.Cache<Object, Object> cache) {
+            super(cache);
+            this.region = cache.getName();
+        }
+
+        @Override
+        public void removeFromCache(Object key, SharedSessionContractImplementor session) {
+            super.removeFromCache(key, session);
+            bus.evict(region, key);
+        }
+
+        @Override
+        public void evictData(Object key) {
+            super.evictData(key);
+            bus.evict(region, key);
+        }
+
+        @Override
+        public void clearCache(SharedSessionContractImplementor session) {
+            super.clearCache(session);
+            bus.evictAll(region);
+        }
+
+        @Override
+        public void evictData() {
+            super.evictData();
+            bus.evictAll(region);
+        }
+    }
+
+    private class TimestampsAccess extends JCacheAccessImpl {
+
+        TimestampsAccess(javax.cache.Cache<Object, Object> cache) {
+            super(cache);
+        }
+
+        @Override
+        public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+            super.putIntoCache(key, value, session);
+            queryRegions.forEach(bus::evictAll);
+        }
+    }
+}
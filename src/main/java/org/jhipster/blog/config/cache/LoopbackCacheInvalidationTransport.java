@@ -0,0 +1,23 @@
+package org.jhipster.blog.config.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * {@link CacheInvalidationTransport} delivering messages synchronously to the listeners in the same JVM, so
+ * that several nodes can be simulated in tests.
+ */
+public class LoopbackCacheInvalidationTransport implements CacheInvalidationTransport {
+
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(String message) {
+        listeners.forEach(listener -> listener.onMessage(message));
+    }
+
+    @Override
+    public void subscribe(Listener listener) {
+        listeners.add(listener);
+    }
+}
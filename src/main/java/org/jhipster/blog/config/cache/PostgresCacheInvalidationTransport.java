@@ -0,0 +1,169 @@
+package org.jhipster.blog.config.cache;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+
+/**
+ * {@link CacheInvalidationTransport} over PostgreSQL {@code LISTEN}/{@code NOTIFY}, so that the nodes only need
+ * the database they already share.
+ * <p>
+ * Notifications are received on a dedicated connection, outside of the pool, by a daemon thread. When that
+ * connection is lost, the thread reconnects with an exponential backoff and resets the listeners, as
+ * notifications sent in the meantime are lost. Messages are published on a second dedicated connection in
+ * auto-commit mode, so that they are delivered at once.
+ */
+public class PostgresCacheInvalidationTransport implements CacheInvalidationTransport, AutoCloseable {
+
+    /**
+     * {@code NOTIFY} payloads must be shorter than 8000 bytes.
+     */
+    static final int MAX_PAYLOAD_LENGTH = 7999;
+
+    private static final Pattern CHANNEL = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    private static final int POLL_TIMEOUT_MILLIS = 1000;
+
+    private static final long MIN_BACKOFF_MILLIS = 1000;
+
+    private static final long MAX_BACKOFF_MILLIS = 30000;
+
+    private final Logger log = LoggerFactory.getLogger(PostgresCacheInvalidationTransport.class);
+
+    private final String url;
+
+    private final String username;
+
+    private final String password;
+
+    private final String channel;
+
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    private final Thread listenerThread;
+
+    private volatile boolean running = true;
+
+    private Connection publishConnection;
+
+    public PostgresCacheInvalidationTransport(String url, String username, String password, String channel) {
+        if (!CHANNEL.matcher(channel).matches()) {
+            throw new IllegalStateException("Invalid cache invalidation channel: " + channel);
+        }
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.channel = channel;
+        this.listenerThread = new Thread(this::listen, "cache-invalidation-" + channel);
+        this.listenerThread.setDaemon(true);
+    }
+
+    @Override
+    public synchronized void publish(String message) {
+        try {
+            if (publishConnection == null || publishConnection.isClosed()) {
+                publishConnection = DriverManager.getConnection(url, username, password);
+            }
+            try (PreparedStatement statement = publishConnection.prepareStatement("select pg_notify(?, ?)")) {
+                statement.setString(1, channel);
+                statement.setString(2, message);
+                statement.execute();
+            }
+        } catch (SQLException e) {
+            closeQuietly(publishConnection);
+            publishConnection = null;
+            throw new IllegalStateException("Could not notify channel " + channel, e);
+        }
+    }
+
+    @Override
+    public synchronized void subscribe(Listener listener) {
+        listeners.add(listener);
+        if (listenerThread.getState() == Thread.State.NEW) {
+            listenerThread.start();
+        }
+    }
+
+    @Override
+    public int getMaxMessageLength() {
+        return MAX_PAYLOAD_LENGTH;
+    }
+
+    private void listen() {
+        long backoff = MIN_BACKOFF_MILLIS;
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                log.debug("Listening to cache invalidations on channel {}", channel);
+                if (reconnecting) {
+                    listeners.forEach(Listener::onReset);
+                }
+                reconnecting = true;
+                backoff = MIN_BACKOFF_MILLIS;
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            dispatch(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Lost the connection listening to channel {}, reconnecting in {} ms: {}", channel, backoff, e.getMessage());
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+            }
+        }
+    }
+
+    private void dispatch(String message) {
+        for (Listener listener : listeners) {
+            try {
+                listener.onMessage(message);
+            } catch (RuntimeException e) {
+                log.warn("Could not handle cache invalidation message: {}", e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        running = false;
+        listenerThread.interrupt();
+        closeQuietly(publishConnection);
+        publishConnection = null;
+    }
+
+    private void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.debug("Could not close connection: {}", e.getMessage());
+        }
+    }
+}
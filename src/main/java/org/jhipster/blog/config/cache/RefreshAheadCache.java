@@ -0,0 +1,220 @@
+package org.jhipster.blog.config.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.ehcache.expiry.ExpiryPolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Serializable;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+/**
+ * Loads the values of a JCache cache, so that the concurrent misses of a key are loaded once, and refreshes the
+ * entries accessed shortly before they expire.
+ * <p>
+ * Values are stored with their load time. An entry accessed once {@code refreshAheadRatio} of its time to live has
+ * elapsed is reloaded in the background, while the current value is still served; entries which are not accessed
+ * meanwhile expire as usual. Regions expiring on idle are never refreshed, as their accessed entries do not expire.
+ * <p>
+ * Keys without value are cached in a separate negative cache when there is one, so that lookups of unknown keys
+ * neither evict the known ones nor get refreshed; otherwise, null values are cached like the others.
+ * {@link #evict(Object)} also discards the loads in flight for the key, so that a value read before a change is not
+ * cached after it.
+ *
+ * @param <K> the type of the keys.
+ * @param <V> the type of the values.
+ */
+public class RefreshAheadCache<K, V> {
+
+    private final Logger log = LoggerFactory.getLogger(RefreshAheadCache.class);
+
+    private final javax.cache.Cache<Object, Object> cache;
+
+    private final javax.cache.Cache<Object, Object> negativeCache;
+
+    private final Executor executor;
+
+    private final Clock clock;
+
+    private final long refreshAfterMillis;
+
+    private final ConcurrentMap<K, CompletableFuture<V>> loads = new ConcurrentHashMap<>();
+
+    private final Counter loadCounter;
+
+    private final Counter coalescedLoadCounter;
+
+    private final Counter refreshCounter;
+
+    private final Counter failedRefreshCounter;
+
+    private final Counter rejectedRefreshCounter;
+
+    public RefreshAheadCache(javax.cache.Cache<Object, Object> cache, javax.cache.Cache<Object, Object> negativeCache,
+                             double refreshAheadRatio, Executor executor, MeterRegistry meterRegistry) {
+        this(cache, negativeCache, refreshAheadRatio, executor, meterRegistry, Clock.systemUTC());
+    }
+
+    RefreshAheadCache(javax.cache.Cache<Object, Object> cache, javax.cache.Cache<Object, Object> negativeCache,
+                      double refreshAheadRatio, Executor executor, MeterRegistry meterRegistry, Clock clock) {
+        this.cache = cache;
+        this.negativeCache = negativeCache;
+        this.executor = executor;
+        this.clock = clock;
+        this.refreshAfterMillis = refreshAfterMillis(cache, refreshAheadRatio);
+        String name = cache.getName();
+        this.loadCounter = Counter.builder("cache.loads")
+            .description("The number of misses loaded")
+            .tag("name", name)
+            .register(meterRegistry);
+        this.coalescedLoadCounter = Counter.builder("cache.loads.coalesced")
+            .description("The number of misses which waited for the load of another miss of the key")
+            .tag("name", name)
+            .register(meterRegistry);
+        this.refreshCounter = Counter.builder("cache.refreshes")
+            .description("The number of entries refreshed before they expire")
+            .tags("name", name, "result", "success")
+            .register(meterRegistry);
+        this.failedRefreshCounter = Counter.builder("cache.refreshes")
+            .description("The number of entries refreshed before they expire")
+            .tags("name", name, "result", "failure")
+            .register(meterRegistry);
+        this.rejectedRefreshCounter = Counter.builder("cache.refreshes")
+            .description("The number of entries refreshed before they expire")
+            .tags("name", name, "result", "rejected")
+            .register(meterRegistry);
+    }
+
+    private static long refreshAfterMillis(javax.cache.Cache<Object, Object> cache, double refreshAheadRatio) {
+        if (refreshAheadRatio <= 0 || refreshAheadRatio >= 1) {
+            throw new IllegalStateException("The refresh-ahead ratio of cache " + cache.getName() + " must be between 0 and 1: "
+                + refreshAheadRatio);
+        }
+        @SuppressWarnings("unchecked")
+        ExpiryPolicy<Object, Object> expiryPolicy = (ExpiryPolicy<Object, Object>)
+            cache.unwrap(org.ehcache.Cache.class).getRuntimeConfiguration().getExpiryPolicy();
+        Object sample = new Object();
+        Duration timeToLive = expiryPolicy.getExpiryForCreation(sample, sample);
+        if (timeToLive == null || ExpiryPolicy.INFINITE.equals(timeToLive) || expiryPolicy.getExpiryForAccess(sample, () -> sample) != null) {
+            return Long.MAX_VALUE;
+        }
+        return (long) (timeToLive.toMillis() * refreshAheadRatio);
+    }
+
+    /**
+     * Get the value of a key, loading it on a miss.
+     *
+     * @param key the key.
+     * @param loader the function loading the value of a key, null when there is none.
+     * @return the value.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        Object cached = cache.get(key);
+        if (cached instanceof Loaded) {
+            Loaded<V> loaded = (Loaded<V>) cached;
+            if (clock.millis() - loaded.loadedAt >= refreshAfterMillis) {
+                refresh(key, loader);
+            }
+            return loaded.value;
+        }
+        if (negativeCache != null && negativeCache.get(key) != null) {
+            return null;
+        }
+        CompletableFuture<V> load = new CompletableFuture<>();
+        CompletableFuture<V> inFlight = loads.putIfAbsent(key, load);
+        if (inFlight != null) {
+            coalescedLoadCounter.increment();
+            try {
+                return inFlight.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+        }
+        loadCounter.increment();
+        return load(key, loader, load);
+    }
+
+    private void refresh(K key, Function<? super K, ? extends V> loader) {
+        CompletableFuture<V> load = new CompletableFuture<>();
+        if (loads.putIfAbsent(key, load) != null) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    load(key, loader, load);
+                    refreshCounter.increment();
+                } catch (RuntimeException e) {
+                    log.warn("Could not refresh key {} of cache {}: {}", key, cache.getName(), e.getMessage());
+                    failedRefreshCounter.increment();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            loads.remove(key, load);
+            load.completeExceptionally(e);
+            rejectedRefreshCounter.increment();
+        }
+    }
+
+    private V load(K key, Function<? super K, ? extends V> loader, CompletableFuture<V> load) {
+        try {
+            V value = loader.apply(key);
+            if (loads.remove(key, load)) {
+                if (value == null && negativeCache != null) {
+                    cache.remove(key);
+                    negativeCache.put(key, Boolean.TRUE);
+                } else {
+                    cache.put(key, new Loaded<>(value, clock.millis()));
+                }
+            }
+            load.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            loads.remove(key, load);
+            load.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Evict a key, and discard the loads in flight for it.
+     *
+     * @param key the key.
+     */
+    public void evict(K key) {
+        if (key != null) {
+            loads.remove(key);
+            cache.remove(key);
+            if (negativeCache != null) {
+                negativeCache.remove(key);
+            }
+        }
+    }
+
+    /**
+     * A value and its load time.
+     */
+    static final class Loaded<V> implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final V value;
+
+        private final long loadedAt;
+
+        Loaded(V value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
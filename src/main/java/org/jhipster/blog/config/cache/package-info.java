@@ -0,0 +1,4 @@
+/**
+ * Broadcast of second-level cache evictions between the nodes of a cluster.
+ */
+package org.jhipster.blog.config.cache;
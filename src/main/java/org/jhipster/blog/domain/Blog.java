@@ -37,6 +37,10 @@ public class Blog implements Serializable {
     @JsonIgnoreProperties("blogs")
     private User user;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here, do not remove
     public Long getId() {
         return id;
@@ -46,6 +50,14 @@ public class Blog implements Serializable {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getName() {
         return name;
     }
@@ -106,6 +118,7 @@ public class Blog implements Serializable {
     public String toString() {
         return "Blog{" +
             "id=" + getId() +
+            ", version=" + getVersion() +
             ", name='" + getName() + "'" +
             ", handle='" + getHandle() + "'" +
             "}";
@@ -1,8 +1,8 @@
 package org.jhipster.blog.domain;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import org.jhipster.blog.domain.util.CompressedContentConverter;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
-import org.hibernate.annotations.Type;
 
 import javax.persistence.*;
 import javax.validation.constraints.*;
@@ -32,8 +32,7 @@ public class Entry implements Serializable {
     private String title;
 
     
-    @Lob
-    @Type(type = "org.hibernate.type.TextType")
+    @Convert(converter = CompressedContentConverter.class)
     @Column(name = "content", nullable = false)
     private String content;
 
@@ -52,6 +51,10 @@ public class Entry implements Serializable {
                inverseJoinColumns = @JoinColumn(name = "tag_id", referencedColumnName = "id"))
     private Set<Tag> tags = new HashSet<>();
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here, do not remove
     public Long getId() {
         return id;
@@ -61,6 +64,14 @@ public class Entry implements Serializable {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getTitle() {
         return title;
     }
@@ -159,6 +170,7 @@ public class Entry implements Serializable {
     public String toString() {
         return "Entry{" +
             "id=" + getId() +
+            ", version=" + getVersion() +
             ", title='" + getTitle() + "'" +
             ", content='" + getContent() + "'" +
             ", date='" + getDate() + "'" +
@@ -8,6 +8,7 @@ import javax.validation.constraints.*;
 
 import java.io.Serializable;
 import java.util.HashSet;
+import java.util.Locale;
 import java.util.Set;
 
 /**
@@ -30,11 +31,22 @@ public class Tag implements Serializable {
     @Column(name = "name", nullable = false)
     private String name;
 
+    /**
+     * The name in lower case and trimmed, unique among tags.
+     */
+    @JsonIgnore
+    @Column(name = "normalized_name", nullable = false, unique = true)
+    private String normalizedName;
+
     @ManyToMany(mappedBy = "tags")
     @Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
     @JsonIgnore
     private Set<Entry> entries = new HashSet<>();
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here, do not remove
     public Long getId() {
         return id;
@@ -44,17 +56,46 @@ public class Tag implements Serializable {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getName() {
         return name;
     }
 
     public Tag name(String name) {
-        this.name = name;
+        setName(name);
         return this;
     }
 
     public void setName(String name) {
         this.name = name;
+        this.normalizedName = normalizeName(name);
+    }
+
+    public String getNormalizedName() {
+        return normalizedName;
+    }
+
+    /**
+     * Normalize a tag name: tag names are unique whatever their case and surrounding whitespace.
+     *
+     * @param name the name.
+     * @return the normalized name.
+     */
+    public static String normalizeName(String name) {
+        return name == null ? null : name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    @PrePersist
+    @PreUpdate
+    private void updateNormalizedName() {
+        normalizedName = normalizeName(name);
     }
 
     public Set<Entry> getEntries() {
@@ -103,6 +144,7 @@ public class Tag implements Serializable {
     public String toString() {
         return "Tag{" +
             "id=" + getId() +
+            ", version=" + getVersion() +
             ", name='" + getName() + "'" +
             "}";
     }
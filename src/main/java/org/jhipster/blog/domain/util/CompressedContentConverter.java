@@ -0,0 +1,35 @@
+package org.jhipster.blog.domain.util;
+
+import org.jhipster.blog.config.ApplicationProperties;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+
+/**
+ * Converter storing long text attributes compressed, see {@link CompressedText}.
+ * <p>
+ * Compression is opt-in with {@code application.entry-content.compression.enabled}: compressed values are
+ * always read, so that it can be turned off again without migrating the data back first.
+ */
+@Converter
+public class CompressedContentConverter implements AttributeConverter<String, String> {
+
+    private final ApplicationProperties.EntryContent.Compression compression;
+
+    public CompressedContentConverter(ApplicationProperties applicationProperties) {
+        this.compression = applicationProperties.getEntryContent().getCompression();
+    }
+
+    @Override
+    public String convertToDatabaseColumn(String attribute) {
+        if (compression.isEnabled()) {
+            return CompressedText.encode(attribute, compression.getMinLength());
+        }
+        return CompressedText.encodePlain(attribute);
+    }
+
+    @Override
+    public String convertToEntityAttribute(String dbData) {
+        return CompressedText.decode(dbData);
+    }
+}
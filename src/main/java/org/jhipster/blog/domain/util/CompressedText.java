@@ -0,0 +1,136 @@
+package org.jhipster.blog.domain.util;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Codec storing text compressed in a text column.
+ * <p>
+ * A compressed value starts with a two characters format header: {@link #HEADER} followed by the codec, here
+ * {@link #DEFLATE} for raw Deflate, and then the compressed UTF-8 bytes in Base64, as a text column cannot hold
+ * arbitrary bytes. Values that are short, or that do not compress, are stored as they are, so existing rows
+ * remain readable; a plain value that happens to start with {@link #HEADER} is escaped with the {@link #PLAIN}
+ * codec.
+ */
+public final class CompressedText {
+
+    public static final char HEADER = '\u0001';
+
+    public static final char PLAIN = 'P';
+
+    public static final char DEFLATE = 'D';
+
+    private static final int HEADER_LENGTH = 2;
+
+    private CompressedText() {
+    }
+
+    /**
+     * Encode a value, compressing it if it is long enough and compressing saves space.
+     *
+     * @param value the value to encode.
+     * @param minLength the minimum length of the values to compress.
+     * @return the encoded value.
+     */
+    public static String encode(String value, int minLength) {
+        if (value == null || value.length() < minLength) {
+            return encodePlain(value);
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        byte[] compressed = deflate(bytes);
+        int encodedLength = HEADER_LENGTH + (compressed.length + 2) / 3 * 4;
+        if (encodedLength >= bytes.length) {
+            return encodePlain(value);
+        }
+        return new StringBuilder(encodedLength)
+            .append(HEADER)
+            .append(DEFLATE)
+            .append(Base64.getEncoder().encodeToString(compressed))
+            .toString();
+    }
+
+    /**
+     * Encode a value without compressing it.
+     *
+     * @param value the value to encode.
+     * @return the encoded value, which is the value itself unless it starts with {@link #HEADER}.
+     */
+    public static String encodePlain(String value) {
+        if (value == null || value.isEmpty() || value.charAt(0) != HEADER) {
+            return value;
+        }
+        return new StringBuilder(value.length() + HEADER_LENGTH).append(HEADER).append(PLAIN).append(value).toString();
+    }
+
+    /**
+     * Decode a value encoded by {@link #encode(String, int)} or {@link #encodePlain(String)}, or never encoded.
+     *
+     * @param encoded the encoded value.
+     * @return the value.
+     * @throws IllegalArgumentException if the value has an unknown format, or is corrupted.
+     */
+    public static String decode(String encoded) {
+        if (!isEncoded(encoded)) {
+            return encoded;
+        }
+        char codec = encoded.charAt(1);
+        switch (codec) {
+            case PLAIN:
+                return encoded.substring(HEADER_LENGTH);
+            case DEFLATE:
+                byte[] compressed = Base64.getDecoder().decode(encoded.substring(HEADER_LENGTH));
+                return new String(inflate(compressed), StandardCharsets.UTF_8);
+            default:
+                throw new IllegalArgumentException("Unknown compressed text codec: " + codec);
+        }
+    }
+
+    /**
+     * @param value a value read from the database.
+     * @return {@code true} if the value has a format header.
+     */
+    public static boolean isEncoded(String value) {
+        return value != null && value.length() >= HEADER_LENGTH && value.charAt(0) == HEADER;
+    }
+
+    private static byte[] deflate(byte[] bytes) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            deflater.setInput(bytes);
+            deflater.finish();
+            ByteArrayOutputStream output = new ByteArrayOutputStream(bytes.length / 2 + 64);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                output.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return output.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] compressed) {
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(compressed);
+            ByteArrayOutputStream output = new ByteArrayOutputStream(compressed.length * 4);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int length = inflater.inflate(buffer);
+                if (length == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalArgumentException("Truncated compressed text");
+                }
+                output.write(buffer, 0, length);
+            }
+            return output.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Corrupted compressed text", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Persistence utilities for the JPA domain objects.
+ */
+package org.jhipster.blog.domain.util;
@@ -2,9 +2,11 @@ package org.jhipster.blog.repository;
 
 import org.jhipster.blog.domain.Blog;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Spring Data  repository for the Blog entity.
@@ -16,4 +18,20 @@ public interface BlogRepository extends JpaRepository<Blog, Long> {
     @Query("select blog from Blog blog where blog.user.login = ?#{principal.username}")
     List<Blog> findByUserIsCurrentUser();
 
+    @Query("select blog.id from Blog blog where blog.user.login = :login")
+    List<Long> findIdsByUserLogin(@Param("login") String login);
+
+    @Query("select user.login from Blog blog join blog.user user where blog.id = :id")
+    Optional<String> findOwnerLoginById(@Param("id") Long id);
+
+    @Query("select blog.version from Blog blog where blog.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query("select blog.handle from Blog blog where blog.id = :id")
+    Optional<String> findHandleById(@Param("id") Long id);
+
+    /**
+     * Find a blog by handle. Handles are not unique, so the oldest blog with the handle is the one found.
+     */
+    Optional<Blog> findFirstByHandleOrderByIdAsc(String handle);
 }
@@ -1,14 +1,19 @@
 package org.jhipster.blog.repository;
 
 import org.jhipster.blog.domain.Entry;
+import org.jhipster.blog.service.search.EntryDocument;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Spring Data  repository for the Entry entity.
@@ -16,6 +21,8 @@ import java.util.Optional;
 @Repository
 public interface EntryRepository extends JpaRepository<Entry, Long> {
 
+    int EXPORT_FETCH_SIZE = 500;
+
     @Query(value = "select distinct entry from Entry entry left join fetch entry.tags",
         countQuery = "select count(distinct entry) from Entry entry")
     Page<Entry> findAllWithEagerRelationships(Pageable pageable);
@@ -23,8 +30,127 @@ public interface EntryRepository extends JpaRepository<Entry, Long> {
     @Query("select distinct entry from Entry entry left join fetch entry.tags")
     List<Entry> findAllWithEagerRelationships();
 
-    @Query("select entry from Entry entry left join fetch entry.tags where entry.id =:id")
+    @Query("select entry from Entry entry left join fetch entry.tags " +
+        "left join fetch entry.blog blog left join fetch blog.user where entry.id =:id")
     Optional<Entry> findOneWithEagerRelationships(@Param("id") Long id);
 
+    @Query("select user.login from Entry entry join entry.blog blog join blog.user user where entry.id = :id")
+    Optional<String> findOwnerLoginById(@Param("id") Long id);
+
+    @Query("select distinct entry from Entry entry left join fetch entry.tags " +
+        "left join fetch entry.blog blog left join fetch blog.user where entry.id in :ids")
+    List<Entry> findAllWithEagerRelationshipsByIdIn(@Param("ids") Collection<Long> ids);
+
     Page<Entry> findByBlogUserLoginOrderByDateDesc(String currentUserLogin, Pageable pageable);
+
+    <T> Page<T> findByBlogUserLoginOrderByDateDesc(String currentUserLogin, Pageable pageable, Class<T> type);
+
+    <T> Page<T> findByBlogIdOrderByDateDescIdDesc(Long blogId, Pageable pageable, Class<T> type);
+
+    @Query("select blog.handle from Entry entry join entry.blog blog where entry.id = :id")
+    Optional<String> findBlogHandleById(@Param("id") Long id);
+
+    @Query(value = "select entry.id as id, entry.title as title, entry.date as date, blog.id as blogId, blog.name as blogName " +
+        "from Entry entry join entry.blog blog where blog.user.login = :login order by entry.date desc, entry.id desc",
+        countQuery = "select count(entry) from Entry entry where entry.blog.user.login = :login")
+    Page<EntrySummary> findSummariesByBlogUserLogin(@Param("login") String currentUserLogin, Pageable pageable);
+
+    @Query("select entry.id as id, entry.title as title, entry.date as date, blog.id as blogId, blog.name as blogName " +
+        "from Entry entry join entry.blog blog where entry.blog.id = :blogId order by entry.date desc, entry.id desc")
+    List<EntrySummary> findFirstSummariesByBlogId(@Param("blogId") Long blogId, Pageable pageable);
+
+    /**
+     * Seek the entry summaries of a blog following a sort key. The redundant bound on the date lets the database
+     * start the scan of the blog's entries at the key, in the {@code (blog_id, date desc, id desc)} index.
+     */
+    @Query("select entry.id as id, entry.title as title, entry.date as date, blog.id as blogId, blog.name as blogName " +
+        "from Entry entry join entry.blog blog where entry.blog.id = :blogId " +
+        "and entry.date <= :date and (entry.date < :date or entry.id < :id) " +
+        "order by entry.date desc, entry.id desc")
+    List<EntrySummary> findSummariesByBlogIdAfter(@Param("blogId") Long blogId, @Param("date") Instant date,
+                                                  @Param("id") Long id, Pageable pageable);
+
+    @Query("select tag.id from Entry entry join entry.tags tag where entry.id = :id")
+    List<Long> findTagIdsById(@Param("id") Long id);
+
+    @Query("select tag.id as tagId, blog.handle as blogHandle from Entry entry left join entry.blog blog " +
+        "left join entry.tags tag where entry.id = :id")
+    List<EntryTag> findTagsAndBlogHandleById(@Param("id") Long id);
+
+    @Query("select entry.id, tag from Entry entry join entry.tags tag where entry.id in :ids")
+    List<Object[]> findTagsByEntryIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select new org.jhipster.blog.service.search.EntryDocument(entry.id, entry.title, entry.content, user.login) " +
+        "from Entry entry left join entry.blog blog left join blog.user user where entry.id > :id order by entry.id")
+    List<EntryDocument> findSearchDocumentsAfter(@Param("id") Long id, Pageable pageable);
+
+    /**
+     * Stream the entries of a user with their blog, reading forward only with the given fetch size.
+     * <p>
+     * Entries are read-only and bypass the second-level cache, so that an export neither dirty-checks nor
+     * evicts the cached entries. The stream must be read in a transaction, and closed.
+     */
+    @QueryHints({
+        @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+        @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_READONLY, value = "true"),
+        @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("select entry from Entry entry join fetch entry.blog blog join fetch blog.user user " +
+        "where user.login = :login order by entry.id")
+    Stream<Entry> streamByBlogUserLogin(@Param("login") String currentUserLogin);
+
+    /**
+     * Projection on the id of an entry, used to page through entries before fetching them.
+     */
+    interface EntryId {
+
+        Long getId();
+    }
+
+    /**
+     * Projection on an entry without its content, with the id and name of its blog.
+     */
+    interface EntrySummary {
+
+        Long getId();
+
+        String getTitle();
+
+        Instant getDate();
+
+        Long getBlogId();
+
+        String getBlogName();
+    }
+
+    /**
+     * Projection on the id of a tag of an entry, {@code null} when the entry has no tags, with the handle of its blog.
+     */
+    interface EntryTag {
+
+        Long getTagId();
+
+        String getBlogHandle();
+    }
+
+    /**
+     * Projection on the versions of an entry, of its blog, and the sum of the versions of its tags, which together
+     * identify the version of an entry with its blog and tags.
+     */
+    interface EntryVersions {
+
+        Long getVersion();
+
+        Long getBlogVersion();
+
+        Long getTagsVersion();
+    }
+
+    @Query("select entry.version from Entry entry where entry.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query("select entry.version as version, blog.version as blogVersion, sum(tag.version) as tagsVersion " +
+        "from Entry entry left join entry.blog blog left join entry.tags tag where entry.id = :id " +
+        "group by entry.version, blog.version")
+    Optional<EntryVersions> findVersionsById(@Param("id") Long id);
 }
@@ -1,9 +1,14 @@
 package org.jhipster.blog.repository;
 
 import org.jhipster.blog.domain.Tag;
+import org.jhipster.blog.service.dto.TagUsageDTO;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 /**
  * Spring Data  repository for the Tag entity.
@@ -12,4 +17,21 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface TagRepository extends JpaRepository<Tag, Long> {
 
+    String TAG_IDS_BY_NAME_CACHE = "tagIdsByName";
+
+    @Query("select tag.version from Tag tag where tag.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query("select new org.jhipster.blog.service.dto.TagUsageDTO(tag.id, tag.name, count(entry.id)) " +
+        "from Tag tag left join tag.entries entry group by tag.id, tag.name")
+    List<TagUsageDTO> findUsages();
+
+    @Query("select tag.id from Tag tag where tag.normalizedName = :name")
+    Optional<Long> findIdByNormalizedName(@Param("name") String normalizedName);
+
+    @Query("select tag.normalizedName from Tag tag where tag.id = :id")
+    Optional<String> findNormalizedNameById(@Param("id") Long id);
+
+    @Query("select tag.normalizedName, tag.id from Tag tag where tag.normalizedName in :names")
+    List<Object[]> findIdsByNormalizedNameIn(@Param("names") Collection<String> normalizedNames);
 }
@@ -2,7 +2,6 @@ package org.jhipster.blog.repository;
 
 import org.jhipster.blog.domain.User;
 
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 
 import org.springframework.data.domain.Pageable;
@@ -20,10 +19,26 @@ import java.time.Instant;
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    /**
+     * The cache of {@link #findOneWithAuthoritiesByLogin(String)}, see {@link org.jhipster.blog.service.UserCacheService}.
+     */
     String USERS_BY_LOGIN_CACHE = "usersByLogin";
 
+    /**
+     * The cache of {@link #findOneWithAuthoritiesByEmail(String)}, see {@link org.jhipster.blog.service.UserCacheService}.
+     */
     String USERS_BY_EMAIL_CACHE = "usersByEmail";
 
+    /**
+     * The logins without user, see {@link org.jhipster.blog.service.UserCacheService}.
+     */
+    String UNKNOWN_LOGINS_CACHE = "unknownLogins";
+
+    /**
+     * The emails without user, see {@link org.jhipster.blog.service.UserCacheService}.
+     */
+    String UNKNOWN_EMAILS_CACHE = "unknownEmails";
+
     Optional<User> findOneByActivationKey(String activationKey);
 
 
@@ -40,11 +55,9 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findOneWithAuthoritiesById(Long id);
 
     @EntityGraph(attributePaths = "authorities")
-    @Cacheable(cacheNames = USERS_BY_LOGIN_CACHE)
     Optional<User> findOneWithAuthoritiesByLogin(String login);
 
     @EntityGraph(attributePaths = "authorities")
-    @Cacheable(cacheNames = USERS_BY_EMAIL_CACHE)
     Optional<User> findOneWithAuthoritiesByEmail(String email);
 
     Page<User> findAllByLoginNot(Pageable pageable, String login);
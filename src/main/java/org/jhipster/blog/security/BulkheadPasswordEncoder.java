@@ -0,0 +1,95 @@
+package org.jhipster.blog.security;
+
+import org.jhipster.blog.web.rest.errors.TooManyRequestsException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Password encoder hashing the passwords on a dedicated executor, so that a burst of logins or registrations does
+ * not tie up every request thread hashing passwords.
+ * <p>
+ * The executor should be sized to the CPUs with a bounded queue: once it is full, the hashing fails fast with a
+ * {@link TooManyRequestsException} instead of waiting, and the requests waiting for a hash are bounded by the queue.
+ */
+public class BulkheadPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+
+    private final ExecutorService executor;
+
+    private final long retryAfterInSeconds;
+
+    private final Timer encodeTimer;
+
+    private final Timer matchesTimer;
+
+    private final Counter rejectedCounter;
+
+    public BulkheadPasswordEncoder(PasswordEncoder delegate, ExecutorService executor, long retryAfterInSeconds,
+                                   MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.executor = executor;
+        this.retryAfterInSeconds = retryAfterInSeconds;
+        this.encodeTimer = Timer.builder("password.hashing")
+            .description("The time taken to hash a password, excluding the wait for the executor")
+            .tag("operation", "encode")
+            .register(meterRegistry);
+        this.matchesTimer = Timer.builder("password.hashing")
+            .description("The time taken to hash a password, excluding the wait for the executor")
+            .tag("operation", "matches")
+            .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("password.hashing.rejected")
+            .description("The number of passwords not hashed because the executor was full")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return hash(encodeTimer.wrap(() -> delegate.encode(rawPassword)));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return hash(matchesTimer.wrap(() -> delegate.matches(rawPassword, encodedPassword)));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T hash(Callable<T> hashing) {
+        Future<T> future;
+        try {
+            future = executor.submit(hashing);
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new TooManyRequestsException("Too many passwords to hash", retryAfterInSeconds);
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing a password", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+}
@@ -5,6 +5,8 @@ import java.security.Key;
 import java.util.*;
 import java.util.stream.Collectors;
 
+import org.jhipster.blog.config.ApplicationProperties;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.InitializingBean;
@@ -36,8 +38,11 @@ public class TokenProvider implements InitializingBean {
 
     private final JHipsterProperties jHipsterProperties;
 
-    public TokenProvider(JHipsterProperties jHipsterProperties) {
+    private final VerifiedTokenCache<User> verifiedTokens;
+
+    public TokenProvider(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
         this.jHipsterProperties = jHipsterProperties;
+        this.verifiedTokens = new VerifiedTokenCache<>(applicationProperties.getJwt().getVerifiedTokensCacheSize());
     }
 
     @Override
@@ -87,20 +92,53 @@ public class TokenProvider implements InitializingBean {
             .parseClaimsJws(token)
             .getBody();
 
+        User principal = getPrincipal(claims);
+
+        return new UsernamePasswordAuthenticationToken(principal, token, principal.getAuthorities());
+    }
+
+    /**
+     * Get the authentication of a token, if it is valid.
+     * <p>
+     * The token is parsed and verified once, then its principal is kept until it expires, so that the following
+     * requests with the token neither parse it again nor rebuild its authorities.
+     *
+     * @param token the token.
+     * @return the authentication, empty when the token is not valid.
+     */
+    public Optional<Authentication> getValidAuthentication(String token) {
+        User principal = verifiedTokens.get(token, this::verify);
+        if (principal == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new UsernamePasswordAuthenticationToken(principal, token, principal.getAuthorities()));
+    }
+
+    private VerifiedTokenCache.Verified<User> verify(String token) {
+        Claims claims = parseClaims(token);
+        if (claims == null) {
+            return null;
+        }
+        Date expiration = claims.getExpiration();
+        return new VerifiedTokenCache.Verified<>(getPrincipal(claims), expiration == null ? 0 : expiration.getTime());
+    }
+
+    private User getPrincipal(Claims claims) {
         Collection<? extends GrantedAuthority> authorities =
             Arrays.stream(claims.get(AUTHORITIES_KEY).toString().split(","))
                 .map(SimpleGrantedAuthority::new)
                 .collect(Collectors.toList());
 
-        User principal = new User(claims.getSubject(), "", authorities);
-
-        return new UsernamePasswordAuthenticationToken(principal, token, authorities);
+        return new User(claims.getSubject(), "", authorities);
     }
 
     public boolean validateToken(String authToken) {
+        return parseClaims(authToken) != null;
+    }
+
+    private Claims parseClaims(String authToken) {
         try {
-            Jwts.parser().setSigningKey(key).parseClaimsJws(authToken);
-            return true;
+            return Jwts.parser().setSigningKey(key).parseClaimsJws(authToken).getBody();
         } catch (io.jsonwebtoken.security.SecurityException | MalformedJwtException e) {
             log.info("Invalid JWT signature.");
             log.trace("Invalid JWT signature trace: {}", e);
@@ -114,6 +152,6 @@ public class TokenProvider implements InitializingBean {
             log.info("JWT token compact of handler are invalid.");
             log.trace("JWT token compact of handler are invalid trace: {}", e);
         }
-        return false;
+        return null;
     }
 }
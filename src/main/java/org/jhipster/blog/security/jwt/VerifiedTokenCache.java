@@ -0,0 +1,135 @@
+package org.jhipster.blog.security.jwt;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.util.Comparator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of the verified tokens, by the SHA-256 digest of the token, until the token expires.
+ * <p>
+ * Only the digest of a token is kept, so that the cache holds no usable token, and a token matches a cached digest
+ * only when it is the very token which was verified. The cached tokens are also queued by expiry, so that every
+ * insertion purges the expired tokens from the head of the queue, then the tokens closest to expiring while the
+ * cache is over its size, without scanning the cache.
+ *
+ * @param <V> the type of what is kept of a verified token.
+ */
+class VerifiedTokenCache<V> {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    });
+
+    private final int maxSize;
+
+    private final Clock clock;
+
+    private final ConcurrentMap<ByteBuffer, Verified<V>> tokens = new ConcurrentHashMap<>();
+
+    private final ConcurrentSkipListSet<Expiry<V>> expiries = new ConcurrentSkipListSet<>(
+        Comparator.<Expiry<V>>comparingLong(expiry -> expiry.verified.expiresAt).thenComparingLong(expiry -> expiry.sequence));
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    VerifiedTokenCache(int maxSize) {
+        this(maxSize, Clock.systemUTC());
+    }
+
+    VerifiedTokenCache(int maxSize, Clock clock) {
+        this.maxSize = maxSize;
+        this.clock = clock;
+    }
+
+    /**
+     * Get what is kept of a token, verifying it unless it is cached.
+     *
+     * @param token the token.
+     * @param verifier the function verifying a token, null when it is not valid.
+     * @return what is kept of the token, null when it is not valid.
+     */
+    V get(String token, Function<String, Verified<V>> verifier) {
+        if (maxSize <= 0) {
+            Verified<V> verified = verifier.apply(token);
+            return verified == null ? null : verified.value;
+        }
+        ByteBuffer digest = ByteBuffer.wrap(SHA_256.get().digest(token.getBytes(StandardCharsets.UTF_8)));
+        long now = clock.millis();
+        Verified<V> cached = tokens.get(digest);
+        if (cached != null) {
+            if (now < cached.expiresAt) {
+                return cached.value;
+            }
+            tokens.remove(digest, cached);
+        }
+        Verified<V> verified = verifier.apply(token);
+        if (verified == null) {
+            return null;
+        }
+        if (now < verified.expiresAt) {
+            tokens.put(digest, verified);
+            expiries.add(new Expiry<>(digest, verified, sequence.incrementAndGet()));
+            evict(now);
+        }
+        return verified.value;
+    }
+
+    private void evict(long now) {
+        Expiry<V> first;
+        while ((first = expiries.pollFirst()) != null) {
+            if (now < first.verified.expiresAt && tokens.size() <= maxSize) {
+                expiries.add(first);
+                return;
+            }
+            tokens.remove(first.digest, first.verified);
+        }
+    }
+
+    int size() {
+        return tokens.size();
+    }
+
+    /**
+     * What is kept of a verified token, and when the token expires.
+     */
+    static final class Verified<V> {
+
+        private final V value;
+
+        private final long expiresAt;
+
+        Verified(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * A cached token in the queue of expiries, ordered by insertion when they expire together.
+     */
+    private static final class Expiry<V> {
+
+        private final ByteBuffer digest;
+
+        private final Verified<V> verified;
+
+        private final long sequence;
+
+        Expiry(ByteBuffer digest, Verified<V> verified, long sequence) {
+            this.digest = digest;
+            this.verified = verified;
+            this.sequence = sequence;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package org.jhipster.blog.security.ratelimit;
+
+import org.jhipster.blog.config.ApplicationProperties;
+import org.jhipster.blog.web.rest.errors.TooManyRequestsException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate limits of the endpoints which are open to everyone and costly: authentication, registration and password
+ * reset, by client IP address and by login.
+ */
+@Component
+public class RateLimitService {
+
+    private final boolean enabled;
+
+    private final TokenBucketRateLimiter byIp;
+
+    private final TokenBucketRateLimiter byLogin;
+
+    private final Counter rejectedByIpCounter;
+
+    private final Counter rejectedByLoginCounter;
+
+    public RateLimitService(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        ApplicationProperties.RateLimit rateLimit = applicationProperties.getRateLimit();
+        this.enabled = rateLimit.isEnabled();
+        this.byIp = new TokenBucketRateLimiter(rateLimit.getByIp().getCapacity(), rateLimit.getByIp().getTokensPerMinute(),
+            rateLimit.getMaxEntries());
+        this.byLogin = new TokenBucketRateLimiter(rateLimit.getByLogin().getCapacity(), rateLimit.getByLogin().getTokensPerMinute(),
+            rateLimit.getMaxEntries());
+        this.rejectedByIpCounter = Counter.builder("rate.limit.rejected")
+            .description("The number of requests rejected by a rate limit")
+            .tag("limit", "ip")
+            .register(meterRegistry);
+        this.rejectedByLoginCounter = Counter.builder("rate.limit.rejected")
+            .description("The number of requests rejected by a rate limit")
+            .tag("limit", "login")
+            .register(meterRegistry);
+        Gauge.builder("rate.limit.entries", byIp, TokenBucketRateLimiter::size)
+            .description("The number of keys tracked by a rate limit")
+            .tag("limit", "ip")
+            .register(meterRegistry);
+        Gauge.builder("rate.limit.entries", byLogin, TokenBucketRateLimiter::size)
+            .description("The number of keys tracked by a rate limit")
+            .tag("limit", "login")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Take a token from the bucket of a client IP address.
+     *
+     * @param ip the client IP address.
+     * @return 0 when the request is allowed, otherwise the time until it would be, in nanoseconds.
+     */
+    public long tryAcquireByIp(String ip) {
+        if (!enabled || ip == null) {
+            return 0;
+        }
+        long wait = byIp.tryAcquire(ip);
+        if (wait > 0) {
+            rejectedByIpCounter.increment();
+        }
+        return wait;
+    }
+
+    /**
+     * Take a token from the bucket of a login, or of the email of an account.
+     *
+     * @param login the login.
+     * @throws TooManyRequestsException {@code 429 (Too Many Requests)} if the bucket of the login is empty.
+     */
+    public void checkLogin(String login) {
+        if (!enabled || login == null) {
+            return;
+        }
+        long wait = byLogin.tryAcquire(login.toLowerCase(Locale.ENGLISH));
+        if (wait > 0) {
+            rejectedByLoginCounter.increment();
+            throw tooManyRequests(wait);
+        }
+    }
+
+    /**
+     * Give back the token taken by {@link #checkLogin(String)} for a successful authentication, so that only the
+     * failed attempts count against a login.
+     *
+     * @param login the login.
+     */
+    public void loginSucceeded(String login) {
+        if (!enabled || login == null) {
+            return;
+        }
+        byLogin.refund(login.toLowerCase(Locale.ENGLISH));
+    }
+
+    /**
+     * Create the exception rejecting a request.
+     *
+     * @param wait the time until the request would be allowed, in nanoseconds.
+     * @return the exception.
+     */
+    public TooManyRequestsException tooManyRequests(long wait) {
+        long retryAfterInSeconds = (wait + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+        return new TooManyRequestsException("Too many requests", retryAfterInSeconds);
+    }
+
+    /**
+     * Drop the full buckets, which hold nothing more than new ones.
+     */
+    @Scheduled(fixedDelayString = "#{${application.rate-limit.cleanup-interval-in-seconds:60} * 1000}")
+    public void expire() {
+        byIp.expire();
+        byLogin.expire();
+    }
+}
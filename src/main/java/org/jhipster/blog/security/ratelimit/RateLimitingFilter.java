@@ -0,0 +1,66 @@
+package org.jhipster.blog.security.ratelimit;
+
+import org.springframework.web.filter.GenericFilterBean;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Filters the requests to the rate-limited endpoints by client IP address, answering
+ * {@code 429 (Too Many Requests)} with a {@code Retry-After} header once the limit of the address is reached.
+ * <p>
+ * Allowed requests go through without allocation. The client IP address is the remote address of the request, so
+ * the forwarded headers must be enabled behind a proxy.
+ */
+public class RateLimitingFilter extends GenericFilterBean {
+
+    private static final String[] RATE_LIMITED_PATHS = {
+        "/api/authenticate",
+        "/api/register",
+        "/api/account/reset-password/init"
+    };
+
+    private final RateLimitService rateLimitService;
+
+    private final HandlerExceptionResolver handlerExceptionResolver;
+
+    public RateLimitingFilter(RateLimitService rateLimitService, HandlerExceptionResolver handlerExceptionResolver) {
+        this.rateLimitService = rateLimitService;
+        this.handlerExceptionResolver = handlerExceptionResolver;
+    }
+
+    @Override
+    public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain filterChain)
+        throws IOException, ServletException {
+        HttpServletRequest httpServletRequest = (HttpServletRequest) servletRequest;
+        if (isRateLimited(httpServletRequest)) {
+            long wait = rateLimitService.tryAcquireByIp(httpServletRequest.getRemoteAddr());
+            if (wait > 0) {
+                handlerExceptionResolver.resolveException(httpServletRequest, (HttpServletResponse) servletResponse, null,
+                    rateLimitService.tooManyRequests(wait));
+                return;
+            }
+        }
+        filterChain.doFilter(servletRequest, servletResponse);
+    }
+
+    private static boolean isRateLimited(HttpServletRequest request) {
+        if (!"POST".equals(request.getMethod())) {
+            return false;
+        }
+        String uri = request.getRequestURI();
+        int offset = request.getContextPath().length();
+        for (String path : RATE_LIMITED_PATHS) {
+            if (uri.length() == offset + path.length() && uri.startsWith(path, offset)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
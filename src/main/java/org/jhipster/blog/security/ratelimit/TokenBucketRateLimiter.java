@@ -0,0 +1,153 @@
+package org.jhipster.blog.security.ratelimit;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets by key, refilled continuously, held in a concurrent map without locks.
+ * <p>
+ * A bucket is stored as the single time at which it will be full again (the generic cell rate algorithm), so that
+ * taking a token is a compare-and-set, and taking a token from an existing bucket allocates nothing. Full buckets
+ * hold nothing more than new ones, so {@link #expire()} drops them. Once {@code maxEntries} buckets are held, a
+ * new key takes the place of a full bucket, found among a few buckets or, at most once per second, among all of
+ * them; when there is none, the new key is rejected, as dropping a bucket which is not full would give back its
+ * tokens.
+ */
+public class TokenBucketRateLimiter {
+
+    private static final int SAMPLE_SIZE = 16;
+
+    private static final long SCAN_INTERVAL_IN_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final long nanosPerToken;
+
+    private final long capacityInNanos;
+
+    private final int maxEntries;
+
+    private final LongSupplier nanoTime;
+
+    private final ConcurrentMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    private final AtomicLong lastScanAt;
+
+    /**
+     * @param capacity the number of tokens of a full bucket, which can be taken at once.
+     * @param tokensPerMinute the number of tokens added to a bucket per minute.
+     * @param maxEntries the maximum number of buckets.
+     */
+    public TokenBucketRateLimiter(int capacity, int tokensPerMinute, int maxEntries) {
+        this(capacity, tokensPerMinute, maxEntries, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(int capacity, int tokensPerMinute, int maxEntries, LongSupplier nanoTime) {
+        if (capacity <= 0 || tokensPerMinute <= 0) {
+            throw new IllegalStateException("The capacity and the tokens per minute of a rate limit must be positive: "
+                + capacity + ", " + tokensPerMinute);
+        }
+        this.nanosPerToken = TimeUnit.MINUTES.toNanos(1) / tokensPerMinute;
+        this.capacityInNanos = nanosPerToken * capacity;
+        this.maxEntries = maxEntries;
+        this.nanoTime = nanoTime;
+        this.lastScanAt = new AtomicLong(nanoTime.getAsLong() - SCAN_INTERVAL_IN_NANOS);
+    }
+
+    /**
+     * Take a token from the bucket of a key.
+     *
+     * @param key the key.
+     * @return 0 when a token was taken, otherwise the time until one can be, in nanoseconds.
+     */
+    public long tryAcquire(String key) {
+        long now = nanoTime.getAsLong();
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxEntries) {
+                long wait = makeRoom(now);
+                if (wait > 0) {
+                    return wait;
+                }
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(Long.MIN_VALUE));
+        }
+        while (true) {
+            long fullAt = bucket.get();
+            long newFullAt = (fullAt == Long.MIN_VALUE || fullAt - now < 0 ? now : fullAt) + nanosPerToken;
+            long wait = newFullAt - now - capacityInNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(fullAt, newFullAt)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Give back a token taken from the bucket of a key.
+     *
+     * @param key the key.
+     */
+    public void refund(String key) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            return;
+        }
+        long now = nanoTime.getAsLong();
+        while (true) {
+            long fullAt = bucket.get();
+            if (isFull(fullAt, now) || bucket.compareAndSet(fullAt, fullAt - nanosPerToken)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Drop the full buckets.
+     */
+    public void expire() {
+        expire(nanoTime.getAsLong());
+    }
+
+    private void expire(long now) {
+        buckets.values().removeIf(bucket -> isFull(bucket.get(), now));
+    }
+
+    /**
+     * Drop a full bucket, among a few ones, or among all of them if they were not scanned in the last second.
+     *
+     * @return 0 when a bucket was dropped, otherwise the time until a sampled bucket is full, in nanoseconds.
+     */
+    private long makeRoom(long now) {
+        long wait = nanosPerToken;
+        Iterator<AtomicLong> iterator = buckets.values().iterator();
+        for (int i = 0; i < SAMPLE_SIZE && iterator.hasNext(); i++) {
+            long fullAt = iterator.next().get();
+            if (isFull(fullAt, now)) {
+                iterator.remove();
+                return 0;
+            }
+            wait = Math.min(wait, fullAt - now);
+        }
+        long lastScan = lastScanAt.get();
+        if (now - lastScan >= SCAN_INTERVAL_IN_NANOS && lastScanAt.compareAndSet(lastScan, now)) {
+            expire(now);
+            if (buckets.size() < maxEntries) {
+                return 0;
+            }
+        }
+        return wait;
+    }
+
+    private static boolean isFull(long fullAt, long now) {
+        return fullAt == Long.MIN_VALUE || fullAt - now <= 0;
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+}
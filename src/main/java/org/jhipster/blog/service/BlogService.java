@@ -0,0 +1,116 @@
+package org.jhipster.blog.service;
+
+import org.jhipster.blog.domain.Blog;
+import org.jhipster.blog.repository.BlogRepository;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.query.NativeQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManager;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * Service class for managing blogs.
+ */
+@Service
+@Transactional
+public class BlogService {
+
+    /**
+     * Deletes a blog, unless it has a user other than the given one.
+     */
+    private static final String DELETE_OWNED_BLOG = "delete from blog where id = :id and (user_id is null or user_id in " +
+        "(select id from jhi_user where login = :login))";
+
+    private final Logger log = LoggerFactory.getLogger(BlogService.class);
+
+    private final BlogRepository blogRepository;
+
+    private final EntityManager em;
+
+    private final PublicBlogService publicBlogService;
+
+    public BlogService(BlogRepository blogRepository, EntityManager em, PublicBlogService publicBlogService) {
+        this.blogRepository = blogRepository;
+        this.em = em;
+        this.publicBlogService = publicBlogService;
+    }
+
+    /**
+     * Update a blog of a user, checking in the same read-write transaction, so on the primary database, that the
+     * user owns it and that the client modified its current version, and invalidate its public view.
+     *
+     * @param blog the blog to update.
+     * @param login the login of the user, who must own the blog.
+     * @param precondition the check of the current version of the blog against the one the client modified, or
+     * {@code null} to update the current version whatever it is when the blog has no version.
+     * @return the result of the update.
+     */
+    public UpdateResult<Blog> update(Blog blog, String login, Predicate<Long> precondition) {
+        log.debug("Request to update Blog : {}", blog);
+        if (blogRepository.findOwnerLoginById(blog.getId()).filter(owner -> !owner.equals(login)).isPresent()) {
+            return UpdateResult.forbidden();
+        }
+        if (precondition != null || blog.getVersion() == null) {
+            Optional<Long> version = blogRepository.findVersionById(blog.getId());
+            if (precondition != null && !version.filter(precondition).isPresent()) {
+                return UpdateResult.preconditionFailed();
+            }
+            version.ifPresent(blog::setVersion);
+        }
+        String previousHandle = blogRepository.findHandleById(blog.getId()).orElse(null);
+        Blog result = blogRepository.saveAndFlush(blog);
+        publicBlogService.invalidate(previousHandle, result.getHandle());
+        return UpdateResult.updated(result);
+    }
+
+    /**
+     * Delete a blog of a user, and invalidate its public view.
+     * <p>
+     * The blog is deleted by a single statement, on the condition that the user owns it, in the query space of
+     * {@link EntryService#DELETE_QUERY_SPACE}, so that only that blog is evicted from the second-level cache, when
+     * it is deleted and again after the commit.
+     *
+     * @param id the id of the blog.
+     * @param login the login of the user, who must own the blog unless it has no user.
+     * @return the result of the deletion.
+     */
+    public DeleteResult delete(Long id, String login) {
+        log.debug("Request to delete Blog : {}", id);
+        Optional<String> handle = blogRepository.findHandleById(id);
+        if (!handle.isPresent()) {
+            return DeleteResult.NOT_FOUND;
+        }
+        NativeQuery<?> query = em.createNativeQuery(DELETE_OWNED_BLOG).unwrap(NativeQuery.class);
+        int deleted = query.addSynchronizedQuerySpace(EntryService.DELETE_QUERY_SPACE)
+            .setParameter("id", id)
+            .setParameter("login", login)
+            .executeUpdate();
+        if (deleted == 0) {
+            return DeleteResult.FORBIDDEN;
+        }
+        evictDeleted(id);
+        publicBlogService.invalidate(handle.get());
+        return DeleteResult.DELETED;
+    }
+
+    private void evictDeleted(Long id) {
+        org.hibernate.Cache cache = em.getEntityManagerFactory().unwrap(SessionFactory.class).getCache();
+        cache.evictEntityData(Blog.class, id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    cache.evictEntityData(Blog.class, id);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package org.jhipster.blog.service;
+
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.stereotype.Component;
+
+/**
+ * Health indicator out of service while the caches are warmed up, so that a load balancer only sends traffic to
+ * a new node once its caches are loaded.
+ */
+@Component
+public class CacheWarmUpHealthIndicator extends AbstractHealthIndicator {
+
+    private final CacheWarmUpService cacheWarmUpService;
+
+    public CacheWarmUpHealthIndicator(CacheWarmUpService cacheWarmUpService) {
+        super("Cache warm-up health check failed");
+        this.cacheWarmUpService = cacheWarmUpService;
+    }
+
+    @Override
+    protected void doHealthCheck(Health.Builder builder) {
+        if (cacheWarmUpService.isWarmingUp()) {
+            builder.outOfService();
+        } else {
+            builder.up();
+        }
+        builder.withDetail("snapshotKeys", cacheWarmUpService.getSnapshotKeys())
+            .withDetail("loadedKeys", cacheWarmUpService.getLoadedKeys())
+            .withDetail("durationInMillis", cacheWarmUpService.getDurationInMillis());
+    }
+}
@@ -0,0 +1,373 @@
+package org.jhipster.blog.service;
+
+import org.jhipster.blog.config.ApplicationProperties;
+import org.jhipster.blog.config.cache.HotKeySketch;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Service keeping the caches warm across restarts.
+ * <p>
+ * Accesses to the entity and collection regions of the second-level cache, and to the other caches which record
+ * them (such as the users caches of {@link UserCacheService}), are counted with a {@link HotKeySketch} per region. The hottest keys are periodically written to a snapshot file, and again
+ * on shutdown. On startup, before the application is ready, the keys of the snapshot are loaded in parallel, so
+ * that a new deploy does not hit the database with every first access; the {@code cacheWarmUp} health indicator
+ * is out of service meanwhile.
+ * <p>
+ * Keys which do not exist anymore are simply not loaded. The warm-up stops after
+ * {@code application.cache.warm-up.timeout-in-seconds}, and the remaining keys are loaded on demand.
+ */
+@Service
+public class CacheWarmUpService {
+
+    private final Logger log = LoggerFactory.getLogger(CacheWarmUpService.class);
+
+    private final ApplicationProperties.Cache.WarmUp warmUp;
+
+    private final Path snapshotFile;
+
+    private final EntityManager em;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    private final MeterRegistry meterRegistry;
+
+    private final ConcurrentMap<String, HotKeySketch> sketches = new ConcurrentHashMap<>();
+
+    private final Map<String, Loader> loaders = new ConcurrentHashMap<>();
+
+    private final Map<String, RegionWarmUp> regionWarmUps = new ConcurrentHashMap<>();
+
+    private volatile boolean warmingUp;
+
+    private volatile long durationInMillis;
+
+    public CacheWarmUpService(ApplicationProperties applicationProperties, EntityManager em, EntityManagerFactory entityManagerFactory,
+                              PlatformTransactionManager transactionManager, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.warmUp = applicationProperties.getCache().getWarmUp();
+        this.snapshotFile = warmUp.getSnapshotFile() != null ? Paths.get(warmUp.getSnapshotFile())
+            : Paths.get(applicationProperties.getCache().getDiskPath(), "hot-keys.json");
+        this.em = em;
+        this.entityManagerFactory = entityManagerFactory;
+        // Not read-only, so that the keys are loaded from the primary: sessions reading a replica do not fill the cache
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Register how to load the keys of the entity and collection regions, and count their loads.
+     */
+    @PostConstruct
+    public void registerRegions() {
+        if (!warmUp.isEnabled()) {
+            return;
+        }
+        TimeGauge.builder("warmup.duration", this, TimeUnit.MILLISECONDS, service -> service.durationInMillis)
+            .description("The duration of the cache warm-up")
+            .register(meterRegistry);
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        Map<String, String> entityRegions = new ConcurrentHashMap<>();
+        Map<String, String> collectionRegions = new ConcurrentHashMap<>();
+        for (EntityPersister persister : sessionFactory.getMetamodel().entityPersisters().values()) {
+            if (persister.canWriteToCache()) {
+                String region = persister.getCacheAccessStrategy().getRegion().getName();
+                entityRegions.put(persister.getEntityName(), region);
+                loaders.put(region, new Loader(persister.getIdentifierType().getReturnedClass(), warmUp.getBatchSize(),
+                    ids -> loadEntities(persister, ids)));
+            }
+        }
+        for (CollectionPersister persister : sessionFactory.getMetamodel().collectionPersisters().values()) {
+            if (persister.hasCache()) {
+                String region = persister.getCacheAccessStrategy().getRegion().getName();
+                EntityPersister owner = persister.getOwnerEntityPersister();
+                String property = persister.getRole().substring(owner.getEntityName().length() + 1);
+                collectionRegions.put(persister.getRole(), region);
+                loaders.put(region, new Loader(owner.getIdentifierType().getReturnedClass(), warmUp.getBatchSize(),
+                    ids -> loadEntities(owner, ids).forEach(entity -> Hibernate.initialize(owner.getPropertyValue(entity, property)))));
+            }
+        }
+
+        EventListenerRegistry listeners = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        listeners.appendListeners(EventType.POST_LOAD, (PostLoadEventListener) event -> {
+            String region = entityRegions.get(event.getPersister().getEntityName());
+            if (region != null) {
+                record(region, event.getId());
+            }
+        });
+        listeners.appendListeners(EventType.INIT_COLLECTION, (InitializeCollectionEventListener) event -> {
+            String region = collectionRegions.get(event.getCollection().getRole());
+            if (region != null) {
+                record(region, event.getAffectedOwnerIdOrNull());
+            }
+        });
+    }
+
+    /**
+     * Register how to load the keys of a cache which is not a second-level cache region.
+     *
+     * @param region the name of the cache.
+     * @param keyType the type of the keys.
+     * @param batchSize the maximum number of keys loaded together.
+     * @param load the function loading keys, in a transaction on the primary database.
+     */
+    public void registerLoader(String region, Class<?> keyType, int batchSize, Consumer<List<Object>> load) {
+        loaders.put(region, new Loader(keyType, batchSize, load));
+    }
+
+    private List<?> loadEntities(EntityPersister persister, List<Object> ids) {
+        Class<?> entityClass = persister.getMappedClass();
+        return em.unwrap(Session.class).byMultipleIds(entityClass)
+            .multiLoad(ids.stream().map(Serializable.class::cast).toArray(Serializable[]::new))
+            .stream().filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    /**
+     * Count an access to a cached key.
+     *
+     * @param region the name of the cache.
+     * @param key the key.
+     */
+    public void record(String region, Object key) {
+        if (warmUp.isEnabled() && key != null) {
+            // Looked up first, as computeIfAbsent locks the bin of the key even when it is present
+            HotKeySketch sketch = sketches.get(region);
+            if (sketch == null) {
+                sketch = sketches.computeIfAbsent(region, name -> new HotKeySketch(warmUp.getMaxKeysPerRegion()));
+            }
+            sketch.record(key);
+        }
+    }
+
+    /**
+     * Write the hottest keys of each region to the snapshot file. The counts are then halved, so that the next
+     * snapshot favors the keys accessed since.
+     */
+    @Scheduled(fixedDelayString = "#{${application.cache.warm-up.snapshot-interval-in-seconds:300} * 1000}",
+        initialDelayString = "#{${application.cache.warm-up.snapshot-interval-in-seconds:300} * 1000}")
+    public void snapshot() {
+        if (!warmUp.isEnabled() || warmingUp) {
+            return;
+        }
+        Map<String, List<Object>> snapshot = new TreeMap<>();
+        sketches.forEach((region, sketch) -> {
+            List<Object> keys = sketch.hottest();
+            sketch.age();
+            if (!keys.isEmpty()) {
+                snapshot.put(region, keys);
+            }
+        });
+        if (snapshot.isEmpty()) {
+            return;
+        }
+        try {
+            Path directory = snapshotFile.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path temporaryFile = Files.createTempFile(directory, "hot-keys", ".tmp");
+            objectMapper.writeValue(temporaryFile.toFile(), snapshot);
+            Files.move(temporaryFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Wrote the hot keys of {} cache regions to {}", snapshot.size(), snapshotFile);
+        } catch (IOException e) {
+            log.warn("Could not write the hot keys of the caches to {}: {}", snapshotFile, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void snapshotOnShutdown() {
+        snapshot();
+    }
+
+    /**
+     * Load the keys of the snapshot, before the application is ready.
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    public void warmUpOnStartup() {
+        if (warmUp.isEnabled()) {
+            warmUp();
+        }
+    }
+
+    /**
+     * Load the keys of the snapshot in parallel, for at most {@code application.cache.warm-up.timeout-in-seconds}.
+     */
+    public void warmUp() {
+        Map<String, List<Object>> snapshot = readSnapshot();
+        if (snapshot.isEmpty()) {
+            return;
+        }
+        warmingUp = true;
+        long start = System.currentTimeMillis();
+        ExecutorService executor = Executors.newFixedThreadPool(warmUp.getThreads(), new CustomizableThreadFactory("cache-warm-up-"));
+        try {
+            snapshot.forEach((region, keys) -> {
+                Loader loader = loaders.get(region);
+                if (loader == null) {
+                    log.debug("Not warming up unknown cache {}", region);
+                    return;
+                }
+                RegionWarmUp regionWarmUp = regionWarmUps.computeIfAbsent(region, this::registerRegionWarmUp);
+                regionWarmUp.keys.addAndGet(keys.size());
+                List<Object> typedKeys = new ArrayList<>(keys.size());
+                keys.forEach(key -> typedKeys.add(objectMapper.convertValue(key, loader.keyType)));
+                for (int i = 0; i < typedKeys.size(); i += loader.batchSize) {
+                    List<Object> batch = typedKeys.subList(i, Math.min(i + loader.batchSize, typedKeys.size()));
+                    executor.execute(() -> load(region, loader, batch, regionWarmUp));
+                }
+            });
+            executor.shutdown();
+            if (!executor.awaitTermination(warmUp.getTimeoutInSeconds(), TimeUnit.SECONDS)) {
+                log.warn("Cache warm-up timed out after {} seconds, the remaining keys will be loaded on demand", warmUp.getTimeoutInSeconds());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+            durationInMillis = System.currentTimeMillis() - start;
+            warmingUp = false;
+        }
+        log.info("Cache warm-up loaded {} of {} keys in {} ms", getLoadedKeys(), getSnapshotKeys(), durationInMillis);
+    }
+
+    private void load(String region, Loader loader, List<Object> keys, RegionWarmUp regionWarmUp) {
+        try {
+            transactionTemplate.execute(status -> {
+                loader.load.accept(keys);
+                return null;
+            });
+            regionWarmUp.loaded.addAndGet(keys.size());
+        } catch (RuntimeException e) {
+            log.debug("Could not warm up {} keys of cache {}: {}", keys.size(), region, e.getMessage());
+            regionWarmUp.failed.addAndGet(keys.size());
+        }
+    }
+
+    private Map<String, List<Object>> readSnapshot() {
+        if (!Files.exists(snapshotFile)) {
+            log.info("No cache hot keys in {}, the caches start empty", snapshotFile);
+            return Collections.emptyMap();
+        }
+        try {
+            return objectMapper.readValue(snapshotFile.toFile(), new TypeReference<Map<String, List<Object>>>() {
+            });
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable cache hot keys in {}: {}", snapshotFile, e.getMessage());
+            return Collections.emptyMap();
+        }
+    }
+
+    private RegionWarmUp registerRegionWarmUp(String region) {
+        RegionWarmUp regionWarmUp = new RegionWarmUp();
+        Gauge.builder("warmup.keys", regionWarmUp.keys, AtomicInteger::get)
+            .description("The number of keys of the snapshot")
+            .tags("region", region, "state", "snapshot")
+            .register(meterRegistry);
+        Gauge.builder("warmup.keys", regionWarmUp.loaded, AtomicInteger::get)
+            .description("The number of keys of the snapshot loaded by the warm-up")
+            .tags("region", region, "state", "loaded")
+            .register(meterRegistry);
+        Gauge.builder("warmup.keys", regionWarmUp.failed, AtomicInteger::get)
+            .description("The number of keys of the snapshot which failed to load")
+            .tags("region", region, "state", "failed")
+            .register(meterRegistry);
+        Gauge.builder("warmup.coverage", regionWarmUp, RegionWarmUp::coverage)
+            .description("The ratio of the keys of the snapshot loaded by the warm-up")
+            .tag("region", region)
+            .register(meterRegistry);
+        return regionWarmUp;
+    }
+
+    public boolean isWarmingUp() {
+        return warmingUp;
+    }
+
+    public long getDurationInMillis() {
+        return durationInMillis;
+    }
+
+    public int getSnapshotKeys() {
+        return regionWarmUps.values().stream().mapToInt(regionWarmUp -> regionWarmUp.keys.get()).sum();
+    }
+
+    public int getLoadedKeys() {
+        return regionWarmUps.values().stream().mapToInt(regionWarmUp -> regionWarmUp.loaded.get()).sum();
+    }
+
+    private static final class Loader {
+
+        private final Class<?> keyType;
+
+        private final int batchSize;
+
+        private final Consumer<List<Object>> load;
+
+        Loader(Class<?> keyType, int batchSize, Consumer<List<Object>> load) {
+            this.keyType = keyType;
+            this.batchSize = batchSize;
+            this.load = load;
+        }
+    }
+
+    private static final class RegionWarmUp {
+
+        private final AtomicInteger keys = new AtomicInteger();
+
+        private final AtomicInteger loaded = new AtomicInteger();
+
+        private final AtomicInteger failed = new AtomicInteger();
+
+        private double coverage() {
+            return keys.get() == 0 ? 0 : (double) loaded.get() / keys.get();
+        }
+    }
+}
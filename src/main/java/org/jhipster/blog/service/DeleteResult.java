@@ -0,0 +1,16 @@
+package org.jhipster.blog.service;
+
+/**
+ * The result of the deletion of an entity owned by a user.
+ */
+public enum DeleteResult {
+
+    DELETED,
+
+    NOT_FOUND,
+
+    /**
+     * The entity belongs to another user, and was not deleted.
+     */
+    FORBIDDEN
+}
@@ -0,0 +1,101 @@
+package org.jhipster.blog.service;
+
+import org.jhipster.blog.config.ApplicationProperties;
+import org.jhipster.blog.domain.util.CompressedContentConverter;
+import org.jhipster.blog.domain.util.CompressedText;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Service rewriting the content of existing entries in the storage format currently configured.
+ * <p>
+ * With {@code application.entry-content.compression.enabled}, plain content is compressed; without it,
+ * compressed content is stored plain again. Rows are read by id in batches, each rewritten in its own
+ * transaction. The content itself does not change, so rows are updated with JDBC: their version is kept,
+ * and the second-level cache stays valid. A row updated concurrently is skipped.
+ */
+@Service
+public class EntryContentMigrationService {
+
+    private final Logger log = LoggerFactory.getLogger(EntryContentMigrationService.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties.EntryContent.Compression compression;
+
+    private final CompressedContentConverter converter;
+
+    public EntryContentMigrationService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                        ApplicationProperties applicationProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.compression = applicationProperties.getEntryContent().getCompression();
+        this.converter = new CompressedContentConverter(applicationProperties);
+    }
+
+    /**
+     * Migrate the content of the entries in the background on startup, if enabled.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateOnStartup() {
+        if (compression.getMigration().isEnabled()) {
+            migrate();
+        }
+    }
+
+    /**
+     * Rewrite the content of all the entries in the storage format currently configured.
+     *
+     * @return the number of rewritten entries.
+     */
+    public long migrate() {
+        long start = System.currentTimeMillis();
+        int batchSize = compression.getMigration().getBatchSize();
+        long lastId = 0;
+        long scanned = 0;
+        long rewritten = 0;
+        while (true) {
+            List<Object[]> rows = jdbcTemplate.query(
+                "select id, version, content from entry where id > ? order by id limit ?",
+                (rs, rowNum) -> new Object[]{rs.getLong(1), rs.getLong(2), rs.getString(3)},
+                lastId, batchSize);
+            if (rows.isEmpty()) {
+                break;
+            }
+            scanned += rows.size();
+            lastId = (Long) rows.get(rows.size() - 1)[0];
+            List<Object[]> updates = new ArrayList<>();
+            for (Object[] row : rows) {
+                String stored = (String) row[2];
+                String migrated = converter.convertToDatabaseColumn(CompressedText.decode(stored));
+                if (migrated != null && !migrated.equals(stored)) {
+                    updates.add(new Object[]{migrated, row[0], row[1]});
+                }
+            }
+            if (!updates.isEmpty()) {
+                int[] counts = transactionTemplate.execute(status ->
+                    jdbcTemplate.batchUpdate("update entry set content = ? where id = ? and version = ?", updates));
+                for (int count : counts) {
+                    rewritten += Math.max(count, 0);
+                }
+            }
+            log.debug("Migrated entry content up to id {}: {} rewritten out of {}", lastId, rewritten, scanned);
+        }
+        log.info("Migrated the content of {} entries out of {} in {} ms", rewritten, scanned, System.currentTimeMillis() - start);
+        return rewritten;
+    }
+}
@@ -0,0 +1,163 @@
+package org.jhipster.blog.service;
+
+import org.jhipster.blog.config.ApplicationProperties;
+import org.jhipster.blog.domain.Entry;
+import org.jhipster.blog.repository.EntryRepository;
+import org.jhipster.blog.service.util.MarkdownRenderer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Service class for the HTML rendering of the Markdown content of entries.
+ * <p>
+ * Entries are rendered when they are saved, and the HTML is cached by entry id and version, so a new version
+ * never reads the HTML of a previous one. The cache is only filled once the transaction commits, as a version
+ * number is reused after a rollback. Entries saved without this service, like imported ones, are rendered on
+ * first read. With {@code application.entry-content.html.persist}, the HTML is also stored in the
+ * {@code content_html} column of the entry, with the version it was rendered from, and read from there when
+ * the cache misses.
+ */
+@Service
+public class EntryHtmlService {
+
+    public static final String ENTRY_HTML_CACHE = "entryHtml";
+
+    private static final String UPDATE_SQL = "update entry set content_html = ?, content_html_version = ? where id = ?";
+
+    private static final String SELECT_SQL = "select content_html from entry where id = ? and content_html_version = ?";
+
+    private final Logger log = LoggerFactory.getLogger(EntryHtmlService.class);
+
+    private final EntryRepository entryRepository;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Cache cache;
+
+    private final boolean persist;
+
+    public EntryHtmlService(EntryRepository entryRepository, JdbcTemplate jdbcTemplate, CacheManager cacheManager,
+                            ApplicationProperties applicationProperties) {
+        this.entryRepository = entryRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.cache = Objects.requireNonNull(cacheManager.getCache(ENTRY_HTML_CACHE));
+        this.persist = applicationProperties.getEntryContent().getHtml().isPersist();
+    }
+
+    /**
+     * Render an entry which was just saved, in the saving transaction.
+     *
+     * @param entry the saved entry, flushed so that its version is current.
+     */
+    public void entrySaved(Entry entry) {
+        String html = MarkdownRenderer.render(entry.getContent());
+        if (persist) {
+            jdbcTemplate.update(UPDATE_SQL, html, entry.getVersion(), entry.getId());
+        }
+        String key = key(entry);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    cache.put(key, html);
+                }
+            });
+        } else {
+            cache.put(key, html);
+        }
+    }
+
+    /**
+     * Get the HTML of an entry, loading the entry only when its current version is not cached or persisted.
+     *
+     * @param id the id of the entry.
+     * @return the version of the entry with its HTML, or empty if there is no such entry.
+     */
+    @Transactional(readOnly = true)
+    public Optional<RenderedContent> getHtml(Long id) {
+        Optional<Long> version = entryRepository.findVersionById(id);
+        if (!version.isPresent()) {
+            return Optional.empty();
+        }
+        String html = findHtml(id, version.get());
+        if (html != null) {
+            return Optional.of(new RenderedContent(version.get(), html));
+        }
+        return entryRepository.findById(id).map(entry -> new RenderedContent(entry.getVersion(),
+            version.get().equals(entry.getVersion()) ? render(entry) : getHtml(entry)));
+    }
+
+    /**
+     * Get the HTML of an entry.
+     *
+     * @param entry the entry.
+     * @return the HTML of its content.
+     */
+    public String getHtml(Entry entry) {
+        String html = findHtml(entry.getId(), entry.getVersion());
+        return html != null ? html : render(entry);
+    }
+
+    private String findHtml(Long id, Long version) {
+        String key = key(id, version);
+        String html = cache.get(key, String.class);
+        if (html == null && persist) {
+            List<String> persisted = jdbcTemplate.queryForList(SELECT_SQL, String.class, id, version);
+            if (!persisted.isEmpty() && persisted.get(0) != null) {
+                html = persisted.get(0);
+                cache.put(key, html);
+            }
+        }
+        return html;
+    }
+
+    private String render(Entry entry) {
+        log.debug("Rendering the content of Entry : {}", entry.getId());
+        String html = MarkdownRenderer.render(entry.getContent());
+        cache.put(key(entry), html);
+        return html;
+    }
+
+    private static String key(Entry entry) {
+        return key(entry.getId(), entry.getVersion());
+    }
+
+    private static String key(Long id, Long version) {
+        return id + ":" + version;
+    }
+
+    /**
+     * The HTML of an entry, with the version of the entry it was rendered from.
+     */
+    public static final class RenderedContent {
+
+        private final Long version;
+
+        private final String html;
+
+        RenderedContent(Long version, String html) {
+            this.version = version;
+            this.html = html;
+        }
+
+        public Long getVersion() {
+            return version;
+        }
+
+        public String getHtml() {
+            return html;
+        }
+    }
+}
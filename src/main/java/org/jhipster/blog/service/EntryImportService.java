@@ -0,0 +1,245 @@
+package org.jhipster.blog.service;
+
+import org.jhipster.blog.domain.Blog;
+import org.jhipster.blog.domain.Entry;
+import org.jhipster.blog.domain.Tag;
+import org.jhipster.blog.repository.BlogRepository;
+import org.jhipster.blog.repository.TagRepository;
+import org.jhipster.blog.service.dto.EntryImportResultDTO;
+import org.jhipster.blog.service.search.EntrySearchService;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Service class for importing entries in bulk.
+ * <p>
+ * Entries are read one at a time from a JSON array or an NDJSON stream, and persisted in chunks, each in its
+ * own transaction. Inserts are sent with JDBC batching (see {@code hibernate.jdbc.batch_size}) and ids come
+ * from the pooled {@code sequence_generator}, so a chunk costs a few round trips instead of one per entry.
+ */
+@Service
+public class EntryImportService {
+
+    static final int CHUNK_SIZE = 1000;
+
+    /**
+     * Should match {@code hibernate.jdbc.batch_size}.
+     */
+    static final int FLUSH_SIZE = 50;
+
+    private final Logger log = LoggerFactory.getLogger(EntryImportService.class);
+
+    private final EntityManager em;
+
+    private final BlogRepository blogRepository;
+
+    private final TagRepository tagRepository;
+
+    private final EntrySearchService entrySearchService;
+
+    private final TagUsageService tagUsageService;
+
+    private final PublicBlogService publicBlogService;
+
+    private final ObjectMapper objectMapper;
+
+    private final Validator validator;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public EntryImportService(EntityManager em, BlogRepository blogRepository, TagRepository tagRepository,
+                              EntrySearchService entrySearchService, TagUsageService tagUsageService,
+                              PublicBlogService publicBlogService, ObjectMapper objectMapper, Validator validator, PlatformTransactionManager transactionManager) {
+        this.em = em;
+        this.blogRepository = blogRepository;
+        this.tagRepository = tagRepository;
+        this.entrySearchService = entrySearchService;
+        this.tagUsageService = tagUsageService;
+        this.publicBlogService = publicBlogService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Import entries into the blogs of a user.
+     *
+     * @param input a JSON array of entries, or entries separated by new lines.
+     * @param login the login of the user, who must own the blogs of the entries.
+     * @return the outcome of the import of every entry, in input order.
+     * @throws IOException if the input cannot be read.
+     */
+    public List<EntryImportResultDTO> importEntries(InputStream input, String login) throws IOException {
+        long start = System.currentTimeMillis();
+        List<EntryImportResultDTO> results = new ArrayList<>();
+        List<Entry> chunk = new ArrayList<>(CHUNK_SIZE);
+        List<Integer> indexes = new ArrayList<>(CHUNK_SIZE);
+        int index = 0;
+        try (MappingIterator<Entry> entries = objectMapper.readerFor(Entry.class).readValues(input)) {
+            while (hasNext(entries, index, results)) {
+                try {
+                    chunk.add(entries.next());
+                    indexes.add(index);
+                } catch (RuntimeJsonMappingException e) {
+                    results.add(EntryImportResultDTO.failed(index, "Malformed entry: " + e.getMessage()));
+                }
+                index++;
+                if (chunk.size() == CHUNK_SIZE) {
+                    results.addAll(importChunk(chunk, indexes, login));
+                    chunk.clear();
+                    indexes.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            results.addAll(importChunk(chunk, indexes, login));
+        }
+        results.sort((a, b) -> Integer.compare(a.getIndex(), b.getIndex()));
+        log.debug("Imported {} entries for {} in {} ms", index, login, System.currentTimeMillis() - start);
+        return results;
+    }
+
+    /**
+     * A syntax error leaves the input in an unknown state, so it is reported and ends the import.
+     */
+    private boolean hasNext(MappingIterator<Entry> entries, int index, List<EntryImportResultDTO> results) {
+        try {
+            return entries.hasNext();
+        } catch (RuntimeException e) {
+            results.add(EntryImportResultDTO.failed(index, "Malformed input, import stopped: " + e.getMessage()));
+            return false;
+        }
+    }
+
+    private List<EntryImportResultDTO> importChunk(List<Entry> entries, List<Integer> indexes, String login) {
+        List<EntryImportResultDTO> results = new ArrayList<>(entries.size());
+        List<Entry> accepted = new ArrayList<>(entries.size());
+        List<Integer> acceptedIndexes = new ArrayList<>(entries.size());
+        try {
+            transactionTemplate.execute(status -> {
+                Map<Long, Blog> blogs = findBlogs(entries, login);
+                Map<Long, Tag> tags = findTags(entries);
+                for (int i = 0; i < entries.size(); i++) {
+                    Entry entry = entries.get(i);
+                    String error = resolve(entry, blogs, tags);
+                    if (error != null) {
+                        results.add(EntryImportResultDTO.failed(indexes.get(i), error));
+                        continue;
+                    }
+                    em.persist(entry);
+                    tagUsageService.recordChange(Collections.emptySet(), entry.getTags());
+                    accepted.add(entry);
+                    acceptedIndexes.add(indexes.get(i));
+                    if (accepted.size() % FLUSH_SIZE == 0) {
+                        em.flush();
+                        em.clear();
+                    }
+                }
+                em.flush();
+                em.clear();
+                publicBlogService.invalidate(accepted.stream()
+                    .map(Entry::getBlog)
+                    .filter(Objects::nonNull)
+                    .map(Blog::getHandle)
+                    .toArray(String[]::new));
+                return null;
+            });
+        } catch (RuntimeException e) {
+            log.warn("Failed to import a chunk of {} entries: {}", entries.size(), e.getMessage());
+            for (Integer index : acceptedIndexes) {
+                results.add(EntryImportResultDTO.failed(index, "Could not be saved: " + e.getMessage()));
+            }
+            return results;
+        }
+        for (int i = 0; i < accepted.size(); i++) {
+            Entry entry = accepted.get(i);
+            entrySearchService.index(entry);
+            results.add(EntryImportResultDTO.created(acceptedIndexes.get(i), entry.getId()));
+        }
+        return results;
+    }
+
+    private Map<Long, Blog> findBlogs(List<Entry> entries, String login) {
+        Set<Long> ids = entries.stream()
+            .map(Entry::getBlog)
+            .filter(Objects::nonNull)
+            .map(Blog::getId)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        return blogRepository.findAllById(ids).stream()
+            .filter(blog -> blog.getUser() != null && blog.getUser().getLogin().equals(login))
+            .collect(Collectors.toMap(Blog::getId, Function.identity()));
+    }
+
+    private Map<Long, Tag> findTags(List<Entry> entries) {
+        Set<Long> ids = entries.stream()
+            .flatMap(entry -> entry.getTags() == null ? Stream.empty() : entry.getTags().stream())
+            .filter(Objects::nonNull)
+            .map(Tag::getId)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        return tagRepository.findAllById(ids).stream()
+            .collect(Collectors.toMap(Tag::getId, Function.identity()));
+    }
+
+    /**
+     * Validate an entry, and replace its blog and tags with the managed ones.
+     *
+     * @return the error, or {@code null} if the entry can be saved.
+     */
+    private String resolve(Entry entry, Map<Long, Blog> blogs, Map<Long, Tag> tags) {
+        if (entry.getId() != null) {
+            return "A new entry cannot already have an ID";
+        }
+        Set<ConstraintViolation<Entry>> violations = validator.validate(entry);
+        if (!violations.isEmpty()) {
+            ConstraintViolation<Entry> violation = violations.iterator().next();
+            return violation.getPropertyPath() + ": " + violation.getMessage();
+        }
+        if (entry.getContent() == null) {
+            return "content: must not be null";
+        }
+        if (entry.getBlog() != null) {
+            Blog blog = blogs.get(entry.getBlog().getId());
+            if (blog == null) {
+                return "Unknown blog: " + entry.getBlog().getId();
+            }
+            entry.setBlog(blog);
+        }
+        Set<Tag> resolvedTags = new HashSet<>();
+        if (entry.getTags() != null) {
+            for (Tag tag : entry.getTags()) {
+                Tag resolved = tag == null ? null : tags.get(tag.getId());
+                if (resolved == null) {
+                    return "Unknown tag: " + (tag == null ? null : tag.getId());
+                }
+                resolvedTags.add(resolved);
+            }
+        }
+        entry.setTags(resolvedTags);
+        return null;
+    }
+}
@@ -0,0 +1,367 @@
+package org.jhipster.blog.service;
+
+import org.jhipster.blog.domain.Entry;
+import org.jhipster.blog.domain.Tag;
+import org.jhipster.blog.repository.BlogRepository;
+import org.jhipster.blog.repository.EntryRepository;
+import org.jhipster.blog.service.dto.EntrySummaryDTO;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.SessionFactory;
+import org.hibernate.query.NativeQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Service class for reading and managing entries.
+ */
+@Service
+@Transactional
+public class EntryService {
+
+    /**
+     * Deletes an entry, unless it is in a blog which the user does not own.
+     */
+    private static final String DELETE_OWNED_ENTRY = "delete from entry where id = :id and (blog_id is null or blog_id in " +
+        "(select blog.id from blog join jhi_user on jhi_user.id = blog.user_id where jhi_user.login = :login))";
+
+    /**
+     * Query space of the deletions, which no entity uses, so that Hibernate does not clear the regions of the
+     * second-level cache on its own. The query cache is disabled, so no query result depends on it.
+     */
+    static final String DELETE_QUERY_SPACE = "owned_deletion";
+
+    private static final Comparator<EntryRepository.EntrySummary> SORT_KEY_DESCENDING =
+        Comparator.comparing(EntryRepository.EntrySummary::getDate).thenComparing(EntryRepository.EntrySummary::getId).reversed();
+
+    private final Logger log = LoggerFactory.getLogger(EntryService.class);
+
+    private final EntryRepository entryRepository;
+
+    private final BlogRepository blogRepository;
+
+    private final EntityManager em;
+
+    private final ObjectMapper objectMapper;
+
+    private final TagUsageService tagUsageService;
+
+    private final PublicBlogService publicBlogService;
+
+    private final EntryHtmlService entryHtmlService;
+
+    public EntryService(EntryRepository entryRepository, BlogRepository blogRepository, EntityManager em,
+                        ObjectMapper objectMapper, TagUsageService tagUsageService, PublicBlogService publicBlogService,
+                        EntryHtmlService entryHtmlService) {
+        this.entryRepository = entryRepository;
+        this.blogRepository = blogRepository;
+        this.em = em;
+        this.objectMapper = objectMapper;
+        this.tagUsageService = tagUsageService;
+        this.publicBlogService = publicBlogService;
+        this.entryHtmlService = entryHtmlService;
+    }
+
+    /**
+     * Save an entry, render its content to HTML, record the change of its tags for the tag cloud, and invalidate
+     * the public view of its blog.
+     *
+     * @param entry the entry to save.
+     * @return the persisted entity.
+     */
+    public Entry save(Entry entry) {
+        log.debug("Request to save Entry : {}", entry);
+        List<Long> previousTagIds = entry.getId() == null ? Collections.emptyList() : entryRepository.findTagIdsById(entry.getId());
+        String previousHandle = entry.getId() == null ? null : entryRepository.findBlogHandleById(entry.getId()).orElse(null);
+        Entry result = entryRepository.saveAndFlush(entry);
+        entryHtmlService.entrySaved(result);
+        tagUsageService.recordChange(previousTagIds, result.getTags());
+        publicBlogService.invalidate(previousHandle, entryRepository.findBlogHandleById(result.getId()).orElse(null));
+        return result;
+    }
+
+    /**
+     * Update an entry of a user, checking in the same read-write transaction, so on the primary database, that the
+     * user owns it and that the client modified its current version.
+     *
+     * @param entry the entry to update.
+     * @param login the login of the user, who must own the entry.
+     * @param precondition the check of the current versions of the entry, its blog and tags against those the
+     * client modified, or {@code null} to update the current version whatever it is when the entry has no version.
+     * @return the result of the update.
+     */
+    public UpdateResult<Entry> update(Entry entry, String login, Predicate<EntryRepository.EntryVersions> precondition) {
+        log.debug("Request to update Entry : {}", entry);
+        if (entryRepository.findOwnerLoginById(entry.getId()).filter(owner -> !owner.equals(login)).isPresent()) {
+            return UpdateResult.forbidden();
+        }
+        if (precondition != null || entry.getVersion() == null) {
+            Optional<EntryRepository.EntryVersions> versions = entryRepository.findVersionsById(entry.getId());
+            if (precondition != null && !versions.filter(precondition).isPresent()) {
+                return UpdateResult.preconditionFailed();
+            }
+            versions.map(EntryRepository.EntryVersions::getVersion).ifPresent(entry::setVersion);
+        }
+        return UpdateResult.updated(save(entry));
+    }
+
+    /**
+     * Delete an entry of a user, record the removal of its tags for the tag cloud, and invalidate the public view
+     * of its blog.
+     * <p>
+     * The ids of its tags and the handle of its blog are read with a single projection, and the entry is deleted
+     * with its tags by a single statement, on the condition that the user owns it. The statement declares a query
+     * space of its own, so that Hibernate does not clear the cached entries and tags, and only the entry and the
+     * collections it was in are evicted, when it is deleted and again after the commit.
+     *
+     * @param id the id of the entry.
+     * @param login the login of the user, who must own the entry unless it has no blog.
+     * @return the result of the deletion.
+     */
+    public DeleteResult delete(Long id, String login) {
+        log.debug("Request to delete Entry : {}", id);
+        List<EntryRepository.EntryTag> tags = entryRepository.findTagsAndBlogHandleById(id);
+        if (tags.isEmpty()) {
+            return DeleteResult.NOT_FOUND;
+        }
+        NativeQuery<?> query = em.createNativeQuery(DELETE_OWNED_ENTRY).unwrap(NativeQuery.class);
+        int deleted = query.addSynchronizedQuerySpace(DELETE_QUERY_SPACE)
+            .setParameter("id", id)
+            .setParameter("login", login)
+            .executeUpdate();
+        if (deleted == 0) {
+            return DeleteResult.FORBIDDEN;
+        }
+        List<Long> tagIds = tags.stream().map(EntryRepository.EntryTag::getTagId).filter(Objects::nonNull)
+            .collect(Collectors.toList());
+        evictDeleted(id, tagIds);
+        tagUsageService.recordChange(tagIds, Collections.emptySet());
+        publicBlogService.invalidate(tags.get(0).getBlogHandle());
+        return DeleteResult.DELETED;
+    }
+
+    private void evictDeleted(Long id, List<Long> tagIds) {
+        org.hibernate.Cache cache = em.getEntityManagerFactory().unwrap(SessionFactory.class).getCache();
+        Runnable evict = () -> {
+            cache.evictEntityData(Entry.class, id);
+            cache.evictCollectionData(Entry.class.getName() + ".tags", id);
+            tagIds.forEach(tagId -> cache.evictCollectionData(Tag.class.getName() + ".entries", tagId));
+        };
+        evict.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    evict.run();
+                }
+            });
+        }
+    }
+
+    /**
+     * Get a page of entries of a user, with their relationships.
+     * <p>
+     * The page is fetched in two phases: the ids of the page are selected first, and then the entries are
+     * loaded with their tags, blog and user in a single query. Join-fetching a collection in a paged query
+     * would make Hibernate paginate in memory, and loading the tags lazily would cost one query per entry.
+     *
+     * @param login the login of the owner of the entries.
+     * @param pageable the pagination information.
+     * @return the page of entries.
+     */
+    @Transactional(readOnly = true)
+    public Page<Entry> findAllWithEagerRelationships(String login, Pageable pageable) {
+        log.debug("Request to get a page of Entries of : {}", login);
+        Page<EntryRepository.EntryId> ids = entryRepository.findByBlogUserLoginOrderByDateDesc(login, pageable, EntryRepository.EntryId.class);
+        List<Entry> entries = findAllWithEagerRelationships(ids.map(EntryRepository.EntryId::getId).getContent());
+        return new PageImpl<>(entries, ids.getPageable(), ids.getTotalElements());
+    }
+
+    /**
+     * Get entries with their relationships, in the order of the given ids.
+     *
+     * @param ids the ids of the entries.
+     * @return the list of entries.
+     */
+    @Transactional(readOnly = true)
+    public List<Entry> findAllWithEagerRelationships(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Long, Entry> entries = entryRepository.findAllWithEagerRelationshipsByIdIn(ids).stream()
+            .collect(Collectors.toMap(Entry::getId, Function.identity()));
+        return ids.stream()
+            .map(entries::get)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Get a page of entry summaries of a user, without their content.
+     * <p>
+     * The tags of the whole page are loaded with a single query.
+     *
+     * @param login the login of the owner of the entries.
+     * @param pageable the pagination information.
+     * @return the page of entry summaries.
+     */
+    @Transactional(readOnly = true)
+    public Page<EntrySummaryDTO> findSummaries(String login, Pageable pageable) {
+        log.debug("Request to get a page of Entry summaries of : {}", login);
+        Page<EntrySummaryDTO> page = entryRepository.findSummariesByBlogUserLogin(login, pageable).map(EntryService::toSummary);
+        addTags(page.getContent());
+        return page;
+    }
+
+    /**
+     * Get the entry summaries of a user following a sort key, newest first, without their content.
+     *
+     * @param login the login of the owner of the entries.
+     * @param date the date of the last entry of the previous page, or {@code null} for the first page.
+     * @param id the id of the last entry of the previous page.
+     * @param limit the maximum number of entry summaries.
+     * @return the list of entry summaries.
+     */
+    @Transactional(readOnly = true)
+    public List<EntrySummaryDTO> findSummariesAfter(String login, Instant date, Long id, int limit) {
+        log.debug("Request to get Entry summaries of : {} after : {}, {}", login, date, id);
+        List<EntrySummaryDTO> summaries = seekSummaries(login, date, id, limit).stream()
+            .map(EntryService::toSummary)
+            .collect(Collectors.toList());
+        addTags(summaries);
+        return summaries;
+    }
+
+    /**
+     * Get the ids of the entries of a user following a sort key, newest first.
+     *
+     * @param login the login of the owner of the entries.
+     * @param date the date of the last entry of the previous page, or {@code null} for the first page.
+     * @param id the id of the last entry of the previous page.
+     * @param limit the maximum number of ids.
+     * @return the list of entry ids.
+     */
+    @Transactional(readOnly = true)
+    public List<Long> findIdsAfter(String login, Instant date, Long id, int limit) {
+        log.debug("Request to get Entry ids of : {} after : {}, {}", login, date, id);
+        return seekSummaries(login, date, id, limit).stream()
+            .map(EntryRepository.EntrySummary::getId)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Seek the first entries following a sort key in each blog of a user, and merge them.
+     * <p>
+     * Each seek reads at most {@code limit} entries of a single blog from the {@code (blog_id, date desc, id desc)}
+     * index, starting at the key, whereas a seek across the blogs of the user would have to sort all their entries.
+     * A user has few blogs, so merging their pages costs less than that sort.
+     */
+    private List<EntryRepository.EntrySummary> seekSummaries(String login, Instant date, Long id, int limit) {
+        Pageable pageable = PageRequest.of(0, limit);
+        return blogRepository.findIdsByUserLogin(login).stream()
+            .flatMap(blogId -> (date == null
+                ? entryRepository.findFirstSummariesByBlogId(blogId, pageable)
+                : entryRepository.findSummariesByBlogIdAfter(blogId, date, id, pageable)).stream())
+            .sorted(SORT_KEY_DESCENDING)
+            .limit(limit)
+            .collect(Collectors.toList());
+    }
+
+    private static EntrySummaryDTO toSummary(EntryRepository.EntrySummary summary) {
+        return new EntrySummaryDTO(summary.getId(), summary.getTitle(), summary.getDate(), summary.getBlogId(), summary.getBlogName());
+    }
+
+    private void addTags(List<EntrySummaryDTO> page) {
+        if (page.isEmpty()) {
+            return;
+        }
+        Map<Long, EntrySummaryDTO> summaries = page.stream()
+            .collect(Collectors.toMap(EntrySummaryDTO::getId, Function.identity()));
+        for (Object[] row : entryRepository.findTagsByEntryIdIn(summaries.keySet())) {
+            summaries.get((Long) row[0]).getTags().add((Tag) row[1]);
+        }
+    }
+
+    /**
+     * Export all the entries of a user as NDJSON, one entry with its blog and tags per line.
+     * <p>
+     * Entries are read with a forward-only cursor. Every {@link EntryRepository#EXPORT_FETCH_SIZE} entries,
+     * the tags of the batch are loaded with a single query, the batch is written and the session is cleared,
+     * so that memory use does not depend on the number of entries.
+     *
+     * @param login the login of the owner of the entries.
+     * @param output the stream to write to, which is flushed but not closed.
+     * @return the number of exported entries.
+     * @throws IOException if the entries cannot be written.
+     */
+    @Transactional(readOnly = true)
+    public long exportEntries(String login, OutputStream output) throws IOException {
+        log.debug("Request to export Entries of : {}", login);
+        long count = 0;
+        List<Entry> batch = new ArrayList<>(EntryRepository.EXPORT_FETCH_SIZE);
+        try (Stream<Entry> entries = entryRepository.streamByBlogUserLogin(login);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            Iterator<Entry> iterator = entries.iterator();
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+                if (batch.size() == EntryRepository.EXPORT_FETCH_SIZE) {
+                    count += writeBatch(batch, generator);
+                }
+            }
+            count += writeBatch(batch, generator);
+        }
+        return count;
+    }
+
+    private int writeBatch(List<Entry> batch, JsonGenerator generator) throws IOException {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        Map<Long, Set<Tag>> tags = new HashMap<>();
+        for (Object[] row : entryRepository.findTagsByEntryIdIn(batch.stream().map(Entry::getId).collect(Collectors.toList()))) {
+            tags.computeIfAbsent((Long) row[0], id -> new HashSet<>()).add((Tag) row[1]);
+        }
+        // Detach the batch before replacing the uninitialized tag collections
+        em.clear();
+        for (Entry entry : batch) {
+            entry.setTags(tags.getOrDefault(entry.getId(), Collections.emptySet()));
+            generator.writeObject(entry);
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+        int size = batch.size();
+        batch.clear();
+        return size;
+    }
+}
@@ -0,0 +1,314 @@
+package org.jhipster.blog.service;
+
+import org.jhipster.blog.config.ApplicationProperties;
+import org.jhipster.blog.config.cache.CacheInvalidationBus;
+import org.jhipster.blog.domain.Entry;
+import org.jhipster.blog.repository.BlogRepository;
+import org.jhipster.blog.repository.EntryRepository;
+import org.jhipster.blog.service.dto.PublicBlogDTO;
+import org.jhipster.blog.service.dto.PublicEntryDTO;
+import org.jhipster.blog.service.util.FeedWriter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.jhipster.config.JHipsterProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.DigestUtils;
+
+import javax.xml.stream.XMLStreamException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Serializable;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Service serving the public view of blogs, from a cache of serialized responses.
+ * <p>
+ * Responses are cached as JSON bytes, by handle and page, with the generation of their handle. Generations are
+ * random numbers cached in their own region: a write to a blog or its entries evicts the generation of its handle
+ * once the transaction commits, on this node and, through the {@link CacheInvalidationBus} when it is enabled, on
+ * the others. The next request gets a new generation, and a response of another generation is rendered again and
+ * replaced. The fixed responses of the handle, the blog and its feeds, are evicted as well. The generation is read
+ * before the database, so a response computed concurrently with a write is cached with the previous generation.
+ * Renaming or deleting a tag changes the entries of any blog, so both regions are cleared.
+ * <p>
+ * Feeds are cached the same way, so feed readers polling a blog cost a cache lookup until one of its entries
+ * changes, and most of their requests end in {@code 304 (Not Modified)}.
+ */
+@Service
+public class PublicBlogService {
+
+    public static final String PUBLIC_BLOG_RESPONSES_CACHE = "publicBlogResponses";
+
+    public static final String PUBLIC_BLOG_GENERATIONS_CACHE = "publicBlogGenerations";
+
+    private final Logger log = LoggerFactory.getLogger(PublicBlogService.class);
+
+    private final BlogRepository blogRepository;
+
+    private final EntryRepository entryRepository;
+
+    private final EntryHtmlService entryHtmlService;
+
+    private final ObjectMapper objectMapper;
+
+    private final Cache responses;
+
+    private final Cache generations;
+
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    private final String baseUrl;
+
+    private final int feedSize;
+
+    public PublicBlogService(BlogRepository blogRepository, EntryRepository entryRepository, EntryHtmlService entryHtmlService,
+                             ObjectMapper objectMapper, CacheManager cacheManager, ObjectProvider<CacheInvalidationBus> cacheInvalidationBus,
+                             JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
+        this.blogRepository = blogRepository;
+        this.entryRepository = entryRepository;
+        this.entryHtmlService = entryHtmlService;
+        this.objectMapper = objectMapper;
+        this.responses = Objects.requireNonNull(cacheManager.getCache(PUBLIC_BLOG_RESPONSES_CACHE));
+        this.generations = Objects.requireNonNull(cacheManager.getCache(PUBLIC_BLOG_GENERATIONS_CACHE));
+        this.cacheInvalidationBus = cacheInvalidationBus.getIfAvailable();
+        this.baseUrl = jHipsterProperties.getMail().getBaseUrl();
+        this.feedSize = applicationProperties.getFeed().getSize();
+    }
+
+    /**
+     * Get the public view of a blog.
+     *
+     * @param handle the handle of the blog.
+     * @return the blog as JSON, or empty if there is no blog with this handle.
+     */
+    @Transactional(readOnly = true)
+    public Optional<CachedResponse> getBlog(String handle) {
+        return get(handle, key(handle, "blog"), generation -> blogRepository.findFirstByHandleOrderByIdAsc(handle)
+            .map(blog -> new CachedResponse(serialize(new PublicBlogDTO(blog)), 1, Instant.EPOCH, generation)));
+    }
+
+    /**
+     * Get a page of the entries of a blog, newest first.
+     *
+     * @param handle the handle of the blog.
+     * @param page the number of the page.
+     * @param size the size of the page.
+     * @return the entries as a JSON array with the total number of entries, or empty if there is no blog with this handle.
+     */
+    @Transactional(readOnly = true)
+    public Optional<CachedResponse> getEntries(String handle, int page, int size) {
+        return get(handle, key(handle, "entries", page, size), generation -> blogRepository.findFirstByHandleOrderByIdAsc(handle)
+            .map(blog -> {
+                Page<EntryRepository.EntryId> ids = entryRepository.findByBlogIdOrderByDateDescIdDesc(blog.getId(),
+                    PageRequest.of(page, size), EntryRepository.EntryId.class);
+                List<Entry> entries = findEntries(ids.map(EntryRepository.EntryId::getId).getContent());
+                List<PublicEntryDTO> dtos = entries.stream()
+                    .map(entry -> new PublicEntryDTO(entry, entryHtmlService.getHtml(entry)))
+                    .collect(Collectors.toList());
+                return new CachedResponse(serialize(dtos), ids.getTotalElements(), FeedWriter.updated(entries), generation);
+            }));
+    }
+
+    /**
+     * Get the feed of the latest entries of a blog.
+     *
+     * @param handle the handle of the blog.
+     * @param format the format of the feed.
+     * @return the feed as XML, or empty if there is no blog with this handle.
+     */
+    @Transactional(readOnly = true)
+    public Optional<CachedResponse> getFeed(String handle, FeedWriter.Format format) {
+        return get(handle, key(handle, "feed", format), generation -> blogRepository.findFirstByHandleOrderByIdAsc(handle)
+            .map(blog -> {
+                Page<EntryRepository.EntryId> ids = entryRepository.findByBlogIdOrderByDateDescIdDesc(blog.getId(),
+                    PageRequest.of(0, feedSize), EntryRepository.EntryId.class);
+                List<Entry> entries = findEntries(ids.map(EntryRepository.EntryId::getId).getContent());
+                ByteArrayOutputStream output = new ByteArrayOutputStream();
+                try {
+                    FeedWriter.write(output, format, blog, entries, entryHtmlService::getHtml, baseUrl + "/public/blogs/" + handle);
+                } catch (XMLStreamException e) {
+                    throw new IllegalStateException("Could not write the feed of a blog", e);
+                }
+                return new CachedResponse(output.toByteArray(), ids.getNumberOfElements(), FeedWriter.updated(entries), generation);
+            }));
+    }
+
+    /**
+     * Get a response from the cache, or render and cache it when it is missing or of another generation.
+     */
+    private Optional<CachedResponse> get(String handle, String key, LongFunction<Optional<CachedResponse>> render) {
+        long generation = generation(handle);
+        CachedResponse response = responses.get(key, CachedResponse.class);
+        if (response != null && response.generation == generation) {
+            return Optional.of(response);
+        }
+        Optional<CachedResponse> rendered = render.apply(generation);
+        rendered.ifPresent(value -> responses.put(key, value));
+        return rendered;
+    }
+
+    /**
+     * The current generation of a handle. A new one is random, so that it differs from the evicted one.
+     */
+    private long generation(String handle) {
+        Long generation = generations.get(handle, Long.class);
+        if (generation == null) {
+            Long created = ThreadLocalRandom.current().nextLong();
+            Cache.ValueWrapper existing = generations.putIfAbsent(handle, created);
+            generation = existing == null ? created : (Long) existing.get();
+        }
+        return generation;
+    }
+
+    /**
+     * Invalidate the cached responses of blogs, once the current transaction commits if there is one.
+     *
+     * @param handles the handles of the blogs which changed, {@code null} values are ignored.
+     */
+    public void invalidate(String... handles) {
+        List<String> changed = Arrays.stream(handles).filter(Objects::nonNull).distinct().collect(Collectors.toList());
+        if (changed.isEmpty()) {
+            return;
+        }
+        afterCommit(() -> {
+            log.debug("Invalidating the public view of blogs : {}", changed);
+            for (String handle : changed) {
+                evict(PUBLIC_BLOG_GENERATIONS_CACHE, generations, handle);
+                evict(PUBLIC_BLOG_RESPONSES_CACHE, responses, key(handle, "blog"));
+                for (FeedWriter.Format format : FeedWriter.Format.values()) {
+                    evict(PUBLIC_BLOG_RESPONSES_CACHE, responses, key(handle, "feed", format));
+                }
+            }
+        });
+    }
+
+    /**
+     * Invalidate the cached responses of all blogs, once the current transaction commits if there is one.
+     */
+    public void invalidateAll() {
+        afterCommit(() -> {
+            log.debug("Invalidating the public view of all blogs");
+            generations.clear();
+            responses.clear();
+            if (cacheInvalidationBus != null) {
+                cacheInvalidationBus.evictAll(PUBLIC_BLOG_GENERATIONS_CACHE);
+                cacheInvalidationBus.evictAll(PUBLIC_BLOG_RESPONSES_CACHE);
+            }
+        });
+    }
+
+    private void evict(String region, Cache cache, String key) {
+        cache.evict(key);
+        if (cacheInvalidationBus != null) {
+            cacheInvalidationBus.evict(region, key);
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private List<Entry> findEntries(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Long, Entry> entries = entryRepository.findAllWithEagerRelationshipsByIdIn(ids).stream()
+            .collect(Collectors.toMap(Entry::getId, Function.identity()));
+        return ids.stream()
+            .map(entries::get)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+    }
+
+    private String key(String handle, String view, Object... parameters) {
+        StringBuilder key = new StringBuilder(handle).append('/').append(view);
+        for (Object parameter : parameters) {
+            key.append('/').append(parameter);
+        }
+        return key.toString();
+    }
+
+    private byte[] serialize(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize the public view of a blog", e);
+        }
+    }
+
+    /**
+     * A serialized response, with the total number of elements for pages.
+     * <p>
+     * The entity tag is a digest of the body, and the last modification time is the date of the latest entry of
+     * the response, so both are the same on every node and whenever the response is rendered again.
+     */
+    public static final class CachedResponse implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final byte[] body;
+
+        private final long total;
+
+        private final String eTag;
+
+        private final Instant lastModified;
+
+        private final long generation;
+
+        CachedResponse(byte[] body, long total, Instant lastModified, long generation) {
+            this.body = body;
+            this.total = total;
+            this.generation = generation;
+            this.eTag = "\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+            this.lastModified = lastModified.truncatedTo(ChronoUnit.SECONDS);
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+
+        public String getETag() {
+            return eTag;
+        }
+
+        public Instant getLastModified() {
+            return lastModified;
+        }
+    }
+}
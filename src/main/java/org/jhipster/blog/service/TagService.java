@@ -0,0 +1,184 @@
+package org.jhipster.blog.service;
+
+import org.jhipster.blog.domain.Tag;
+import org.jhipster.blog.repository.TagRepository;
+import org.jhipster.blog.service.search.TagSuggestionService;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Service class for resolving tags by name.
+ * <p>
+ * Tag names are unique once normalized (see {@link Tag#normalizeName(String)}). Missing tags are inserted with a
+ * single JDBC batch that skips the names inserted concurrently: with {@code on conflict do nothing} on PostgreSQL,
+ * and with {@code where not exists} elsewhere, where the resolution is retried once if a concurrent insert wins
+ * the race. Ids come from the pooled {@code sequence_generator} of Hibernate. Resolved ids are cached by name.
+ */
+@Service
+public class TagService {
+
+    private static final String UPSERT_SQL =
+        "insert into tag (id, name, normalized_name, version) values (?, ?, ?, 0) on conflict (normalized_name) do nothing";
+
+    private static final String INSERT_IF_MISSING_SQL =
+        "insert into tag (id, name, normalized_name, version) select ?, ?, ?, 0 from dual " +
+            "where not exists (select 1 from tag where normalized_name = ?)";
+
+    private final Logger log = LoggerFactory.getLogger(TagService.class);
+
+    private final TagRepository tagRepository;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final EntityManager em;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Cache tagIdsByName;
+
+    private final TagUsageService tagUsageService;
+
+    private final TagSuggestionService tagSuggestionService;
+
+    private volatile Boolean upsertSupported;
+
+    public TagService(TagRepository tagRepository, JdbcTemplate jdbcTemplate, EntityManager em,
+                      PlatformTransactionManager transactionManager, CacheManager cacheManager,
+                      TagUsageService tagUsageService, TagSuggestionService tagSuggestionService) {
+        this.tagRepository = tagRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.em = em;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tagIdsByName = Objects.requireNonNull(cacheManager.getCache(TagRepository.TAG_IDS_BY_NAME_CACHE));
+        this.tagUsageService = tagUsageService;
+        this.tagSuggestionService = tagSuggestionService;
+    }
+
+    /**
+     * Get the ids of tags by name, creating the missing tags.
+     *
+     * @param names the names of the tags, which must be at least 2 characters long once trimmed.
+     * @return the ids of the tags by name, in the order of the names. Names differing only by case get the same id.
+     */
+    public Map<String, Long> resolve(Collection<String> names) {
+        log.debug("Request to resolve Tags : {}", names);
+        // The first spelling of a name is the one a new tag gets
+        Map<String, String> spellings = new LinkedHashMap<>();
+        for (String name : names) {
+            spellings.putIfAbsent(Tag.normalizeName(name), name.trim());
+        }
+        Map<String, Long> ids = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String normalizedName : spellings.keySet()) {
+            Long id = tagIdsByName.get(normalizedName, Long.class);
+            if (id != null) {
+                ids.put(normalizedName, id);
+            } else {
+                missing.add(normalizedName);
+            }
+        }
+        if (!missing.isEmpty()) {
+            List<Tag> created = new ArrayList<>();
+            Map<String, Long> resolved;
+            try {
+                resolved = transactionTemplate.execute(status -> upsert(missing, spellings, created));
+            } catch (DuplicateKeyException e) {
+                log.debug("Tags inserted concurrently, resolving again : {}", e.getMessage());
+                created.clear();
+                resolved = transactionTemplate.execute(status -> upsert(missing, spellings, created));
+            }
+            resolved.forEach(tagIdsByName::put);
+            ids.putAll(resolved);
+            if (!created.isEmpty()) {
+                created.forEach(tagUsageService::tagSaved);
+                tagSuggestionService.tagsChanged();
+            }
+        }
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (String name : names) {
+            result.put(name, ids.get(Tag.normalizeName(name)));
+        }
+        return result;
+    }
+
+    /**
+     * Forget the id cached for a name, after a tag is renamed or deleted.
+     *
+     * @param normalizedName the normalized name of the tag.
+     */
+    public void evictName(String normalizedName) {
+        tagIdsByName.evict(normalizedName);
+    }
+
+    private Map<String, Long> upsert(List<String> normalizedNames, Map<String, String> spellings, List<Tag> created) {
+        Map<String, Long> ids = findIds(normalizedNames);
+        List<Tag> inserts = new ArrayList<>();
+        SharedSessionContractImplementor session = em.unwrap(SharedSessionContractImplementor.class);
+        IdentifierGenerator generator = session.getFactory().getMetamodel().entityPersister(Tag.class).getIdentifierGenerator();
+        for (String normalizedName : normalizedNames) {
+            if (!ids.containsKey(normalizedName)) {
+                Tag tag = new Tag().name(spellings.get(normalizedName));
+                tag.setId((Long) generator.generate(session, tag));
+                inserts.add(tag);
+            }
+        }
+        if (inserts.isEmpty()) {
+            return ids;
+        }
+        boolean upsert = isUpsertSupported();
+        jdbcTemplate.batchUpdate(upsert ? UPSERT_SQL : INSERT_IF_MISSING_SQL, inserts, inserts.size(), (ps, tag) -> {
+            ps.setLong(1, tag.getId());
+            ps.setString(2, tag.getName());
+            ps.setString(3, tag.getNormalizedName());
+            if (!upsert) {
+                ps.setString(4, tag.getNormalizedName());
+            }
+        });
+        // Names inserted concurrently were skipped, so the ids are read back rather than taken from the batch
+        Map<String, Long> inserted = findIds(inserts.stream().map(Tag::getNormalizedName).collect(Collectors.toList()));
+        for (Tag tag : inserts) {
+            if (tag.getId().equals(inserted.get(tag.getNormalizedName()))) {
+                created.add(tag);
+            }
+        }
+        ids.putAll(inserted);
+        return ids;
+    }
+
+    private Map<String, Long> findIds(Collection<String> normalizedNames) {
+        Map<String, Long> ids = new HashMap<>();
+        for (Object[] row : tagRepository.findIdsByNormalizedNameIn(normalizedNames)) {
+            ids.put((String) row[0], (Long) row[1]);
+        }
+        return ids;
+    }
+
+    private boolean isUpsertSupported() {
+        if (upsertSupported == null) {
+            upsertSupported = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName()));
+        }
+        return upsertSupported;
+    }
+}
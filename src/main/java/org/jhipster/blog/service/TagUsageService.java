@@ -0,0 +1,254 @@
+package org.jhipster.blog.service;
+
+import org.jhipster.blog.domain.Tag;
+import org.jhipster.blog.repository.TagRepository;
+import org.jhipster.blog.service.dto.TagUsageDTO;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Service maintaining the number of entries using each tag, for the tag cloud.
+ * <p>
+ * Counts are kept in memory, and updated with the tag changes of the entries saved and deleted by this
+ * application once their transaction commits. They are loaded on startup and periodically reconciled with a
+ * single aggregate query, which also picks up the changes made by other instances. A change committed while
+ * a reconciliation runs may be counted twice or missed, until the next reconciliation.
+ */
+@Service
+public class TagUsageService {
+
+    private static final Comparator<String> NAME_ORDER = Comparator.nullsLast(Comparator.naturalOrder());
+
+    private static final Comparator<TagUsageDTO> MOST_USED_FIRST = Comparator.comparingLong(TagUsageDTO::getCount).reversed()
+        .thenComparing(TagUsageDTO::getName, NAME_ORDER);
+
+    private final Logger log = LoggerFactory.getLogger(TagUsageService.class);
+
+    private final TagRepository tagRepository;
+
+    private volatile ConcurrentMap<Long, Usage> usages = new ConcurrentHashMap<>();
+
+    public TagUsageService(TagRepository tagRepository) {
+        this.tagRepository = tagRepository;
+    }
+
+    /**
+     * Load the counts on startup, before the tag suggestions are built from them.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void reconcileOnStartup() {
+        reconcile();
+    }
+
+    /**
+     * Replace the counts with the ones computed by the database.
+     */
+    @Scheduled(fixedDelayString = "#{${application.tag-usage.reconcile-interval-in-seconds:300} * 1000}",
+        initialDelayString = "#{${application.tag-usage.reconcile-interval-in-seconds:300} * 1000}")
+    public void reconcile() {
+        long start = System.currentTimeMillis();
+        ConcurrentMap<Long, Usage> reconciled = new ConcurrentHashMap<>();
+        for (TagUsageDTO usage : tagRepository.findUsages()) {
+            reconciled.put(usage.getId(), new Usage(usage.getName(), usage.getCount()));
+        }
+        usages = reconciled;
+        log.debug("Tag usage reconciled for {} tags in {} ms", reconciled.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Get the tags used by at least one entry, most used first.
+     * <p>
+     * The most used tags are selected with a heap bounded by the limit, so only those are sorted.
+     *
+     * @param limit the maximum number of tags to return.
+     * @return the tags with their number of entries.
+     */
+    public List<TagUsageDTO> getCloud(int limit) {
+        if (limit <= 0) {
+            return Collections.emptyList();
+        }
+        ConcurrentMap<Long, Usage> current = usages;
+        // The least used of the most used tags found so far is at the head
+        PriorityQueue<TagUsageDTO> mostUsed = new PriorityQueue<>(Math.min(limit, current.size()) + 1, MOST_USED_FIRST.reversed());
+        for (Map.Entry<Long, Usage> entry : current.entrySet()) {
+            Usage usage = entry.getValue();
+            if (usage.count > 0 && (mostUsed.size() < limit || isMoreUsed(usage, mostUsed.peek()))) {
+                if (mostUsed.size() == limit) {
+                    mostUsed.poll();
+                }
+                mostUsed.add(new TagUsageDTO(entry.getKey(), usage.name, usage.count));
+            }
+        }
+        List<TagUsageDTO> cloud = new ArrayList<>(mostUsed);
+        cloud.sort(MOST_USED_FIRST);
+        return cloud;
+    }
+
+    private static boolean isMoreUsed(Usage usage, TagUsageDTO other) {
+        if (usage.count != other.getCount()) {
+            return usage.count > other.getCount();
+        }
+        return NAME_ORDER.compare(usage.name, other.getName()) < 0;
+    }
+
+    /**
+     * Get all the known tags, including the unused ones, with their number of entries.
+     *
+     * @return the tags with their number of entries, in no particular order.
+     */
+    public List<TagUsageDTO> getUsages() {
+        ConcurrentMap<Long, Usage> current = usages;
+        List<TagUsageDTO> all = new ArrayList<>(current.size());
+        current.forEach((id, usage) -> all.add(new TagUsageDTO(id, usage.name, usage.count)));
+        return all;
+    }
+
+    /**
+     * Record the tag changes of an entry which is saved or deleted.
+     * <p>
+     * In a transaction, the counts are updated once it commits, and not at all if it rolls back.
+     *
+     * @param before the ids of the tags of the entry before the change, empty for a new entry.
+     * @param after the tags of the entry after the change, empty for a deleted entry.
+     */
+    public void recordChange(Collection<Long> before, Collection<Tag> after) {
+        Map<Long, Delta> deltas = new HashMap<>();
+        Set<Long> afterIds = new HashSet<>();
+        for (Tag tag : after) {
+            if (tag != null && tag.getId() != null && afterIds.add(tag.getId()) && !before.contains(tag.getId())) {
+                deltas.put(tag.getId(), new Delta(tag.getName(), 1));
+            }
+        }
+        for (Long id : new HashSet<>(before)) {
+            if (!afterIds.contains(id)) {
+                deltas.put(id, new Delta(null, -1));
+            }
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            pendingDeltas().merge(deltas);
+        } else {
+            apply(deltas);
+        }
+    }
+
+    /**
+     * Record the name of a tag which is created or renamed.
+     *
+     * @param tag the saved tag.
+     */
+    public void tagSaved(Tag tag) {
+        usages.compute(tag.getId(), (id, usage) -> new Usage(tag.getName(), usage == null ? 0 : usage.count));
+    }
+
+    /**
+     * Forget a deleted tag.
+     *
+     * @param id the id of the deleted tag.
+     */
+    public void tagDeleted(Long id) {
+        usages.remove(id);
+    }
+
+    /**
+     * The deltas of the current transaction are accumulated in a single holder, applied after commit.
+     */
+    private PendingDeltas pendingDeltas() {
+        PendingDeltas pending = (PendingDeltas) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingDeltas();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        return pending;
+    }
+
+    private void apply(Map<Long, Delta> deltas) {
+        ConcurrentMap<Long, Usage> target = usages;
+        deltas.forEach((id, delta) -> target.compute(id, (key, usage) -> usage == null ?
+            new Usage(delta.name, Math.max(0, delta.count)) :
+            new Usage(usage.name != null ? usage.name : delta.name, Math.max(0, usage.count + delta.count))));
+    }
+
+    private static final class Usage {
+
+        private final String name;
+
+        private final long count;
+
+        Usage(String name, long count) {
+            this.name = name;
+            this.count = count;
+        }
+    }
+
+    private static final class Delta {
+
+        private String name;
+
+        private long count;
+
+        Delta(String name, long count) {
+            this.name = name;
+            this.count = count;
+        }
+    }
+
+    private final class PendingDeltas extends TransactionSynchronizationAdapter {
+
+        private final Map<Long, Delta> deltas = new HashMap<>();
+
+        void merge(Map<Long, Delta> changes) {
+            changes.forEach((id, change) -> deltas.merge(id, change, (delta, other) -> {
+                delta.count += other.count;
+                if (other.name != null) {
+                    delta.name = other.name;
+                }
+                return delta;
+            }));
+        }
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(TagUsageService.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(TagUsageService.this, this);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(TagUsageService.this);
+            if (status == STATUS_COMMITTED) {
+                apply(deltas);
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package org.jhipster.blog.service;
+
+/**
+ * The result of the update of an entity owned by a user.
+ *
+ * @param <T> the type of the entity.
+ */
+public final class UpdateResult<T> {
+
+    public enum Status {
+
+        UPDATED,
+
+        /**
+         * The entity belongs to another user, and was not updated.
+         */
+        FORBIDDEN,
+
+        /**
+         * The client did not modify the current version of the entity, which was not updated.
+         */
+        PRECONDITION_FAILED
+    }
+
+    private final Status status;
+
+    private final T entity;
+
+    private UpdateResult(Status status, T entity) {
+        this.status = status;
+        this.entity = entity;
+    }
+
+    static <T> UpdateResult<T> updated(T entity) {
+        return new UpdateResult<>(Status.UPDATED, entity);
+    }
+
+    static <T> UpdateResult<T> forbidden() {
+        return new UpdateResult<>(Status.FORBIDDEN, null);
+    }
+
+    static <T> UpdateResult<T> preconditionFailed() {
+        return new UpdateResult<>(Status.PRECONDITION_FAILED, null);
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * @return the updated entity, or {@code null} when it was not updated.
+     */
+    public T getEntity() {
+        return entity;
+    }
+}
@@ -0,0 +1,139 @@
+package org.jhipster.blog.service;
+
+import org.jhipster.blog.config.ApplicationProperties;
+import org.jhipster.blog.config.cache.CacheInvalidationBus;
+import org.jhipster.blog.config.cache.RefreshAheadCache;
+import org.jhipster.blog.domain.User;
+import org.jhipster.blog.repository.UserRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Service caching the users with their authorities by login and by email, for the authentication and the account
+ * of the current user.
+ * <p>
+ * The concurrent misses of a user are loaded once, and the users accessed shortly before they expire are
+ * reloaded in the background, so that neither an expiry nor an eviction sends every request of a user to the
+ * database together.
+ * <p>
+ * Logins and emails without user are cached apart, in small short-lived caches, so that repeated attempts with
+ * unknown principals neither reach the database nor evict the known users. A change of a user evicts it again
+ * once committed, as a concurrent lookup may have cached its previous state meanwhile, and on the other nodes
+ * when cache evictions are broadcast.
+ * <p>
+ * A read-only transaction may read a replica, which lags behind the primary: the misses looked up in one are
+ * loaded in a new read-write transaction instead, so that the cache which authenticates the users never holds a
+ * password or authorities which were changed already.
+ */
+@Service
+public class UserCacheService {
+
+    private final UserRepository userRepository;
+
+    private final CacheWarmUpService cacheWarmUpService;
+
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    private final RefreshAheadCache<String, User> usersByLogin;
+
+    private final RefreshAheadCache<String, User> usersByEmail;
+
+    private final TransactionTemplate primaryTransaction;
+
+    public UserCacheService(UserRepository userRepository, CacheWarmUpService cacheWarmUpService,
+                            ObjectProvider<CacheInvalidationBus> cacheInvalidationBus, javax.cache.CacheManager cacheManager,
+                            PlatformTransactionManager transactionManager, @Qualifier("taskExecutor") Executor executor,
+                            ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+        this.primaryTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.cacheWarmUpService = cacheWarmUpService;
+        this.cacheInvalidationBus = cacheInvalidationBus.getIfAvailable();
+        double refreshAheadRatio = applicationProperties.getCache().getUsers().getRefreshAheadRatio();
+        this.usersByLogin = new RefreshAheadCache<>(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE),
+            cacheManager.getCache(UserRepository.UNKNOWN_LOGINS_CACHE), refreshAheadRatio, executor, meterRegistry);
+        this.usersByEmail = new RefreshAheadCache<>(cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE),
+            cacheManager.getCache(UserRepository.UNKNOWN_EMAILS_CACHE), refreshAheadRatio, executor, meterRegistry);
+        cacheWarmUpService.registerLoader(UserRepository.USERS_BY_LOGIN_CACHE, String.class, 1,
+            logins -> logins.forEach(login -> getUserWithAuthoritiesByLogin((String) login)));
+        cacheWarmUpService.registerLoader(UserRepository.USERS_BY_EMAIL_CACHE, String.class, 1,
+            emails -> emails.forEach(email -> getUserWithAuthoritiesByEmail((String) email)));
+    }
+
+    public Optional<User> getUserWithAuthoritiesByLogin(String login) {
+        User user = usersByLogin.get(login, key -> onPrimary(() -> userRepository.findOneWithAuthoritiesByLogin(key).orElse(null)));
+        if (user != null) {
+            cacheWarmUpService.record(UserRepository.USERS_BY_LOGIN_CACHE, login);
+        }
+        return Optional.ofNullable(user);
+    }
+
+    public Optional<User> getUserWithAuthoritiesByEmail(String email) {
+        User user = usersByEmail.get(email, key -> onPrimary(() -> userRepository.findOneWithAuthoritiesByEmail(key).orElse(null)));
+        if (user != null) {
+            cacheWarmUpService.record(UserRepository.USERS_BY_EMAIL_CACHE, email);
+        }
+        return Optional.ofNullable(user);
+    }
+
+    /**
+     * Load a user from the primary database: in the current transaction unless it is read-only, as it may then
+     * read the replica.
+     */
+    private User onPrimary(Supplier<User> load) {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return primaryTransaction.execute(status -> load.get());
+        }
+        return load.get();
+    }
+
+    /**
+     * Evict a user from the caches, after a change.
+     *
+     * @param user the user.
+     */
+    public void evict(User user) {
+        String login = user.getLogin();
+        String email = user.getEmail();
+        usersByLogin.evict(login);
+        usersByEmail.evict(email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    usersByLogin.evict(login);
+                    usersByEmail.evict(email);
+                    broadcastEviction(login, email);
+                }
+            });
+        } else {
+            broadcastEviction(login, email);
+        }
+    }
+
+    private void broadcastEviction(String login, String email) {
+        if (cacheInvalidationBus == null) {
+            return;
+        }
+        if (login != null) {
+            cacheInvalidationBus.evict(UserRepository.USERS_BY_LOGIN_CACHE, login);
+            cacheInvalidationBus.evict(UserRepository.UNKNOWN_LOGINS_CACHE, login);
+        }
+        if (email != null) {
+            cacheInvalidationBus.evict(UserRepository.USERS_BY_EMAIL_CACHE, email);
+            cacheInvalidationBus.evict(UserRepository.UNKNOWN_EMAILS_CACHE, email);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package org.jhipster.blog.service.dto;
+
+/**
+ * A DTO representing the outcome of importing one entry of a bulk import.
+ */
+public class EntryImportResultDTO {
+
+    public static final String CREATED = "created";
+
+    public static final String FAILED = "failed";
+
+    private int index;
+
+    private String status;
+
+    private Long id;
+
+    private String error;
+
+    public EntryImportResultDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    private EntryImportResultDTO(int index, String status, Long id, String error) {
+        this.index = index;
+        this.status = status;
+        this.id = id;
+        this.error = error;
+    }
+
+    public static EntryImportResultDTO created(int index, Long id) {
+        return new EntryImportResultDTO(index, CREATED, id, null);
+    }
+
+    public static EntryImportResultDTO failed(int index, String error) {
+        return new EntryImportResultDTO(index, FAILED, null, error);
+    }
+
+    /**
+     * @return the position of the entry in the imported document, starting at 0.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    @Override
+    public String toString() {
+        return "EntryImportResultDTO{" +
+            "index=" + index +
+            ", status='" + status + '\'' +
+            ", id=" + id +
+            ", error='" + error + '\'' +
+            "}";
+    }
+}
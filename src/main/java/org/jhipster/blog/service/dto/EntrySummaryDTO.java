@@ -0,0 +1,97 @@
+package org.jhipster.blog.service.dto;
+
+import org.jhipster.blog.domain.Tag;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A DTO representing an entry without its content, for list views.
+ */
+public class EntrySummaryDTO {
+
+    private Long id;
+
+    private String title;
+
+    private Instant date;
+
+    private Long blogId;
+
+    private String blogName;
+
+    private Set<Tag> tags = new HashSet<>();
+
+    public EntrySummaryDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public EntrySummaryDTO(Long id, String title, Instant date, Long blogId, String blogName) {
+        this.id = id;
+        this.title = title;
+        this.date = date;
+        this.blogId = blogId;
+        this.blogName = blogName;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public Instant getDate() {
+        return date;
+    }
+
+    public void setDate(Instant date) {
+        this.date = date;
+    }
+
+    public Long getBlogId() {
+        return blogId;
+    }
+
+    public void setBlogId(Long blogId) {
+        this.blogId = blogId;
+    }
+
+    public String getBlogName() {
+        return blogName;
+    }
+
+    public void setBlogName(String blogName) {
+        this.blogName = blogName;
+    }
+
+    public Set<Tag> getTags() {
+        return tags;
+    }
+
+    public void setTags(Set<Tag> tags) {
+        this.tags = tags;
+    }
+
+    @Override
+    public String toString() {
+        return "EntrySummaryDTO{" +
+            "id=" + id +
+            ", title='" + title + '\'' +
+            ", date=" + date +
+            ", blogId=" + blogId +
+            ", blogName='" + blogName + '\'' +
+            ", tags=" + tags +
+            "}";
+    }
+}
@@ -0,0 +1,46 @@
+package org.jhipster.blog.service.dto;
+
+import org.jhipster.blog.domain.Blog;
+
+/**
+ * A DTO representing a blog in the public view, without its owner.
+ */
+public class PublicBlogDTO {
+
+    private String name;
+
+    private String handle;
+
+    public PublicBlogDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public PublicBlogDTO(Blog blog) {
+        this.name = blog.getName();
+        this.handle = blog.getHandle();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getHandle() {
+        return handle;
+    }
+
+    public void setHandle(String handle) {
+        this.handle = handle;
+    }
+
+    @Override
+    public String toString() {
+        return "PublicBlogDTO{" +
+            "name='" + name + "'" +
+            ", handle='" + handle + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,96 @@
+package org.jhipster.blog.service.dto;
+
+import org.jhipster.blog.domain.Entry;
+import org.jhipster.blog.domain.Tag;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * A DTO representing an entry in the public view of its blog, with its content rendered to HTML and the names of its tags.
+ */
+public class PublicEntryDTO {
+
+    private Long id;
+
+    private String title;
+
+    private String content;
+
+    private String html;
+
+    private Instant date;
+
+    private List<String> tags;
+
+    public PublicEntryDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public PublicEntryDTO(Entry entry, String html) {
+        this.id = entry.getId();
+        this.title = entry.getTitle();
+        this.content = entry.getContent();
+        this.html = html;
+        this.date = entry.getDate();
+        this.tags = entry.getTags().stream().map(Tag::getName).sorted().collect(Collectors.toList());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+    }
+
+    public String getHtml() {
+        return html;
+    }
+
+    public void setHtml(String html) {
+        this.html = html;
+    }
+
+    public Instant getDate() {
+        return date;
+    }
+
+    public void setDate(Instant date) {
+        this.date = date;
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+
+    public void setTags(List<String> tags) {
+        this.tags = tags;
+    }
+
+    @Override
+    public String toString() {
+        return "PublicEntryDTO{" +
+            "id=" + id +
+            ", title='" + title + "'" +
+            ", date='" + date + "'" +
+            "}";
+    }
+}
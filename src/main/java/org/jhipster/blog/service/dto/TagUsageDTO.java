@@ -0,0 +1,56 @@
+package org.jhipster.blog.service.dto;
+
+/**
+ * A DTO representing a tag with the number of entries using it, for the tag cloud.
+ */
+public class TagUsageDTO {
+
+    private Long id;
+
+    private String name;
+
+    private long count;
+
+    public TagUsageDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public TagUsageDTO(Long id, String name, long count) {
+        this.id = id;
+        this.name = name;
+        this.count = count;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    @Override
+    public String toString() {
+        return "TagUsageDTO{" +
+            "id=" + id +
+            ", name='" + name + "'" +
+            ", count=" + count +
+            "}";
+    }
+}
@@ -0,0 +1,41 @@
+package org.jhipster.blog.service.search;
+
+/**
+ * The searchable fields of an entry, as read from the database.
+ */
+public class EntryDocument {
+
+    private final Long id;
+
+    private final String title;
+
+    private final String content;
+
+    private final String owner;
+
+    public EntryDocument(Long id, String title, String content, String owner) {
+        this.id = id;
+        this.title = title;
+        this.content = content;
+        this.owner = owner;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    /**
+     * @return the login of the owner of the blog of the entry, or {@code null} if the entry has no blog.
+     */
+    public String getOwner() {
+        return owner;
+    }
+}
@@ -0,0 +1,130 @@
+package org.jhipster.blog.service.search;
+
+import org.jhipster.blog.domain.Entry;
+import org.jhipster.blog.repository.EntryRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Service for searching entries with an in-memory {@link InvertedIndex}.
+ * <p>
+ * The index is rebuilt from the database on startup, and kept up to date with the entries saved and deleted
+ * through the REST API. Updates made while a rebuild is running are replayed on the rebuilt index.
+ */
+@Service
+public class EntrySearchService {
+
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final Logger log = LoggerFactory.getLogger(EntrySearchService.class);
+
+    private final EntryRepository entryRepository;
+
+    private final Object updateLock = new Object();
+
+    private volatile InvertedIndex index = new InvertedIndex();
+
+    // Guarded by updateLock, not null while a rebuild is running
+    private List<Consumer<InvertedIndex>> pendingUpdates;
+
+    public EntrySearchService(EntryRepository entryRepository) {
+        this.entryRepository = entryRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuild();
+    }
+
+    /**
+     * Rebuild the index from the database.
+     * <p>
+     * Entries are read in batches ordered by id, and each batch is analyzed in parallel.
+     */
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        synchronized (updateLock) {
+            pendingUpdates = new ArrayList<>();
+        }
+        InvertedIndex rebuilt = new InvertedIndex();
+        try {
+            Long after = Long.MIN_VALUE;
+            List<EntryDocument> batch;
+            do {
+                batch = entryRepository.findSearchDocumentsAfter(after, PageRequest.of(0, REBUILD_BATCH_SIZE));
+                batch.parallelStream()
+                    .map(InvertedIndex::analyze)
+                    .collect(Collectors.toList())
+                    .forEach(rebuilt::add);
+                if (!batch.isEmpty()) {
+                    after = batch.get(batch.size() - 1).getId();
+                }
+            } while (batch.size() == REBUILD_BATCH_SIZE);
+        } finally {
+            synchronized (updateLock) {
+                pendingUpdates.forEach(update -> update.accept(rebuilt));
+                pendingUpdates = null;
+                index = rebuilt;
+            }
+        }
+        log.info("Search index rebuilt with {} entries in {} ms", rebuilt.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Index an entry, replacing its previous version.
+     *
+     * @param entry the saved entry.
+     */
+    public void index(Entry entry) {
+        String owner = entry.getBlog() != null && entry.getBlog().getUser() != null ?
+            entry.getBlog().getUser().getLogin() : null;
+        InvertedIndex.AnalyzedDocument document =
+            InvertedIndex.analyze(new EntryDocument(entry.getId(), entry.getTitle(), entry.getContent(), owner));
+        update(target -> target.add(document));
+    }
+
+    /**
+     * Remove an entry from the index.
+     *
+     * @param id the id of the deleted entry.
+     */
+    public void remove(Long id) {
+        update(target -> target.remove(id));
+    }
+
+    /**
+     * Search the entries of a user, best matches first.
+     *
+     * @param query the query.
+     * @param login the login of the owner of the entries.
+     * @param pageable the pagination information.
+     * @return the page of matching entry ids.
+     */
+    public Page<Long> search(String query, String login, Pageable pageable) {
+        log.debug("Request to search Entries of {} for : {}", login, query);
+        InvertedIndex.Hits hits = index.search(query, login, (int) pageable.getOffset(), pageable.getPageSize());
+        return new PageImpl<>(hits.getEntryIds(), pageable, hits.getTotal());
+    }
+
+    private void update(Consumer<InvertedIndex> update) {
+        synchronized (updateLock) {
+            update.accept(index);
+            if (pendingUpdates != null) {
+                pendingUpdates.add(update);
+            }
+        }
+    }
+}
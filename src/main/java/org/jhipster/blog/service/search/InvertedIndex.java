@@ -0,0 +1,411 @@
+package org.jhipster.blog.service.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * An in-memory inverted index over the title and content of entries, scored with BM25.
+ * <p>
+ * Documents are numbered in insertion order, so every postings list is sorted by document number and queries are
+ * evaluated document-at-a-time by merging the postings lists of their terms. Postings are partitioned by owner, and
+ * so are the statistics used for scoring: a search only walks the entries of the searching user, whatever the size
+ * of the whole index. Entries without owner are never found, so their terms are not indexed. Updating an entry
+ * appends a new document and marks the previous one as deleted; the index is compacted once deleted documents
+ * outnumber live ones.
+ * <p>
+ * This class is thread-safe: searches share a read lock and updates take the write lock.
+ */
+public class InvertedIndex {
+
+    static final float K1 = 1.2f;
+
+    static final float B = 0.75f;
+
+    /**
+     * A term found in the title counts as many times as this in the content.
+     */
+    static final int TITLE_WEIGHT = 3;
+
+    private static final int NO_OWNER = -1;
+
+    private static final int MIN_COMPACTION_SIZE = 1024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final List<Partition> partitions = new ArrayList<>();
+
+    private final Map<Long, Integer> docsByEntryId = new HashMap<>();
+
+    private final Map<String, Integer> ownerIds = new HashMap<>();
+
+    private final BitSet deleted = new BitSet();
+
+    private long[] entryIds = new long[16];
+
+    private int[] owners = new int[16];
+
+    private int[] lengths = new int[16];
+
+    private int maxDoc;
+
+    private int liveDocs;
+
+    /**
+     * Analyze an entry into the terms to index. This does not touch the index, so it can run in parallel.
+     *
+     * @param document the entry to analyze.
+     * @return the analyzed document.
+     */
+    public static AnalyzedDocument analyze(EntryDocument document) {
+        Map<String, int[]> frequencies = new HashMap<>();
+        int length = 0;
+        for (String term : Tokenizer.tokenize(document.getTitle())) {
+            frequencies.computeIfAbsent(term, t -> new int[1])[0] += TITLE_WEIGHT;
+            length += TITLE_WEIGHT;
+        }
+        for (String term : Tokenizer.tokenize(document.getContent())) {
+            frequencies.computeIfAbsent(term, t -> new int[1])[0]++;
+            length++;
+        }
+        String[] terms = new String[frequencies.size()];
+        int[] termFrequencies = new int[frequencies.size()];
+        int i = 0;
+        for (Map.Entry<String, int[]> frequency : frequencies.entrySet()) {
+            terms[i] = frequency.getKey();
+            termFrequencies[i] = frequency.getValue()[0];
+            i++;
+        }
+        return new AnalyzedDocument(document.getId(), document.getOwner(), terms, termFrequencies, length);
+    }
+
+    /**
+     * Add a document to the index, replacing the previous version of the same entry.
+     *
+     * @param document the analyzed document.
+     */
+    public void add(AnalyzedDocument document) {
+        lock.writeLock().lock();
+        try {
+            delete(document.entryId);
+            int doc = maxDoc++;
+            ensureCapacity(maxDoc);
+            entryIds[doc] = document.entryId;
+            lengths[doc] = document.length;
+            if (document.owner == null) {
+                owners[doc] = NO_OWNER;
+            } else {
+                int owner = ownerIds.computeIfAbsent(document.owner, o -> {
+                    partitions.add(new Partition());
+                    return partitions.size() - 1;
+                });
+                owners[doc] = owner;
+                Partition partition = partitions.get(owner);
+                for (int i = 0; i < document.terms.length; i++) {
+                    partition.postingsByTerm.computeIfAbsent(document.terms[i], t -> new Postings()).add(doc, document.frequencies[i]);
+                }
+                partition.liveDocs++;
+                partition.liveLength += document.length;
+            }
+            docsByEntryId.put(document.entryId, doc);
+            liveDocs++;
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove an entry from the index.
+     *
+     * @param entryId the id of the entry.
+     */
+    public void remove(Long entryId) {
+        lock.writeLock().lock();
+        try {
+            delete(entryId);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return the number of live documents in the index.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveDocs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Search the entries of an owner.
+     *
+     * @param query the query, whose terms are combined with OR.
+     * @param owner the login of the owner of the entries to search.
+     * @param offset the number of best hits to skip.
+     * @param limit the maximum number of hits to return.
+     * @return the hits, best first.
+     */
+    public Hits search(String query, String owner, int offset, int limit) {
+        Set<String> terms = new LinkedHashSet<>(Tokenizer.tokenize(query));
+        lock.readLock().lock();
+        try {
+            Integer ownerId = owner == null ? null : ownerIds.get(owner);
+            Partition partition = ownerId == null ? null : partitions.get(ownerId);
+            if (partition == null || terms.isEmpty() || partition.liveDocs == 0) {
+                return new Hits(0, Collections.emptyList());
+            }
+            List<Postings> lists = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                Postings postings = partition.postingsByTerm.get(term);
+                if (postings != null) {
+                    lists.add(postings);
+                }
+            }
+            return collect(lists, partition, offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Hits collect(List<Postings> lists, Partition partition, int offset, int limit) {
+        int termCount = lists.size();
+        int[] cursors = new int[termCount];
+        float[] idfs = new float[termCount];
+        for (int i = 0; i < termCount; i++) {
+            int documentFrequency = lists.get(i).size;
+            idfs[i] = (float) Math.log(1 + (partition.liveDocs - documentFrequency + 0.5) / (documentFrequency + 0.5));
+        }
+        float averageLength = Math.max(1f, (float) partition.liveLength / partition.liveDocs);
+        int wanted = offset + limit;
+        // Min-heap on the score: the root is the worst of the best hits found so far
+        PriorityQueue<long[]> best = new PriorityQueue<>(Math.max(1, Math.min(wanted, 1024)), InvertedIndex::compareHits);
+        int total = 0;
+        while (true) {
+            int doc = Integer.MAX_VALUE;
+            for (int i = 0; i < termCount; i++) {
+                Postings postings = lists.get(i);
+                if (cursors[i] < postings.size && postings.docs[cursors[i]] < doc) {
+                    doc = postings.docs[cursors[i]];
+                }
+            }
+            if (doc == Integer.MAX_VALUE) {
+                break;
+            }
+            boolean matches = !deleted.get(doc);
+            float normalization = K1 * (1 - B + B * lengths[doc] / averageLength);
+            float score = 0;
+            for (int i = 0; i < termCount; i++) {
+                Postings postings = lists.get(i);
+                if (cursors[i] < postings.size && postings.docs[cursors[i]] == doc) {
+                    if (matches) {
+                        int frequency = postings.frequencies[cursors[i]];
+                        score += idfs[i] * frequency * (K1 + 1) / (frequency + normalization);
+                    }
+                    cursors[i]++;
+                }
+            }
+            if (!matches) {
+                continue;
+            }
+            total++;
+            if (wanted > 0) {
+                long[] hit = {Float.floatToIntBits(score), doc};
+                if (best.size() < wanted) {
+                    best.add(hit);
+                } else if (compareHits(hit, best.peek()) > 0) {
+                    best.poll();
+                    best.add(hit);
+                }
+            }
+        }
+        long[][] sorted = best.toArray(new long[0][]);
+        Arrays.sort(sorted, (a, b) -> compareHits(b, a));
+        List<Long> ids = new ArrayList<>(Math.max(0, sorted.length - offset));
+        for (int i = offset; i < sorted.length; i++) {
+            ids.add(entryIds[(int) sorted[i][1]]);
+        }
+        return new Hits(total, ids);
+    }
+
+    /**
+     * Order hits by score, then by document number so that newer entries win ties.
+     */
+    private static int compareHits(long[] a, long[] b) {
+        int byScore = Float.compare(Float.intBitsToFloat((int) a[0]), Float.intBitsToFloat((int) b[0]));
+        return byScore != 0 ? byScore : Long.compare(a[1], b[1]);
+    }
+
+    private void delete(Long entryId) {
+        Integer doc = docsByEntryId.remove(entryId);
+        if (doc != null) {
+            deleted.set(doc);
+            liveDocs--;
+            if (owners[doc] != NO_OWNER) {
+                Partition partition = partitions.get(owners[doc]);
+                partition.liveDocs--;
+                partition.liveLength -= lengths[doc];
+            }
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > entryIds.length) {
+            int newLength = Math.max(capacity, entryIds.length * 2);
+            entryIds = Arrays.copyOf(entryIds, newLength);
+            owners = Arrays.copyOf(owners, newLength);
+            lengths = Arrays.copyOf(lengths, newLength);
+        }
+    }
+
+    private void compactIfNeeded() {
+        if (maxDoc - liveDocs > Math.max(liveDocs, MIN_COMPACTION_SIZE)) {
+            compact();
+        }
+    }
+
+    /**
+     * Renumber the live documents and drop the deleted ones from every postings list.
+     */
+    private void compact() {
+        int[] newDocs = new int[maxDoc];
+        int next = 0;
+        for (int doc = 0; doc < maxDoc; doc++) {
+            if (deleted.get(doc)) {
+                newDocs[doc] = -1;
+            } else {
+                newDocs[doc] = next;
+                entryIds[next] = entryIds[doc];
+                owners[next] = owners[doc];
+                lengths[next] = lengths[doc];
+                docsByEntryId.put(entryIds[next], next);
+                next++;
+            }
+        }
+        for (Partition partition : partitions) {
+            Iterator<Postings> iterator = partition.postingsByTerm.values().iterator();
+            while (iterator.hasNext()) {
+                Postings postings = iterator.next();
+                postings.renumber(newDocs);
+                if (postings.size == 0) {
+                    iterator.remove();
+                }
+            }
+        }
+        maxDoc = next;
+        deleted.clear();
+    }
+
+    /**
+     * The postings lists of the entries of an owner, with the statistics of these entries.
+     */
+    private static final class Partition {
+
+        private final Map<String, Postings> postingsByTerm = new HashMap<>();
+
+        private int liveDocs;
+
+        private long liveLength;
+    }
+
+    /**
+     * The postings list of a term: the documents containing it, in increasing order, with the term frequencies.
+     */
+    private static final class Postings {
+
+        private int[] docs = new int[4];
+
+        private int[] frequencies = new int[4];
+
+        private int size;
+
+        void add(int doc, int frequency) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            docs[size] = doc;
+            frequencies[size] = frequency;
+            size++;
+        }
+
+        void renumber(int[] newDocs) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int doc = newDocs[docs[i]];
+                if (doc >= 0) {
+                    docs[kept] = doc;
+                    frequencies[kept] = frequencies[i];
+                    kept++;
+                }
+            }
+            size = kept;
+        }
+    }
+
+    /**
+     * An entry analyzed into its distinct terms and their frequencies.
+     */
+    public static final class AnalyzedDocument {
+
+        private final Long entryId;
+
+        private final String owner;
+
+        private final String[] terms;
+
+        private final int[] frequencies;
+
+        private final int length;
+
+        AnalyzedDocument(Long entryId, String owner, String[] terms, int[] frequencies, int length) {
+            this.entryId = entryId;
+            this.owner = owner;
+            this.terms = terms;
+            this.frequencies = frequencies;
+            this.length = length;
+        }
+
+        public Long getEntryId() {
+            return entryId;
+        }
+    }
+
+    /**
+     * The result of a search: the total number of matching entries and the ids of the requested hits.
+     */
+    public static final class Hits {
+
+        private final long total;
+
+        private final List<Long> entryIds;
+
+        Hits(long total, List<Long> entryIds) {
+            this.total = total;
+            this.entryIds = entryIds;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+
+        public List<Long> getEntryIds() {
+            return entryIds;
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package org.jhipster.blog.service.search;
+
+import org.jhipster.blog.domain.Tag;
+import org.jhipster.blog.service.dto.TagUsageDTO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * An immutable index of tag names, suggesting the most used tags starting with a prefix.
+ * <p>
+ * Tags are sorted by normalized name, so the tags matching a prefix form a range found with two binary searches.
+ * A segment tree over the usage counts gives the most used tag of any range in {@code O(log n)}; the best
+ * {@code k} tags of a range are found by repeatedly splitting it around its most used tag, in {@code O(k log n)}
+ * whatever the size of the range.
+ * <p>
+ * This class is thread-safe, as it is immutable.
+ */
+public final class TagSuggestionIndex {
+
+    private static final TagSuggestionIndex EMPTY = build(Collections.emptyList());
+
+    private final String[] keys;
+
+    private final long[] ids;
+
+    private final String[] names;
+
+    private final long[] counts;
+
+    /**
+     * The segment tree: the leaves hold the tag indexes, and every node the index of the most used tag below it.
+     */
+    private final int[] tree;
+
+    private final int leaves;
+
+    private TagSuggestionIndex(String[] keys, long[] ids, String[] names, long[] counts) {
+        this.keys = keys;
+        this.ids = ids;
+        this.names = names;
+        this.counts = counts;
+        int size = 1;
+        while (size < keys.length) {
+            size <<= 1;
+        }
+        this.leaves = size;
+        this.tree = new int[2 * size];
+        Arrays.fill(tree, -1);
+        for (int i = 0; i < keys.length; i++) {
+            tree[size + i] = i;
+        }
+        for (int node = size - 1; node > 0; node--) {
+            tree[node] = best(tree[2 * node], tree[2 * node + 1]);
+        }
+    }
+
+    /**
+     * @return an index without tags.
+     */
+    public static TagSuggestionIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Build an index.
+     *
+     * @param tags the tags with their number of entries.
+     * @return the index.
+     */
+    public static TagSuggestionIndex build(Collection<TagUsageDTO> tags) {
+        TagUsageDTO[] sorted = tags.stream()
+            .filter(tag -> tag.getName() != null)
+            .toArray(TagUsageDTO[]::new);
+        String[] keys = new String[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            keys[i] = Tag.normalizeName(sorted[i].getName());
+        }
+        Integer[] order = new Integer[sorted.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparing((Integer i) -> keys[i]).thenComparing(i -> sorted[i].getId()));
+        String[] sortedKeys = new String[sorted.length];
+        long[] ids = new long[sorted.length];
+        String[] names = new String[sorted.length];
+        long[] counts = new long[sorted.length];
+        for (int i = 0; i < order.length; i++) {
+            TagUsageDTO tag = sorted[order[i]];
+            sortedKeys[i] = keys[order[i]];
+            ids[i] = tag.getId();
+            // Share the string when the name is already normalized
+            names[i] = tag.getName().equals(sortedKeys[i]) ? sortedKeys[i] : tag.getName();
+            counts[i] = tag.getCount();
+        }
+        return new TagSuggestionIndex(sortedKeys, ids, names, counts);
+    }
+
+    /**
+     * @return the number of tags in the index.
+     */
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * Suggest tags starting with a prefix.
+     *
+     * @param prefix the prefix of the tag names, whatever its case.
+     * @param limit the maximum number of tags to return.
+     * @return the matching tags, most used first, and in alphabetical order for equal usage.
+     */
+    public List<TagUsageDTO> suggest(String prefix, int limit) {
+        String key = Tag.normalizeName(prefix);
+        int from = lowerBound(key);
+        int to = endOfPrefix(key, from);
+        if (from == to || limit < 1) {
+            return Collections.emptyList();
+        }
+        List<TagUsageDTO> suggestions = new ArrayList<>(Math.min(limit, to - from));
+        // Ranges of tags, ordered by their most used tag
+        PriorityQueue<int[]> ranges = new PriorityQueue<>((a, b) -> a[2] == b[2] ? 0 : best(a[2], b[2]) == a[2] ? -1 : 1);
+        ranges.add(new int[]{from, to, query(from, to)});
+        while (suggestions.size() < limit && !ranges.isEmpty()) {
+            int[] range = ranges.poll();
+            int tag = range[2];
+            suggestions.add(new TagUsageDTO(ids[tag], names[tag], counts[tag]));
+            if (range[0] < tag) {
+                ranges.add(new int[]{range[0], tag, query(range[0], tag)});
+            }
+            if (tag + 1 < range[1]) {
+                ranges.add(new int[]{tag + 1, range[1], query(tag + 1, range[1])});
+            }
+        }
+        return suggestions;
+    }
+
+    /**
+     * @return the index of the first key not lower than the given one.
+     */
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (keys[middle].compareTo(key) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @return the index of the first key from {@code from} which does not start with the prefix.
+     */
+    private int endOfPrefix(String prefix, int from) {
+        int low = from;
+        int high = keys.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (keys[middle].startsWith(prefix)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @return the index of the most used tag in {@code [from, to)}.
+     */
+    private int query(int from, int to) {
+        int result = -1;
+        for (int low = from + leaves, high = to + leaves; low < high; low >>= 1, high >>= 1) {
+            if ((low & 1) == 1) {
+                result = best(result, tree[low++]);
+            }
+            if ((high & 1) == 1) {
+                result = best(result, tree[--high]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return the more used of two tags, the first in alphabetical order if they are used as much.
+     */
+    private int best(int a, int b) {
+        if (a < 0) {
+            return b;
+        }
+        if (b < 0) {
+            return a;
+        }
+        if (counts[a] != counts[b]) {
+            return counts[a] > counts[b] ? a : b;
+        }
+        return a < b ? a : b;
+    }
+}
@@ -0,0 +1,84 @@
+package org.jhipster.blog.service.search;
+
+import org.jhipster.blog.service.TagUsageService;
+import org.jhipster.blog.service.dto.TagUsageDTO;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Service suggesting tags while they are typed, with an in-memory {@link TagSuggestionIndex}.
+ * <p>
+ * The index is built from the tag counts kept in memory by {@link TagUsageService}, without querying the database.
+ * It is built on startup, and rebuilt in the background shortly after tags are created, renamed or deleted, so that
+ * a burst of changes costs a single rebuild. It is also rebuilt periodically, to rank the tags by their current
+ * usage.
+ */
+@Service
+public class TagSuggestionService {
+
+    private final Logger log = LoggerFactory.getLogger(TagSuggestionService.class);
+
+    private final TagUsageService tagUsageService;
+
+    private final AtomicBoolean changed = new AtomicBoolean();
+
+    private volatile TagSuggestionIndex index = TagSuggestionIndex.empty();
+
+    public TagSuggestionService(TagUsageService tagUsageService) {
+        this.tagUsageService = tagUsageService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuild();
+    }
+
+    /**
+     * Rebuild the index from the current tag counts.
+     */
+    @Scheduled(fixedDelayString = "#{${application.tag-suggestion.refresh-interval-in-seconds:300} * 1000}",
+        initialDelayString = "#{${application.tag-suggestion.refresh-interval-in-seconds:300} * 1000}")
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        changed.set(false);
+        TagSuggestionIndex rebuilt = TagSuggestionIndex.build(tagUsageService.getUsages());
+        index = rebuilt;
+        log.debug("Tag suggestion index rebuilt with {} tags in {} ms", rebuilt.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Rebuild the index if tags were changed since the last rebuild.
+     */
+    @Scheduled(fixedDelayString = "${application.tag-suggestion.rebuild-delay-in-millis:1000}")
+    public void rebuildIfChanged() {
+        if (changed.get()) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Schedule a rebuild of the index, after tags were created, renamed or deleted.
+     */
+    public void tagsChanged() {
+        changed.set(true);
+    }
+
+    /**
+     * Suggest tags starting with a prefix.
+     *
+     * @param prefix the prefix of the tag names, whatever its case.
+     * @param limit the maximum number of tags to return.
+     * @return the matching tags, most used first.
+     */
+    public List<TagUsageDTO> suggest(String prefix, int limit) {
+        return index.suggest(prefix, limit);
+    }
+}
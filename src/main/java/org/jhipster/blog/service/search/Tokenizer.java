@@ -0,0 +1,46 @@
+package org.jhipster.blog.service.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Splits text into lower-cased terms made of letters and digits.
+ */
+public final class Tokenizer {
+
+    static final int MIN_TERM_LENGTH = 2;
+
+    static final int MAX_TERM_LENGTH = 64;
+
+    private Tokenizer() {
+    }
+
+    /**
+     * Tokenize a text.
+     *
+     * @param text the text, may be {@code null}.
+     * @return the terms of the text, in order and with duplicates.
+     */
+    public static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        int length = text.length();
+        int start = -1;
+        for (int i = 0; i <= length; i++) {
+            boolean partOfTerm = i < length && Character.isLetterOrDigit(text.charAt(i));
+            if (partOfTerm && start < 0) {
+                start = i;
+            } else if (!partOfTerm && start >= 0) {
+                int termLength = i - start;
+                if (termLength >= MIN_TERM_LENGTH && termLength <= MAX_TERM_LENGTH) {
+                    terms.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                }
+                start = -1;
+            }
+        }
+        return terms;
+    }
+}
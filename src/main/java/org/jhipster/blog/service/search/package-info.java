@@ -0,0 +1,4 @@
+/**
+ * In-memory full-text search over entries, and tag suggestions.
+ */
+package org.jhipster.blog.service.search;
@@ -0,0 +1,169 @@
+package org.jhipster.blog.service.util;
+
+import org.jhipster.blog.domain.Blog;
+import org.jhipster.blog.domain.Entry;
+import org.jhipster.blog.domain.Tag;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Utility class for writing the feed of a blog, as Atom or RSS 2.0.
+ * <p>
+ * Feeds are streamed with StAX, and only depend on the blog and its entries: rendering the same entries
+ * twice gives the same bytes, so the entity tag of a feed can be derived from its content. The content of
+ * entries is written as escaped HTML, as both formats expect.
+ */
+public final class FeedWriter {
+
+    private static final String ATOM_NAMESPACE = "http://www.w3.org/2005/Atom";
+
+    private static final DateTimeFormatter RFC_822 = DateTimeFormatter.RFC_1123_DATE_TIME.withZone(ZoneOffset.UTC);
+
+    private static final XMLOutputFactory OUTPUT_FACTORY = XMLOutputFactory.newFactory();
+
+    /**
+     * The formats of feeds.
+     */
+    public enum Format {
+        ATOM("application/atom+xml;charset=UTF-8"),
+        RSS("application/rss+xml;charset=UTF-8");
+
+        private final String contentType;
+
+        Format(String contentType) {
+            this.contentType = contentType;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+    }
+
+    private FeedWriter() {
+    }
+
+    /**
+     * Write the feed of a blog.
+     *
+     * @param output the stream to write to, which is not closed.
+     * @param format the format of the feed.
+     * @param blog the blog.
+     * @param entries the entries of the blog with their tags, newest first.
+     * @param html the function giving the HTML of the content of an entry.
+     * @param blogUrl the URL of the public view of the blog, from which the feed and entry ids are derived.
+     * @throws XMLStreamException if the feed cannot be written.
+     */
+    public static void write(OutputStream output, Format format, Blog blog, List<Entry> entries, Function<Entry, String> html,
+                             String blogUrl) throws XMLStreamException {
+        XMLStreamWriter writer = OUTPUT_FACTORY.createXMLStreamWriter(output, StandardCharsets.UTF_8.name());
+        try {
+            writer.writeStartDocument(StandardCharsets.UTF_8.name(), "1.0");
+            if (format == Format.ATOM) {
+                writeAtom(writer, blog, entries, html, blogUrl);
+            } else {
+                writeRss(writer, blog, entries, html, blogUrl);
+            }
+            writer.writeEndDocument();
+            writer.flush();
+        } finally {
+            writer.close();
+        }
+    }
+
+    private static void writeAtom(XMLStreamWriter writer, Blog blog, List<Entry> entries, Function<Entry, String> html,
+                                  String blogUrl) throws XMLStreamException {
+        writer.setDefaultNamespace(ATOM_NAMESPACE);
+        writer.writeStartElement(ATOM_NAMESPACE, "feed");
+        writer.writeDefaultNamespace(ATOM_NAMESPACE);
+        writeElement(writer, "id", blogUrl);
+        writeElement(writer, "title", blog.getName());
+        writeElement(writer, "updated", DateTimeFormatter.ISO_INSTANT.format(updated(entries)));
+        writer.writeEmptyElement("link");
+        writer.writeAttribute("rel", "self");
+        writer.writeAttribute("type", "application/atom+xml");
+        writer.writeAttribute("href", blogUrl + "/feed.xml");
+        writer.writeStartElement("author");
+        writeElement(writer, "name", blog.getName());
+        writer.writeEndElement();
+        for (Entry entry : entries) {
+            writer.writeStartElement("entry");
+            writeElement(writer, "id", entryId(blogUrl, entry));
+            writeElement(writer, "title", entry.getTitle());
+            writeElement(writer, "published", DateTimeFormatter.ISO_INSTANT.format(entry.getDate()));
+            writeElement(writer, "updated", DateTimeFormatter.ISO_INSTANT.format(entry.getDate()));
+            for (String tag : tagNames(entry)) {
+                writer.writeEmptyElement("category");
+                writer.writeAttribute("term", tag);
+            }
+            writer.writeStartElement("content");
+            writer.writeAttribute("type", "html");
+            writer.writeCharacters(html.apply(entry));
+            writer.writeEndElement();
+            writer.writeEndElement();
+        }
+        writer.writeEndElement();
+    }
+
+    private static void writeRss(XMLStreamWriter writer, Blog blog, List<Entry> entries, Function<Entry, String> html,
+                                 String blogUrl) throws XMLStreamException {
+        writer.writeStartElement("rss");
+        writer.writeAttribute("version", "2.0");
+        writer.writeStartElement("channel");
+        writeElement(writer, "title", blog.getName());
+        writeElement(writer, "link", blogUrl);
+        writeElement(writer, "description", blog.getName());
+        writeElement(writer, "lastBuildDate", RFC_822.format(updated(entries)));
+        for (Entry entry : entries) {
+            writer.writeStartElement("item");
+            writeElement(writer, "title", entry.getTitle());
+            writer.writeStartElement("guid");
+            writer.writeAttribute("isPermaLink", "false");
+            writer.writeCharacters(entryId(blogUrl, entry));
+            writer.writeEndElement();
+            writeElement(writer, "pubDate", RFC_822.format(entry.getDate()));
+            for (String tag : tagNames(entry)) {
+                writeElement(writer, "category", tag);
+            }
+            writeElement(writer, "description", html.apply(entry));
+            writer.writeEndElement();
+        }
+        writer.writeEndElement();
+        writer.writeEndElement();
+    }
+
+    private static void writeElement(XMLStreamWriter writer, String name, String text) throws XMLStreamException {
+        writer.writeStartElement(name);
+        writer.writeCharacters(text);
+        writer.writeEndElement();
+    }
+
+    /**
+     * The date of the latest entry, so that the feed does not change until its entries do.
+     *
+     * @param entries the entries of the feed.
+     * @return the date of the latest entry, or the epoch when there are none.
+     */
+    public static Instant updated(List<Entry> entries) {
+        return entries.stream().map(Entry::getDate).filter(Objects::nonNull).max(Comparator.naturalOrder()).orElse(Instant.EPOCH);
+    }
+
+    private static String entryId(String blogUrl, Entry entry) {
+        return blogUrl + "#entry-" + entry.getId();
+    }
+
+    private static List<String> tagNames(Entry entry) {
+        return entry.getTags().stream().map(Tag::getName).sorted().collect(Collectors.toList());
+    }
+}
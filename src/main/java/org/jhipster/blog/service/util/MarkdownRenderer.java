@@ -0,0 +1,38 @@
+package org.jhipster.blog.service.util;
+
+import org.commonmark.parser.Parser;
+import org.commonmark.renderer.html.HtmlRenderer;
+
+/**
+ * Utility class for rendering the Markdown content of entries to HTML.
+ * <p>
+ * The HTML is safe to embed in a page: raw HTML in the Markdown is escaped rather than passed through, and
+ * link and image URLs with a scheme other than {@code http}, {@code https}, {@code mailto} and {@code data}
+ * are dropped, and links get {@code rel="nofollow"}. The parser and the renderer are immutable, so rendering is
+ * thread-safe.
+ */
+public final class MarkdownRenderer {
+
+    private static final Parser PARSER = Parser.builder().build();
+
+    private static final HtmlRenderer RENDERER = HtmlRenderer.builder()
+        .escapeHtml(true)
+        .sanitizeUrls(true)
+        .build();
+
+    private MarkdownRenderer() {
+    }
+
+    /**
+     * Render Markdown to sanitized HTML.
+     *
+     * @param markdown the Markdown to render.
+     * @return the HTML.
+     */
+    public static String render(String markdown) {
+        if (markdown == null) {
+            return "";
+        }
+        return RENDERER.render(PARSER.parse(markdown));
+    }
+}
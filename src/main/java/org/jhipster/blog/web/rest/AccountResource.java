@@ -4,6 +4,7 @@ package org.jhipster.blog.web.rest;
 import org.jhipster.blog.domain.User;
 import org.jhipster.blog.repository.UserRepository;
 import org.jhipster.blog.security.SecurityUtils;
+import org.jhipster.blog.security.ratelimit.RateLimitService;
 import org.jhipster.blog.service.MailService;
 import org.jhipster.blog.service.UserService;
 import org.jhipster.blog.service.dto.PasswordChangeDTO;
@@ -43,11 +44,15 @@ public class AccountResource {
 
     private final MailService mailService;
 
-    public AccountResource(UserRepository userRepository, UserService userService, MailService mailService) {
+    private final RateLimitService rateLimitService;
+
+    public AccountResource(UserRepository userRepository, UserService userService, MailService mailService,
+                           RateLimitService rateLimitService) {
 
         this.userRepository = userRepository;
         this.userService = userService;
         this.mailService = mailService;
+        this.rateLimitService = rateLimitService;
     }
 
     /**
@@ -148,9 +153,11 @@ public class AccountResource {
      *
      * @param mail the mail of the user.
      * @throws EmailNotFoundException {@code 400 (Bad Request)} if the email address is not registered.
+     * @throws TooManyRequestsException {@code 429 (Too Many Requests)} if too many resets were requested for the email.
      */
     @PostMapping(path = "/account/reset-password/init")
     public void requestPasswordReset(@RequestBody String mail) {
+        rateLimitService.checkLogin(mail);
        mailService.sendPasswordResetMail(
            userService.requestPasswordReset(mail)
                .orElseThrow(EmailNotFoundException::new)
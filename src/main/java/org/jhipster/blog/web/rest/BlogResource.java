@@ -3,13 +3,18 @@ package org.jhipster.blog.web.rest;
 import org.jhipster.blog.domain.Blog;
 import org.jhipster.blog.repository.BlogRepository;
 import org.jhipster.blog.security.SecurityUtils;
+import org.jhipster.blog.service.BlogService;
+import org.jhipster.blog.service.DeleteResult;
+import org.jhipster.blog.service.UpdateResult;
 import org.jhipster.blog.web.rest.errors.BadRequestAlertException;
+import org.jhipster.blog.web.rest.util.ETagUtil;
 
 import io.github.jhipster.web.util.HeaderUtil;
 import io.github.jhipster.web.util.ResponseUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -37,8 +42,11 @@ public class BlogResource {
 
     private final BlogRepository blogRepository;
 
-    public BlogResource(BlogRepository blogRepository) {
+    private final BlogService blogService;
+
+    public BlogResource(BlogRepository blogRepository, BlogService blogService) {
         this.blogRepository = blogRepository;
+        this.blogService = blogService;
     }
 
     /**
@@ -67,25 +75,37 @@ public class BlogResource {
      * {@code PUT  /blogs} : Updates an existing blog.
      *
      * @param blog the blog to update.
+     * @param ifMatch the entity tags of the versions of the blog the client modified.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated blog,
      * or with status {@code 400 (Bad Request)} if the blog is not valid,
+     * or with status {@code 412 (Precondition Failed)} if the blog was modified since,
      * or with status {@code 500 (Internal Server Error)} if the blog couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/blogs")
-    public ResponseEntity<?> updateBlog(@Valid @RequestBody Blog blog) throws URISyntaxException {
+    public ResponseEntity<?> updateBlog(@Valid @RequestBody Blog blog,
+                                        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) throws URISyntaxException {
         log.debug("REST request to update Blog : {}", blog);
         if (blog.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
+        String login = SecurityUtils.getCurrentUserLogin().orElse("");
         if (blog.getUser() != null &&
-            !blog.getUser().getLogin().equals(SecurityUtils.getCurrentUserLogin().orElse(""))) {
+            !blog.getUser().getLogin().equals(login)) {
             return new ResponseEntity<>("error.http.403", HttpStatus.FORBIDDEN);
         }
-        Blog result = blogRepository.save(blog);
-        return ResponseEntity.ok()
-            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, blog.getId().toString()))
-            .body(result);
+        UpdateResult<Blog> update = blogService.update(blog, login,
+            ifMatch == null ? null : version -> ETagUtil.matchesIfMatch(ifMatch, version));
+        if (update.getStatus() == UpdateResult.Status.FORBIDDEN) {
+            return new ResponseEntity<>("error.http.403", HttpStatus.FORBIDDEN);
+        }
+        if (update.getStatus() == UpdateResult.Status.PRECONDITION_FAILED) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
+        Blog result = update.getEntity();
+        HttpHeaders headers = HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, blog.getId().toString());
+        headers.setETag(ETagUtil.toETag(result.getVersion()));
+        return ResponseEntity.ok().headers(headers).body(result);
     }
 
     /**
@@ -103,34 +123,48 @@ public class BlogResource {
      * {@code GET  /blogs/:id} : get the "id" blog.
      *
      * @param id the id of the blog to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the blog, or with status {@code 404 (Not Found)}.
+     * @param ifNoneMatch the entity tags of the versions of the blog the client already has.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the blog, or with status {@code 304 (Not Modified)},
+     * or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/blogs/{id}")
-    public ResponseEntity<?> getBlog(@PathVariable Long id) {
+    public ResponseEntity<?> getBlog(@PathVariable Long id,
+                                     @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.debug("REST request to get Blog : {}", id);
+        String login = SecurityUtils.getCurrentUserLogin().orElse("");
+        if (ifNoneMatch != null) {
+            if (blogRepository.findOwnerLoginById(id).filter(owner -> !owner.equals(login)).isPresent()) {
+                return new ResponseEntity<>("error.http.403", HttpStatus.FORBIDDEN);
+            }
+            Optional<Long> version = blogRepository.findVersionById(id);
+            if (version.filter(v -> ETagUtil.matchesIfNoneMatch(ifNoneMatch, v)).isPresent()) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(ETagUtil.createETagHeaders(version.get())).build();
+            }
+        }
         Optional<Blog> blog = blogRepository.findById(id);
         if (blog.isPresent() && blog.get().getUser() != null &&
-            !blog.get().getUser().getLogin().equals(SecurityUtils.getCurrentUserLogin().orElse(""))) {
+            !blog.get().getUser().getLogin().equals(login)) {
             return new ResponseEntity<>("error.http.403", HttpStatus.FORBIDDEN);
         }
-        return ResponseUtil.wrapOrNotFound(blog);
+        return ResponseUtil.wrapOrNotFound(blog, ETagUtil.createETagHeaders(blog.map(Blog::getVersion).orElse(null)));
     }
 
     /**
      * {@code DELETE  /blogs/:id} : delete the "id" blog.
      *
      * @param id the id of the blog to delete.
-     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)}.
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)}, or with status {@code 404 (Not Found)}.
      */
     @DeleteMapping("/blogs/{id}")
     public ResponseEntity<?> deleteBlog(@PathVariable Long id) {
         log.debug("REST request to delete Blog : {}", id);
-        Optional<Blog> blog = blogRepository.findById(id);
-        if (blog.isPresent() && blog.get().getUser() != null &&
-            !blog.get().getUser().getLogin().equals(SecurityUtils.getCurrentUserLogin().orElse(""))) {
+        DeleteResult result = blogService.delete(id, SecurityUtils.getCurrentUserLogin().orElse(""));
+        if (result == DeleteResult.FORBIDDEN) {
             return new ResponseEntity<>("error.http.403", HttpStatus.FORBIDDEN);
         }
-        blogRepository.deleteById(id);
+        if (result == DeleteResult.NOT_FOUND) {
+            return ResponseEntity.notFound().build();
+        }
         return ResponseEntity.noContent().headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString())).build();
     }
 }
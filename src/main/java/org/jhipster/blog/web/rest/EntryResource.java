@@ -1,9 +1,20 @@
 package org.jhipster.blog.web.rest;
 
 import org.jhipster.blog.domain.Entry;
+import org.jhipster.blog.domain.Tag;
 import org.jhipster.blog.repository.EntryRepository;
 import org.jhipster.blog.security.SecurityUtils;
+import org.jhipster.blog.service.DeleteResult;
+import org.jhipster.blog.service.EntryHtmlService;
+import org.jhipster.blog.service.EntryImportService;
+import org.jhipster.blog.service.EntryService;
+import org.jhipster.blog.service.UpdateResult;
+import org.jhipster.blog.service.dto.EntryImportResultDTO;
+import org.jhipster.blog.service.dto.EntrySummaryDTO;
+import org.jhipster.blog.service.search.EntrySearchService;
 import org.jhipster.blog.web.rest.errors.BadRequestAlertException;
+import org.jhipster.blog.web.rest.util.ETagUtil;
+import org.jhipster.blog.web.rest.util.KeysetPaginationUtil;
 
 import io.github.jhipster.web.util.HeaderUtil;
 import io.github.jhipster.web.util.PaginationUtil;
@@ -12,20 +23,30 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.util.MultiValueMap;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import org.springframework.web.util.UriComponentsBuilder;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * REST controller for managing {@link org.jhipster.blog.domain.Entry}.
@@ -38,13 +59,28 @@ public class EntryResource {
 
     private static final String ENTITY_NAME = "entry";
 
+    static final String NDJSON_VALUE = "application/x-ndjson";
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
     private final EntryRepository entryRepository;
 
-    public EntryResource(EntryRepository entryRepository) {
+    private final EntryService entryService;
+
+    private final EntrySearchService entrySearchService;
+
+    private final EntryImportService entryImportService;
+
+    private final EntryHtmlService entryHtmlService;
+
+    public EntryResource(EntryRepository entryRepository, EntryService entryService, EntrySearchService entrySearchService,
+                         EntryImportService entryImportService, EntryHtmlService entryHtmlService) {
         this.entryRepository = entryRepository;
+        this.entryService = entryService;
+        this.entrySearchService = entrySearchService;
+        this.entryImportService = entryImportService;
+        this.entryHtmlService = entryHtmlService;
     }
 
     /**
@@ -60,7 +96,8 @@ public class EntryResource {
         if (entry.getId() != null) {
             throw new BadRequestAlertException("A new entry cannot already have an ID", ENTITY_NAME, "idexists");
         }
-        Entry result = entryRepository.save(entry);
+        Entry result = entryService.save(entry);
+        entrySearchService.index(result);
         if (entry.getBlog() != null &&
             !entry.getBlog().getUser().getLogin().equals(SecurityUtils.getCurrentUserLogin().orElse(""))) {
             return new ResponseEntity<>("Unauthorized", HttpStatus.UNAUTHORIZED);
@@ -70,80 +107,295 @@ public class EntryResource {
             .body(result);
     }
 
+    /**
+     * {@code POST  /entries/_bulk} : Import new entries in bulk.
+     * <p>
+     * The body is either a JSON array of entries, or an NDJSON stream with one entry per line. Entries must belong
+     * to blogs of the current user, and reference existing tags by id. Each entry is reported on separately, so
+     * invalid entries do not prevent the valid ones from being imported.
+     *
+     * @param request the HTTP request, whose body is read as a stream.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the outcome of the import of every entry.
+     * @throws IOException if the body cannot be read.
+     */
+    @PostMapping(value = "/entries/_bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, NDJSON_VALUE})
+    public ResponseEntity<List<EntryImportResultDTO>> importEntries(HttpServletRequest request) throws IOException {
+        log.debug("REST request to import Entries in bulk");
+        String login = SecurityUtils.getCurrentUserLogin().orElse("");
+        return ResponseEntity.ok(entryImportService.importEntries(request.getInputStream(), login));
+    }
+
     /**
      * {@code PUT  /entries} : Updates an existing entry.
      *
      * @param entry the entry to update.
+     * @param ifMatch the entity tags of the versions of the entry the client modified.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated entry,
      * or with status {@code 400 (Bad Request)} if the entry is not valid,
+     * or with status {@code 412 (Precondition Failed)} if the entry was modified since,
      * or with status {@code 500 (Internal Server Error)} if the entry couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/entries")
-    public ResponseEntity<?> updateEntry(@Valid @RequestBody Entry entry) throws URISyntaxException {
+    public ResponseEntity<?> updateEntry(@Valid @RequestBody Entry entry,
+                                         @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) throws URISyntaxException {
         log.debug("REST request to update Entry : {}", entry);
         if (entry.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
+        String login = SecurityUtils.getCurrentUserLogin().orElse("");
         if (entry.getBlog() != null &&
-            !entry.getBlog().getUser().getLogin().equals(SecurityUtils.getCurrentUserLogin().orElse(""))) {
+            !entry.getBlog().getUser().getLogin().equals(login)) {
             return new ResponseEntity<>("Unauthorized", HttpStatus.UNAUTHORIZED);
         }
-        Entry result = entryRepository.save(entry);
-        return ResponseEntity.ok()
-            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, entry.getId().toString()))
-            .body(result);
+        UpdateResult<Entry> update = entryService.update(entry, login,
+            ifMatch == null ? null : versions -> ETagUtil.matchesIfMatch(ifMatch, toETag(versions)));
+        if (update.getStatus() == UpdateResult.Status.FORBIDDEN) {
+            return new ResponseEntity<>("Unauthorized", HttpStatus.UNAUTHORIZED);
+        }
+        if (update.getStatus() == UpdateResult.Status.PRECONDITION_FAILED) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
+        Entry result = update.getEntity();
+        entrySearchService.index(result);
+        HttpHeaders headers = HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, entry.getId().toString());
+        headers.setETag(toETag(result));
+        return ResponseEntity.ok().headers(headers).body(result);
     }
 
     /**
      * {@code GET  /entries} : get all the entries.
+     * <p>
+     * When the {@code after} parameter is present, keyset pagination is used: an empty value selects the first page,
+     * and the {@code Link} header carries the cursor of the next page. Otherwise offset pagination is used.
      *
      * @param pageable the pagination information.
+     * @param after the cursor of the previous page, for keyset pagination.
      * @param queryParams a {@link MultiValueMap} query parameters.
      * @param uriBuilder a {@link UriComponentsBuilder} URI builder.
      * @param eagerload flag to eager load entities from relationships (This is applicable for many-to-many).
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of entries in body.
      */
     @GetMapping("/entries")
-    public ResponseEntity<List<Entry>> getAllEntries(Pageable pageable, @RequestParam MultiValueMap<String, String> queryParams, UriComponentsBuilder uriBuilder, @RequestParam(required = false, defaultValue = "false") boolean eagerload) {
+    public ResponseEntity<List<Entry>> getAllEntries(Pageable pageable, @RequestParam(name = KeysetPaginationUtil.AFTER_PARAMETER, required = false) String after, @RequestParam MultiValueMap<String, String> queryParams, UriComponentsBuilder uriBuilder, @RequestParam(required = false, defaultValue = "false") boolean eagerload) {
+        if (after != null) {
+            return getEntriesAfter(pageable.getPageSize(), after);
+        }
         log.debug("REST request to get a page of Entries");
-        Page<Entry> page = entryRepository.findByBlogUserLoginOrderByDateDesc(SecurityUtils.getCurrentUserLogin().orElse(null), pageable);
+        Page<Entry> page = entryService.findAllWithEagerRelationships(SecurityUtils.getCurrentUserLogin().orElse(null), pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(uriBuilder.queryParams(queryParams), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    /**
+     * {@code GET  /entries?view=summary} : get all the entries, without their content.
+     * <p>
+     * The {@code after} parameter selects keyset pagination, as for the entries.
+     *
+     * @param pageable the pagination information.
+     * @param after the cursor of the previous page, for keyset pagination.
+     * @param queryParams a {@link MultiValueMap} query parameters.
+     * @param uriBuilder a {@link UriComponentsBuilder} URI builder.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of entry summaries in body.
+     */
+    @GetMapping(value = "/entries", params = "view=summary")
+    public ResponseEntity<List<EntrySummaryDTO>> getAllEntrySummaries(Pageable pageable, @RequestParam(name = KeysetPaginationUtil.AFTER_PARAMETER, required = false) String after, @RequestParam MultiValueMap<String, String> queryParams, UriComponentsBuilder uriBuilder) {
+        if (after != null) {
+            return getEntrySummariesAfter(pageable.getPageSize(), after);
+        }
+        log.debug("REST request to get a page of Entry summaries");
+        Page<EntrySummaryDTO> page = entryService.findSummaries(SecurityUtils.getCurrentUserLogin().orElse(null), pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(uriBuilder.queryParams(queryParams), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    private ResponseEntity<List<EntrySummaryDTO>> getEntrySummariesAfter(int size, String after) {
+        log.debug("REST request to get a page of Entry summaries after : {}", after);
+        String login = SecurityUtils.getCurrentUserLogin().orElse(null);
+        List<EntrySummaryDTO> summaries;
+        // Fetch one more entry than requested, to know whether there is a next page
+        if (after.isEmpty()) {
+            summaries = entryService.findSummariesAfter(login, null, null, size + 1);
+        } else {
+            KeysetPaginationUtil.Cursor cursor = KeysetPaginationUtil.decodeCursor(after)
+                .orElseThrow(() -> new BadRequestAlertException("Invalid cursor", ENTITY_NAME, "cursorinvalid"));
+            summaries = entryService.findSummariesAfter(login, cursor.getDate(), cursor.getId(), size + 1);
+        }
+        String nextCursor = null;
+        if (summaries.size() > size) {
+            summaries = summaries.subList(0, size);
+            EntrySummaryDTO last = summaries.get(size - 1);
+            nextCursor = KeysetPaginationUtil.encodeCursor(last.getDate(), last.getId());
+        }
+        HttpHeaders headers = KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), nextCursor, size);
+        return ResponseEntity.ok().headers(headers).body(summaries);
+    }
+
+    private ResponseEntity<List<Entry>> getEntriesAfter(int size, String after) {
+        log.debug("REST request to get a page of Entries after : {}", after);
+        String login = SecurityUtils.getCurrentUserLogin().orElse(null);
+        List<Long> ids;
+        // Fetch one more entry than requested, to know whether there is a next page
+        if (after.isEmpty()) {
+            ids = entryService.findIdsAfter(login, null, null, size + 1);
+        } else {
+            KeysetPaginationUtil.Cursor cursor = KeysetPaginationUtil.decodeCursor(after)
+                .orElseThrow(() -> new BadRequestAlertException("Invalid cursor", ENTITY_NAME, "cursorinvalid"));
+            ids = entryService.findIdsAfter(login, cursor.getDate(), cursor.getId(), size + 1);
+        }
+        boolean hasNext = ids.size() > size;
+        List<Entry> entries = entryService.findAllWithEagerRelationships(hasNext ? ids.subList(0, size) : ids);
+        String nextCursor = null;
+        if (hasNext && !entries.isEmpty()) {
+            Entry last = entries.get(entries.size() - 1);
+            nextCursor = KeysetPaginationUtil.encodeCursor(last.getDate(), last.getId());
+        }
+        HttpHeaders headers = KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), nextCursor, size);
+        return ResponseEntity.ok().headers(headers).body(entries);
+    }
+
+    /**
+     * {@code SEARCH  /_search/entries?q=:query} : search for the entries of the current user
+     * corresponding to the query, best matches first.
+     *
+     * @param query the query of the entry search.
+     * @param pageable the pagination information.
+     * @param queryParams a {@link MultiValueMap} query parameters.
+     * @param uriBuilder a {@link UriComponentsBuilder} URI builder.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of entries in body.
+     */
+    @GetMapping("/_search/entries")
+    public ResponseEntity<List<Entry>> searchEntries(@RequestParam("q") String query, Pageable pageable, @RequestParam MultiValueMap<String, String> queryParams, UriComponentsBuilder uriBuilder) {
+        log.debug("REST request to search for a page of Entries for query {}", query);
+        Page<Long> ids = entrySearchService.search(query, SecurityUtils.getCurrentUserLogin().orElse(null), pageable);
+        Page<Entry> page = new PageImpl<>(entryService.findAllWithEagerRelationships(ids.getContent()), pageable, ids.getTotalElements());
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(uriBuilder.queryParams(queryParams), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    /**
+     * {@code GET  /entries/_export} : export all the entries of the current user as NDJSON.
+     * <p>
+     * The entries are streamed as they are read from the database, gzipped if the client accepts it.
+     *
+     * @param acceptEncoding the encodings accepted by the client.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the stream of entries.
+     */
+    @GetMapping(value = "/entries/_export", produces = NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportEntries(
+        @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        log.debug("REST request to export Entries");
+        String login = SecurityUtils.getCurrentUserLogin().orElse("");
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentDisposition(ContentDisposition.builder("attachment").filename("entries.ndjson").build());
+        headers.setVary(Collections.singletonList(HttpHeaders.ACCEPT_ENCODING));
+        if (gzip) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        StreamingResponseBody body = output -> {
+            if (gzip) {
+                GZIPOutputStream gzipOutput = new GZIPOutputStream(output, 8192);
+                entryService.exportEntries(login, gzipOutput);
+                gzipOutput.finish();
+            } else {
+                entryService.exportEntries(login, output);
+            }
+        };
+        return ResponseEntity.ok().headers(headers).contentType(MediaType.parseMediaType(NDJSON_VALUE)).body(body);
+    }
+
     /**
      * {@code GET  /entries/:id} : get the "id" entry.
      *
      * @param id the id of the entry to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the entry, or with status {@code 404 (Not Found)}.
+     * @param ifNoneMatch the entity tags of the versions of the entry the client already has.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the entry, or with status {@code 304 (Not Modified)},
+     * or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/entries/{id}")
-    public ResponseEntity<?> getEntry(@PathVariable Long id) {
+    public ResponseEntity<?> getEntry(@PathVariable Long id,
+                                      @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.debug("REST request to get Entry : {}", id);
+        String login = SecurityUtils.getCurrentUserLogin().orElse("");
+        if (ifNoneMatch != null) {
+            if (entryRepository.findOwnerLoginById(id).filter(owner -> !owner.equals(login)).isPresent()) {
+                return new ResponseEntity<>("Unauthorized", HttpStatus.UNAUTHORIZED);
+            }
+            Optional<String> eTag = entryRepository.findVersionsById(id).map(EntryResource::toETag);
+            if (eTag.filter(e -> ETagUtil.matchesIfNoneMatch(ifNoneMatch, e)).isPresent()) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(ETagUtil.createETagHeaders(eTag.get())).build();
+            }
+        }
         Optional<Entry> entry = entryRepository.findOneWithEagerRelationships(id);
         if (entry.isPresent() && entry.get().getBlog() != null &&
-            !entry.get().getBlog().getUser().getLogin().equals(SecurityUtils.getCurrentUserLogin().orElse(""))) {
+            !entry.get().getBlog().getUser().getLogin().equals(login)) {
             return new ResponseEntity<>("Unauthorized", HttpStatus.UNAUTHORIZED);
         }
-        return ResponseUtil.wrapOrNotFound(entry);
+        return ResponseUtil.wrapOrNotFound(entry, ETagUtil.createETagHeaders(entry.map(EntryResource::toETag).orElse(null)));
+    }
+
+    /**
+     * The entity tag of an entry, which embeds its blog and tags: the tags of an entry only change with its version,
+     * so the sum of the versions of its tags changes whenever one of them does.
+     */
+    private static String toETag(Entry entry) {
+        return ETagUtil.toETag(entry.getVersion(), entry.getBlog() == null ? 0 : entry.getBlog().getVersion(),
+            entry.getTags().stream().mapToLong(Tag::getVersion).sum());
+    }
+
+    private static String toETag(EntryRepository.EntryVersions versions) {
+        return ETagUtil.toETag(versions.getVersion(), versions.getBlogVersion() == null ? 0 : versions.getBlogVersion(),
+            versions.getTagsVersion() == null ? 0 : versions.getTagsVersion());
+    }
+
+    /**
+     * {@code GET  /entries/:id/html} : get the content of the "id" entry rendered to HTML.
+     * <p>
+     * The HTML is sanitized, and cached by entry version, which is also its entity tag.
+     *
+     * @param id the id of the entry.
+     * @param ifNoneMatch the entity tags of the versions of the entry the client already has.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the HTML, or with status {@code 304 (Not Modified)},
+     * or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/entries/{id}/html")
+    public ResponseEntity<?> getEntryHtml(@PathVariable Long id,
+                                          @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        log.debug("REST request to get the HTML of Entry : {}", id);
+        String login = SecurityUtils.getCurrentUserLogin().orElse("");
+        if (entryRepository.findOwnerLoginById(id).filter(owner -> !owner.equals(login)).isPresent()) {
+            return new ResponseEntity<>("Unauthorized", HttpStatus.UNAUTHORIZED);
+        }
+        Optional<EntryHtmlService.RenderedContent> content = entryHtmlService.getHtml(id);
+        if (!content.isPresent()) {
+            return ResponseEntity.notFound().build();
+        }
+        HttpHeaders headers = ETagUtil.createETagHeaders(content.get().getVersion());
+        if (ETagUtil.matchesIfNoneMatch(ifNoneMatch, content.get().getVersion())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers).build();
+        }
+        headers.setContentType(new MediaType(MediaType.TEXT_HTML, StandardCharsets.UTF_8));
+        return new ResponseEntity<>(content.get().getHtml(), headers, HttpStatus.OK);
     }
 
     /**
      * {@code DELETE  /entries/:id} : delete the "id" entry.
      *
      * @param id the id of the entry to delete.
-     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)}.
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)}, or with status {@code 404 (Not Found)}.
      */
     @DeleteMapping("/entries/{id}")
     public ResponseEntity<?> deleteEntry(@PathVariable Long id) {
         log.debug("REST request to delete Entry : {}", id);
-        Optional<Entry> entry = entryRepository.findOneWithEagerRelationships(id);
-        if (entry.isPresent() && entry.get().getBlog() != null &&
-            !entry.get().getBlog().getUser().getLogin().equals(SecurityUtils.getCurrentUserLogin().orElse(""))) {
+        DeleteResult result = entryService.delete(id, SecurityUtils.getCurrentUserLogin().orElse(""));
+        if (result == DeleteResult.FORBIDDEN) {
             return new ResponseEntity<>("Unauthorized", HttpStatus.UNAUTHORIZED);
         }
-        entryRepository.deleteById(id);
+        if (result == DeleteResult.NOT_FOUND) {
+            return ResponseEntity.notFound().build();
+        }
+        entrySearchService.remove(id);
         return ResponseEntity.noContent().headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString())).build();
     }
 }
@@ -0,0 +1,128 @@
+package org.jhipster.blog.web.rest;
+
+import org.jhipster.blog.service.PublicBlogService;
+import org.jhipster.blog.service.PublicBlogService.CachedResponse;
+import org.jhipster.blog.service.util.FeedWriter;
+import org.jhipster.blog.web.rest.errors.BadRequestAlertException;
+import org.jhipster.blog.web.rest.util.ETagUtil;
+
+import io.github.jhipster.web.util.PaginationUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * REST controller for the public, read-only view of blogs.
+ * <p>
+ * Responses are served as JSON bytes from the cache of {@link PublicBlogService}, so they expose no user data.
+ */
+@RestController
+@RequestMapping("/public")
+public class PublicBlogResource {
+
+    private final Logger log = LoggerFactory.getLogger(PublicBlogResource.class);
+
+    private static final String ENTITY_NAME = "blog";
+
+    private static final int MAX_PAGE_SIZE = 50;
+
+    private final PublicBlogService publicBlogService;
+
+    public PublicBlogResource(PublicBlogService publicBlogService) {
+        this.publicBlogService = publicBlogService;
+    }
+
+    /**
+     * {@code GET  /blogs/:handle} : get the blog with a handle.
+     *
+     * @param handle the handle of the blog.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the blog, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/blogs/{handle:.+}")
+    public ResponseEntity<byte[]> getBlog(@PathVariable String handle) {
+        log.debug("REST request to get the public Blog : {}", handle);
+        Optional<CachedResponse> response = publicBlogService.getBlog(handle);
+        return response.map(cached -> ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON_UTF8).body(cached.getBody()))
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * {@code GET  /blogs/:handle/entries} : get a page of the entries of the blog with a handle, newest first.
+     *
+     * @param handle the handle of the blog.
+     * @param page the number of the page.
+     * @param size the size of the page, at most {@value #MAX_PAGE_SIZE}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of entries in body,
+     * with status {@code 400 (Bad Request)} if the page is invalid, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/blogs/{handle}/entries")
+    public ResponseEntity<byte[]> getEntries(@PathVariable String handle, @RequestParam(defaultValue = "0") int page,
+                                             @RequestParam(defaultValue = "20") int size,
+                                             @RequestParam MultiValueMap<String, String> queryParams, UriComponentsBuilder uriBuilder) {
+        log.debug("REST request to get a page of public Entries of : {}", handle);
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestAlertException("Invalid page", ENTITY_NAME, "pageinvalid");
+        }
+        Optional<CachedResponse> response = publicBlogService.getEntries(handle, page, size);
+        if (!response.isPresent()) {
+            return ResponseEntity.notFound().build();
+        }
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(uriBuilder.queryParams(queryParams),
+            new PageImpl<>(Collections.emptyList(), PageRequest.of(page, size), response.get().getTotal()));
+        headers.setContentType(MediaType.APPLICATION_JSON_UTF8);
+        return new ResponseEntity<>(response.get().getBody(), headers, HttpStatus.OK);
+    }
+
+    /**
+     * {@code GET  /blogs/:handle/feed.xml} : get the feed of the latest entries of the blog with a handle.
+     * <p>
+     * The feed carries an {@code ETag} and a {@code Last-Modified} header, so polling it with a conditional
+     * request gets {@code 304 (Not Modified)} until an entry of the blog changes.
+     *
+     * @param handle the handle of the blog.
+     * @param format the format of the feed, {@code atom} or {@code rss}.
+     * @param requestHeaders the headers of the request, with the validators of the feed the client has.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the feed in body, with status {@code 304 (Not Modified)},
+     * with status {@code 400 (Bad Request)} if the format is unknown, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/blogs/{handle}/feed.xml")
+    public ResponseEntity<byte[]> getFeed(@PathVariable String handle, @RequestParam(defaultValue = "atom") String format,
+                                          @RequestHeader HttpHeaders requestHeaders) {
+        log.debug("REST request to get the {} feed of : {}", format, handle);
+        FeedWriter.Format feedFormat;
+        try {
+            feedFormat = FeedWriter.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid format", ENTITY_NAME, "formatinvalid");
+        }
+        Optional<CachedResponse> response = publicBlogService.getFeed(handle, feedFormat);
+        if (!response.isPresent()) {
+            return ResponseEntity.notFound().build();
+        }
+        CachedResponse feed = response.get();
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(feed.getETag());
+        headers.setLastModified(feed.getLastModified().toEpochMilli());
+        // If-Modified-Since is only considered without If-None-Match, as specified by RFC 7232
+        String ifNoneMatch = requestHeaders.getFirst(HttpHeaders.IF_NONE_MATCH);
+        boolean notModified = ifNoneMatch != null ? ETagUtil.matchesIfNoneMatch(ifNoneMatch, feed.getETag()) :
+            requestHeaders.getIfModifiedSince() >= feed.getLastModified().toEpochMilli();
+        if (notModified) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers).build();
+        }
+        headers.setContentType(MediaType.parseMediaType(feedFormat.getContentType()));
+        return new ResponseEntity<>(feed.getBody(), headers, HttpStatus.OK);
+    }
+}
@@ -2,7 +2,13 @@ package org.jhipster.blog.web.rest;
 
 import org.jhipster.blog.domain.Tag;
 import org.jhipster.blog.repository.TagRepository;
+import org.jhipster.blog.service.PublicBlogService;
+import org.jhipster.blog.service.TagService;
+import org.jhipster.blog.service.TagUsageService;
+import org.jhipster.blog.service.dto.TagUsageDTO;
+import org.jhipster.blog.service.search.TagSuggestionService;
 import org.jhipster.blog.web.rest.errors.BadRequestAlertException;
+import org.jhipster.blog.web.rest.util.ETagUtil;
 
 import io.github.jhipster.web.util.HeaderUtil;
 import io.github.jhipster.web.util.PaginationUtil;
@@ -24,6 +30,7 @@ import java.net.URI;
 import java.net.URISyntaxException;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -37,20 +44,37 @@ public class TagResource {
 
     private static final String ENTITY_NAME = "tag";
 
+    private static final int MAX_SUGGESTIONS = 50;
+
+    private static final int MAX_RESOLVED_NAMES = 1000;
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
     private final TagRepository tagRepository;
 
-    public TagResource(TagRepository tagRepository) {
+    private final TagUsageService tagUsageService;
+
+    private final TagSuggestionService tagSuggestionService;
+
+    private final TagService tagService;
+
+    private final PublicBlogService publicBlogService;
+
+    public TagResource(TagRepository tagRepository, TagUsageService tagUsageService, TagSuggestionService tagSuggestionService,
+                       TagService tagService, PublicBlogService publicBlogService) {
         this.tagRepository = tagRepository;
+        this.tagUsageService = tagUsageService;
+        this.tagSuggestionService = tagSuggestionService;
+        this.tagService = tagService;
+        this.publicBlogService = publicBlogService;
     }
 
     /**
      * {@code POST  /tags} : Create a new tag.
      *
      * @param tag the tag to create.
-     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new tag, or with status {@code 400 (Bad Request)} if the tag has already an ID.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new tag, or with status {@code 400 (Bad Request)} if the tag has already an ID or its name is taken.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PostMapping("/tags")
@@ -59,31 +83,79 @@ public class TagResource {
         if (tag.getId() != null) {
             throw new BadRequestAlertException("A new tag cannot already have an ID", ENTITY_NAME, "idexists");
         }
+        if (tagRepository.findIdByNormalizedName(Tag.normalizeName(tag.getName())).isPresent()) {
+            throw new BadRequestAlertException("A tag with this name already exists", ENTITY_NAME, "nameexists");
+        }
         Tag result = tagRepository.save(tag);
+        tagUsageService.tagSaved(result);
+        tagSuggestionService.tagsChanged();
         return ResponseEntity.created(new URI("/api/tags/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
             .body(result);
     }
 
+    /**
+     * {@code POST  /tags/_resolve} : Get the ids of tags by name, creating the missing tags.
+     * <p>
+     * Names are matched whatever their case and surrounding whitespace, and a new tag gets the first spelling of its name.
+     *
+     * @param names the names of the tags, at most {@value #MAX_RESOLVED_NAMES}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the ids of the tags by name,
+     * or with status {@code 400 (Bad Request)} if a name is invalid.
+     */
+    @PostMapping("/tags/_resolve")
+    public ResponseEntity<Map<String, Long>> resolveTags(@RequestBody List<String> names) {
+        log.debug("REST request to resolve Tags : {}", names);
+        if (names.isEmpty() || names.size() > MAX_RESOLVED_NAMES) {
+            throw new BadRequestAlertException("Between 1 and " + MAX_RESOLVED_NAMES + " names can be resolved", ENTITY_NAME, "namecount");
+        }
+        for (String name : names) {
+            String normalizedName = Tag.normalizeName(name);
+            if (normalizedName == null || normalizedName.length() < 2 || normalizedName.length() > 255) {
+                throw new BadRequestAlertException("Invalid tag name: " + name, ENTITY_NAME, "nameinvalid");
+            }
+        }
+        return ResponseEntity.ok(tagService.resolve(names));
+    }
+
     /**
      * {@code PUT  /tags} : Updates an existing tag.
      *
      * @param tag the tag to update.
+     * @param ifMatch the entity tags of the versions of the tag the client modified.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated tag,
-     * or with status {@code 400 (Bad Request)} if the tag is not valid,
+     * or with status {@code 400 (Bad Request)} if the tag is not valid or its name is taken,
+     * or with status {@code 412 (Precondition Failed)} if the tag was modified since,
      * or with status {@code 500 (Internal Server Error)} if the tag couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/tags")
-    public ResponseEntity<Tag> updateTag(@Valid @RequestBody Tag tag) throws URISyntaxException {
+    public ResponseEntity<Tag> updateTag(@Valid @RequestBody Tag tag,
+                                         @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) throws URISyntaxException {
         log.debug("REST request to update Tag : {}", tag);
         if (tag.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
-        Tag result = tagRepository.save(tag);
-        return ResponseEntity.ok()
-            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, tag.getId().toString()))
-            .body(result);
+        if (tagRepository.findIdByNormalizedName(Tag.normalizeName(tag.getName())).filter(id -> !id.equals(tag.getId())).isPresent()) {
+            throw new BadRequestAlertException("A tag with this name already exists", ENTITY_NAME, "nameexists");
+        }
+        Optional<String> previousName = tagRepository.findNormalizedNameById(tag.getId());
+        if (ifMatch != null || tag.getVersion() == null) {
+            Optional<Long> version = tagRepository.findVersionById(tag.getId());
+            if (ifMatch != null && !version.filter(v -> ETagUtil.matchesIfMatch(ifMatch, v)).isPresent()) {
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+            }
+            version.ifPresent(tag::setVersion);
+        }
+        Tag result = tagRepository.saveAndFlush(tag);
+        previousName.ifPresent(tagService::evictName);
+        tagUsageService.tagSaved(result);
+        tagSuggestionService.tagsChanged();
+        // Entries are shown with the names of their tags
+        publicBlogService.invalidateAll();
+        HttpHeaders headers = HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, tag.getId().toString());
+        headers.setETag(ETagUtil.toETag(result.getVersion()));
+        return ResponseEntity.ok().headers(headers).body(result);
     }
 
     /**
@@ -102,17 +174,64 @@ public class TagResource {
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /tags/_cloud} : get the tags used by entries, most used first.
+     * <p>
+     * The counts are maintained in memory, so they may lag slightly behind the database.
+     *
+     * @param size the maximum number of tags to return.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of tags with their number of entries in body,
+     * or with status {@code 400 (Bad Request)} if the size is not positive.
+     */
+    @GetMapping("/tags/_cloud")
+    public ResponseEntity<List<TagUsageDTO>> getTagCloud(@RequestParam(defaultValue = "100") int size) {
+        log.debug("REST request to get the tag cloud of size : {}", size);
+        if (size < 1) {
+            throw new BadRequestAlertException("Invalid size", ENTITY_NAME, "sizeinvalid");
+        }
+        return ResponseEntity.ok(tagUsageService.getCloud(size));
+    }
+
+    /**
+     * {@code GET  /tags/_suggest?prefix=:prefix} : suggest the tags starting with a prefix, most used first.
+     * <p>
+     * Matching ignores case. Suggestions come from an in-memory index, which follows tag changes after a short delay.
+     *
+     * @param prefix the prefix of the tag names.
+     * @param size the maximum number of tags to return, at most {@value #MAX_SUGGESTIONS}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of tags with their number of entries in body,
+     * or with status {@code 400 (Bad Request)} if the size is not positive.
+     */
+    @GetMapping("/tags/_suggest")
+    public ResponseEntity<List<TagUsageDTO>> suggestTags(@RequestParam(defaultValue = "") String prefix,
+                                                         @RequestParam(defaultValue = "10") int size) {
+        log.debug("REST request to suggest Tags for prefix : {}", prefix);
+        if (size < 1) {
+            throw new BadRequestAlertException("Invalid size", ENTITY_NAME, "sizeinvalid");
+        }
+        return ResponseEntity.ok(tagSuggestionService.suggest(prefix, Math.min(size, MAX_SUGGESTIONS)));
+    }
+
     /**
      * {@code GET  /tags/:id} : get the "id" tag.
      *
      * @param id the id of the tag to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the tag, or with status {@code 404 (Not Found)}.
+     * @param ifNoneMatch the entity tags of the versions of the tag the client already has.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the tag, or with status {@code 304 (Not Modified)},
+     * or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/tags/{id}")
-    public ResponseEntity<Tag> getTag(@PathVariable Long id) {
+    public ResponseEntity<Tag> getTag(@PathVariable Long id,
+                                      @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.debug("REST request to get Tag : {}", id);
+        if (ifNoneMatch != null) {
+            Optional<Long> version = tagRepository.findVersionById(id);
+            if (version.filter(v -> ETagUtil.matchesIfNoneMatch(ifNoneMatch, v)).isPresent()) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(ETagUtil.createETagHeaders(version.get())).build();
+            }
+        }
         Optional<Tag> tag = tagRepository.findById(id);
-        return ResponseUtil.wrapOrNotFound(tag);
+        return ResponseUtil.wrapOrNotFound(tag, ETagUtil.createETagHeaders(tag.map(Tag::getVersion).orElse(null)));
     }
 
     /**
@@ -124,7 +243,12 @@ public class TagResource {
     @DeleteMapping("/tags/{id}")
     public ResponseEntity<Void> deleteTag(@PathVariable Long id) {
         log.debug("REST request to delete Tag : {}", id);
+        Optional<String> name = tagRepository.findNormalizedNameById(id);
         tagRepository.deleteById(id);
+        name.ifPresent(tagService::evictName);
+        tagUsageService.tagDeleted(id);
+        tagSuggestionService.tagsChanged();
+        publicBlogService.invalidateAll();
         return ResponseEntity.noContent().headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString())).build();
     }
 }
@@ -0,0 +1,23 @@
+package org.jhipster.blog.web.rest.errors;
+
+import org.zalando.problem.AbstractThrowableProblem;
+import org.zalando.problem.Status;
+
+import java.util.Collections;
+
+public class TooManyRequestsException extends AbstractThrowableProblem {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long retryAfterInSeconds;
+
+    public TooManyRequestsException(String defaultMessage, long retryAfterInSeconds) {
+        super(ErrorConstants.DEFAULT_TYPE, defaultMessage, Status.TOO_MANY_REQUESTS, null, null, null,
+            Collections.singletonMap("message", ErrorConstants.ERR_TOO_MANY_REQUESTS));
+        this.retryAfterInSeconds = retryAfterInSeconds;
+    }
+
+    public long getRetryAfterInSeconds() {
+        return retryAfterInSeconds;
+    }
+}
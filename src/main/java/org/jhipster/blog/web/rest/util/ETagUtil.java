@@ -0,0 +1,140 @@
+package org.jhipster.blog.web.rest.util;
+
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Utility class for handling entity tags.
+ * <p>
+ * The entity tag of an entity is its optimistic locking version, as a strong validator. It is compared with
+ * {@code If-None-Match} using the weak comparison, and with {@code If-Match} using the strong comparison, as
+ * specified by RFC 7232. The entity tag of a representation embedding other entities is made of the versions of
+ * all of them, see {@link #toETag(Long, long...)}.
+ */
+public final class ETagUtil {
+
+    private static final String ANY = "*";
+
+    private static final String WEAK_PREFIX = "W/";
+
+    private ETagUtil() {
+    }
+
+    /**
+     * Create the entity tag of a version.
+     *
+     * @param version the version of the entity.
+     * @return the entity tag.
+     */
+    public static String toETag(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Create the entity tag of a representation embedding other entities.
+     *
+     * @param version the version of the entity.
+     * @param embeddedVersions the versions of the embedded entities, in a fixed order.
+     * @return the entity tag.
+     */
+    public static String toETag(Long version, long... embeddedVersions) {
+        StringBuilder eTag = new StringBuilder("\"").append(version);
+        for (long embeddedVersion : embeddedVersions) {
+            eTag.append('.').append(embeddedVersion);
+        }
+        return eTag.append('"').toString();
+    }
+
+    /**
+     * Create the {@code ETag} header of a version.
+     *
+     * @param version the version of the entity.
+     * @return the {@link HttpHeaders}.
+     */
+    public static HttpHeaders createETagHeaders(Long version) {
+        HttpHeaders headers = new HttpHeaders();
+        if (version != null) {
+            headers.setETag(toETag(version));
+        }
+        return headers;
+    }
+
+    /**
+     * Create the {@code ETag} header of an entity tag.
+     *
+     * @param eTag the entity tag, quoted.
+     * @return the {@link HttpHeaders}.
+     */
+    public static HttpHeaders createETagHeaders(String eTag) {
+        HttpHeaders headers = new HttpHeaders();
+        if (eTag != null) {
+            headers.setETag(eTag);
+        }
+        return headers;
+    }
+
+    /**
+     * Check an {@code If-None-Match} header against the current version of an entity.
+     *
+     * @param ifNoneMatch the value of the header.
+     * @param version the current version of the entity.
+     * @return {@code true} if the client already has the current version.
+     */
+    public static boolean matchesIfNoneMatch(String ifNoneMatch, Long version) {
+        return version != null && matches(ifNoneMatch, toETag(version), true);
+    }
+
+    /**
+     * Check an {@code If-None-Match} header against the current entity tag of a representation.
+     *
+     * @param ifNoneMatch the value of the header.
+     * @param eTag the current entity tag, quoted.
+     * @return {@code true} if the client already has the current representation.
+     */
+    public static boolean matchesIfNoneMatch(String ifNoneMatch, String eTag) {
+        return matches(ifNoneMatch, eTag, true);
+    }
+
+    /**
+     * Check an {@code If-Match} header against the current version of an entity.
+     *
+     * @param ifMatch the value of the header.
+     * @param version the current version of the entity.
+     * @return {@code true} if the client modified the current version.
+     */
+    public static boolean matchesIfMatch(String ifMatch, Long version) {
+        return version != null && matches(ifMatch, toETag(version), false);
+    }
+
+    /**
+     * Check an {@code If-Match} header against the current entity tag of a representation.
+     *
+     * @param ifMatch the value of the header.
+     * @param eTag the current entity tag, quoted.
+     * @return {@code true} if the client modified the current representation.
+     */
+    public static boolean matchesIfMatch(String ifMatch, String eTag) {
+        return matches(ifMatch, eTag, false);
+    }
+
+    private static boolean matches(String header, String etag, boolean weak) {
+        if (header == null || etag == null) {
+            return false;
+        }
+        for (String candidate : header.split(",")) {
+            candidate = candidate.trim();
+            if (ANY.equals(candidate)) {
+                return true;
+            }
+            if (candidate.startsWith(WEAK_PREFIX)) {
+                if (!weak) {
+                    continue;
+                }
+                candidate = candidate.substring(WEAK_PREFIX.length());
+            }
+            if (etag.equals(candidate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,103 @@
+package org.jhipster.blog.web.rest.util;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Utility class for handling keyset (seek) pagination.
+ * <p>
+ * A cursor is the opaque, URL-safe encoding of the {@code (date, id)} sort key of the last element of a page.
+ * The next page is then selected with a seek predicate on that key, so its cost does not depend on how deep
+ * the client has paged, and no count query is needed.
+ */
+public final class KeysetPaginationUtil {
+
+    public static final String AFTER_PARAMETER = "after";
+
+    private static final String SEPARATOR = ",";
+
+    private KeysetPaginationUtil() {
+    }
+
+    /**
+     * Encode the sort key of the last element of a page into an opaque cursor.
+     *
+     * @param date the date of the last element.
+     * @param id the id of the last element.
+     * @return the cursor.
+     */
+    public static String encodeCursor(Instant date, Long id) {
+        String key = date.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor previously created by {@link #encodeCursor(Instant, Long)}.
+     *
+     * @param cursor the cursor.
+     * @return the decoded cursor, or an empty {@link Optional} if it is malformed.
+     */
+    public static Optional<Cursor> decodeCursor(String cursor) {
+        try {
+            String key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = key.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                return Optional.empty();
+            }
+            return Optional.of(new Cursor(Instant.parse(key.substring(0, separator)),
+                Long.valueOf(key.substring(separator + 1))));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Generate the {@code Link} HTTP header pointing to the next page, if there is one.
+     *
+     * @param uriBuilder the uri builder of the current request, with its path and query parameters.
+     * @param nextCursor the cursor of the next page, or {@code null} if the current page is the last one.
+     * @param size the page size.
+     * @return http header.
+     */
+    public static HttpHeaders generateKeysetPaginationHttpHeaders(UriComponentsBuilder uriBuilder, String nextCursor, int size) {
+        HttpHeaders headers = new HttpHeaders();
+        if (nextCursor != null) {
+            String link = uriBuilder
+                .replaceQueryParam("page")
+                .replaceQueryParam(AFTER_PARAMETER, nextCursor)
+                .replaceQueryParam("size", size)
+                .toUriString();
+            headers.add(HttpHeaders.LINK, "<" + link + ">; rel=\"next\"");
+        }
+        return headers;
+    }
+
+    /**
+     * The decoded sort key of a cursor.
+     */
+    public static final class Cursor {
+
+        private final Instant date;
+
+        private final Long id;
+
+        Cursor(Instant date, Long id) {
+            this.date = date;
+            this.id = id;
+        }
+
+        public Instant getDate() {
+            return date;
+        }
+
+        public Long getId() {
+            return id;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package org.jhipster.blog.config;
+
+import io.github.jhipster.config.JHipsterProperties;
+import org.ehcache.config.CacheRuntimeConfiguration;
+import org.ehcache.config.ResourcePools;
+import org.ehcache.config.ResourceType;
+import org.ehcache.config.units.EntryUnit;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.util.FileSystemUtils;
+
+import javax.cache.CacheManager;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for the {@link CacheConfiguration} class.
+ */
+public class CacheConfigurationTest {
+
+    private static final String ENTRY_CACHE = org.jhipster.blog.domain.Entry.class.getName();
+
+    private static final String TAG_IDS_BY_NAME_CACHE = org.jhipster.blog.repository.TagRepository.TAG_IDS_BY_NAME_CACHE;
+
+    private static final String ENTRY_HTML_CACHE = org.jhipster.blog.service.EntryHtmlService.ENTRY_HTML_CACHE;
+
+    private JHipsterProperties jHipsterProperties;
+
+    private ApplicationProperties applicationProperties;
+
+    private Path diskPath;
+
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getCache().getEhcache().setMaxEntries(100);
+        jHipsterProperties.getCache().getEhcache().setTimeToLiveSeconds(3600);
+        applicationProperties = new ApplicationProperties();
+        diskPath = Files.createTempDirectory("blog-cache");
+        applicationProperties.getCache().setDiskPath(diskPath.toString());
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        if (cacheManager != null) {
+            cacheManager.close();
+        }
+        FileSystemUtils.deleteRecursively(diskPath);
+    }
+
+    private void bind(Map<String, String> properties) {
+        new Binder(new MapConfigurationPropertySource(properties)).bind("application", Bindable.ofInstance(applicationProperties));
+    }
+
+    private CacheManager createCacheManager() {
+        CacheConfiguration cacheConfiguration = new CacheConfiguration(jHipsterProperties, applicationProperties);
+        cacheManager = cacheConfiguration.jCacheCacheManager(Collections.singletonList(cacheConfiguration.cacheManagerCustomizer()));
+        return cacheManager;
+    }
+
+    @SuppressWarnings("unchecked")
+    private CacheRuntimeConfiguration<Object, Object> runtimeConfiguration(String cacheName) {
+        Eh107Configuration<Object, Object> configuration = cacheManager.getCache(cacheName).getConfiguration(Eh107Configuration.class);
+        return configuration.unwrap(CacheRuntimeConfiguration.class);
+    }
+
+    @Test
+    public void testRegionsDefaultToTheEhcacheProperties() {
+        createCacheManager();
+
+        CacheRuntimeConfiguration<Object, Object> configuration = runtimeConfiguration(ENTRY_CACHE);
+        ResourcePools pools = configuration.getResourcePools();
+        assertThat(pools.getResourceTypeSet()).containsExactly(ResourceType.Core.HEAP);
+        assertThat(pools.getPoolForResource(ResourceType.Core.HEAP).getSize()).isEqualTo(100);
+        assertThat(pools.getPoolForResource(ResourceType.Core.HEAP).getUnit()).isEqualTo(EntryUnit.ENTRIES);
+        assertThat(configuration.getExpiryPolicy().getExpiryForCreation(1L, "value")).isEqualTo(Duration.ofHours(1));
+    }
+
+    @Test
+    public void testRegionsAreConfiguredOneByOne() {
+        Map<String, String> properties = new HashMap<>();
+        properties.put("application.cache.regions[" + ENTRY_CACHE + "].max-entries", "10");
+        properties.put("application.cache.regions[" + ENTRY_CACHE + "].off-heap-size", "2MB");
+        properties.put("application.cache.regions." + TAG_IDS_BY_NAME_CACHE + ".max-heap-size", "64KB");
+        properties.put("application.cache.regions." + TAG_IDS_BY_NAME_CACHE + ".time-to-idle-seconds", "60");
+        properties.put("application.cache.regions." + ENTRY_HTML_CACHE + ".off-heap-size", "1MB");
+        properties.put("application.cache.regions." + ENTRY_HTML_CACHE + ".disk-size", "4MB");
+        properties.put("application.cache.regions." + ENTRY_HTML_CACHE + ".disk-persistent", "true");
+        bind(properties);
+        createCacheManager();
+
+        ResourcePools entryPools = runtimeConfiguration(ENTRY_CACHE).getResourcePools();
+        assertThat(entryPools.getPoolForResource(ResourceType.Core.HEAP).getSize()).isEqualTo(10);
+        assertThat(entryPools.getPoolForResource(ResourceType.Core.OFFHEAP).getSize()).isEqualTo(2 * 1024 * 1024);
+        assertThat(entryPools.getPoolForResource(ResourceType.Core.OFFHEAP).getUnit()).isEqualTo(MemoryUnit.B);
+
+        CacheRuntimeConfiguration<Object, Object> tagIdsByName = runtimeConfiguration(TAG_IDS_BY_NAME_CACHE);
+        assertThat(tagIdsByName.getResourcePools().getPoolForResource(ResourceType.Core.HEAP).getSize()).isEqualTo(64 * 1024);
+        assertThat(tagIdsByName.getExpiryPolicy().getExpiryForAccess(1L, () -> "value")).isEqualTo(Duration.ofMinutes(1));
+
+        ResourcePools entryHtmlPools = runtimeConfiguration(ENTRY_HTML_CACHE).getResourcePools();
+        assertThat(entryHtmlPools.getPoolForResource(ResourceType.Core.DISK).getSize()).isEqualTo(4 * 1024 * 1024);
+        assertThat(entryHtmlPools.getPoolForResource(ResourceType.Core.DISK).isPersistent()).isTrue();
+
+        javax.cache.Cache<Object, Object> cache = cacheManager.getCache(ENTRY_HTML_CACHE);
+        cache.put("1:0", "<p>html</p>");
+        assertThat(cache.get("1:0")).isEqualTo("<p>html</p>");
+    }
+
+    @Test
+    public void testRegionsWithConflictingSettingsAreRejected() {
+        Map<String, String> properties = new HashMap<>();
+        properties.put("application.cache.regions." + TAG_IDS_BY_NAME_CACHE + ".time-to-live-seconds", "60");
+        properties.put("application.cache.regions." + TAG_IDS_BY_NAME_CACHE + ".time-to-idle-seconds", "60");
+        bind(properties);
+
+        assertThatThrownBy(this::createCacheManager)
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining(TAG_IDS_BY_NAME_CACHE);
+    }
+}
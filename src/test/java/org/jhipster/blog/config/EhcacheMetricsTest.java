@@ -0,0 +1,107 @@
+package org.jhipster.blog.config;
+
+import io.github.jhipster.config.JHipsterProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.jcache.JCacheCache;
+import org.springframework.util.unit.DataSize;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the {@link EhcacheMetrics} class, bound through {@link CacheConfiguration}.
+ */
+public class EhcacheMetricsTest {
+
+    private static final String ENTRY_CACHE = org.jhipster.blog.domain.Entry.class.getName();
+
+    private static final String TAG_CACHE = org.jhipster.blog.domain.Tag.class.getName();
+
+    private CacheManager cacheManager;
+
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void setup() {
+        JHipsterProperties jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getCache().getEhcache().setMaxEntries(2);
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        ApplicationProperties.Cache.Region entryRegion = new ApplicationProperties.Cache.Region();
+        entryRegion.setMaxEntries(2L);
+        entryRegion.setOffHeapSize(DataSize.ofMegabytes(1));
+        applicationProperties.getCache().getRegions().put(ENTRY_CACHE, entryRegion);
+        CacheConfiguration cacheConfiguration = new CacheConfiguration(jHipsterProperties, applicationProperties);
+        cacheManager = cacheConfiguration.jCacheCacheManager(Collections.singletonList(cacheConfiguration.cacheManagerCustomizer()));
+
+        meterRegistry = new SimpleMeterRegistry();
+        for (String cacheName : new String[]{ENTRY_CACHE, TAG_CACHE}) {
+            MeterBinder binder = cacheConfiguration.ehcacheMeterBinderProvider()
+                .getMeterBinder(new JCacheCache(cacheManager.getCache(cacheName)), Tags.of("name", cacheName));
+            binder.bindTo(meterRegistry);
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+        cacheManager.close();
+    }
+
+    private double count(String name, String cacheName, String... tags) {
+        return meterRegistry.get(name).tag("name", cacheName).tags(tags).functionCounter().count();
+    }
+
+    private double gauge(String name, String cacheName, String... tags) {
+        return meterRegistry.get(name).tag("name", cacheName).tags(tags).gauge().value();
+    }
+
+    @Test
+    public void testHitsMissesAndPuts() {
+        Cache<Object, Object> cache = cacheManager.getCache(TAG_CACHE);
+        cache.put(1L, "java");
+        cache.get(1L);
+        cache.get(1L);
+        cache.get(2L);
+        cache.remove(1L);
+
+        assertThat(count("cache.puts", TAG_CACHE)).isEqualTo(1);
+        assertThat(count("cache.gets", TAG_CACHE, "result", "hit")).isEqualTo(2);
+        assertThat(count("cache.gets", TAG_CACHE, "result", "miss")).isEqualTo(1);
+        assertThat(count("cache.removals", TAG_CACHE)).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.puts").tag("name", TAG_CACHE).tag("cache", TAG_CACHE).functionCounter()).isNotNull();
+    }
+
+    @Test
+    public void testEvictionsAndSize() {
+        Cache<Object, Object> cache = cacheManager.getCache(TAG_CACHE);
+        for (long i = 0; i < 10; i++) {
+            cache.put(i, "tag" + i);
+        }
+
+        assertThat(gauge("cache.size", TAG_CACHE)).isEqualTo(2);
+        assertThat(count("cache.evictions", TAG_CACHE)).isEqualTo(8);
+        assertThat(gauge("cache.tier.size", TAG_CACHE, "tier", "OnHeap")).isEqualTo(2);
+    }
+
+    @Test
+    public void testOffHeapEntriesAndBytes() {
+        Cache<Object, Object> cache = cacheManager.getCache(ENTRY_CACHE);
+        for (long i = 0; i < 10; i++) {
+            cache.put(i, "content of entry " + i);
+        }
+
+        assertThat(gauge("cache.size", ENTRY_CACHE)).isEqualTo(10);
+        assertThat(count("cache.evictions", ENTRY_CACHE)).isZero();
+        assertThat(gauge("cache.tier.size", ENTRY_CACHE, "tier", "OffHeap")).isEqualTo(10);
+        assertThat(gauge("cache.tier.bytes", ENTRY_CACHE, "tier", "OffHeap")).isPositive();
+        assertThat(gauge("cache.bytes", ENTRY_CACHE)).isEqualTo(gauge("cache.tier.bytes", ENTRY_CACHE, "tier", "OffHeap"));
+    }
+}
@@ -0,0 +1,106 @@
+package org.jhipster.blog.config;
+
+import org.jhipster.blog.BlogApp;
+import org.jhipster.blog.domain.User;
+import org.jhipster.blog.repository.UserRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the {@link ReplicaRoutingDataSource}, with a second pool on the test database as replica.
+ */
+@SpringBootTest(classes = BlogApp.class, properties = {
+    "application.datasource.replica.enabled=true",
+    "application.datasource.replica.url=jdbc:h2:mem:blog;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MULTI_THREADED=FALSE",
+    "application.datasource.replica.lag-query=select 0"
+})
+public class ReplicaRoutingDataSourceIT {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    private ReplicaRoutingDataSource routingDataSource;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    @BeforeEach
+    public void setup() {
+        routingDataSource = (ReplicaRoutingDataSource) ((LazyConnectionDataSourceProxy) dataSource).getTargetDataSource();
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @AfterEach
+    public void restoreReplica() {
+        applicationProperties.getDatasource().getReplica().setLagQuery("select 0");
+        routingDataSource.checkReplica();
+    }
+
+    private double connections(String target) {
+        return meterRegistry.get("datasource.routing").tag("target", target).counter().count();
+    }
+
+    @Test
+    public void assertThatReadOnlyTransactionsUseTheReplica() {
+        double replicaConnections = connections("replica");
+
+        Optional<User> user = readOnlyTransaction.execute(status -> userRepository.findOneByLogin("user"));
+
+        assertThat(user).isPresent();
+        assertThat(connections("replica")).isEqualTo(replicaConnections + 1);
+    }
+
+    @Test
+    public void assertThatReadWriteTransactionsUseThePrimary() {
+        double primaryConnections = connections("primary");
+        double replicaConnections = connections("replica");
+
+        new TransactionTemplate(transactionManager).execute(status -> userRepository.findOneByLogin("user"));
+
+        assertThat(connections("primary")).isGreaterThan(primaryConnections);
+        assertThat(connections("replica")).isEqualTo(replicaConnections);
+    }
+
+    @Test
+    public void assertThatALaggingReplicaIsNotUsed() {
+        applicationProperties.getDatasource().getReplica().setLagQuery("select 3600");
+        routingDataSource.checkReplica();
+        assertThat(routingDataSource.isReplicaAvailable()).isFalse();
+        assertThat(meterRegistry.get("datasource.replica.lag").gauge().value()).isEqualTo(3600);
+        double replicaConnections = connections("replica");
+
+        Optional<User> user = readOnlyTransaction.execute(status -> userRepository.findOneByLogin("user"));
+
+        assertThat(user).isPresent();
+        assertThat(connections("replica")).isEqualTo(replicaConnections);
+
+        applicationProperties.getDatasource().getReplica().setLagQuery("select 0");
+        routingDataSource.checkReplica();
+        assertThat(routingDataSource.isReplicaAvailable()).isTrue();
+    }
+}
@@ -0,0 +1,194 @@
+package org.jhipster.blog.config.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.configuration.MutableConfiguration;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the {@link CacheInvalidationBus} class, with two nodes on a loopback transport.
+ */
+public class CacheInvalidationBusTest {
+
+    private static final String ENTRY_CACHE = "org.jhipster.blog.domain.Entry";
+
+    private static final String TAG_IDS_BY_NAME_CACHE = "tagIdsByName";
+
+    private static final int MAX_KEYS_PER_REGION = 3;
+
+    private final List<String> messages = new ArrayList<>();
+
+    private CacheManager localCacheManager;
+
+    private CacheManager remoteCacheManager;
+
+    private LoopbackCacheInvalidationTransport transport;
+
+    private CacheInvalidationBus localBus;
+
+    @BeforeEach
+    public void setup() {
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        localCacheManager = provider.getCacheManager(URI.create("urn:local"), new DefaultConfiguration(getClass().getClassLoader()));
+        remoteCacheManager = provider.getCacheManager(URI.create("urn:remote"), new DefaultConfiguration(getClass().getClassLoader()));
+        for (CacheManager cacheManager : new CacheManager[]{localCacheManager, remoteCacheManager}) {
+            cacheManager.createCache(ENTRY_CACHE, new MutableConfiguration<>());
+            cacheManager.createCache(TAG_IDS_BY_NAME_CACHE, new MutableConfiguration<>());
+        }
+
+        transport = new LoopbackCacheInvalidationTransport();
+        transport.subscribe(new CacheInvalidationTransport.Listener() {
+            @Override
+            public void onMessage(String message) {
+                messages.add(message);
+            }
+
+            @Override
+            public void onReset() {
+            }
+        });
+        // The application's ObjectMapper has the Afterburner module, which requires public message classes
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new AfterburnerModule());
+        localBus = new CacheInvalidationBus(localCacheManager, transport, objectMapper, MAX_KEYS_PER_REGION);
+        transport.subscribe(localBus);
+        transport.subscribe(new CacheInvalidationBus(remoteCacheManager, transport, objectMapper, MAX_KEYS_PER_REGION));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        localCacheManager.close();
+        remoteCacheManager.close();
+    }
+
+    private Cache<Object, Object> remoteCache(String name) {
+        return remoteCacheManager.getCache(name);
+    }
+
+    @Test
+    public void testEvictionsAreAppliedOnTheOtherNodes() {
+        remoteCache(ENTRY_CACHE).put(1L, "first");
+        remoteCache(ENTRY_CACHE).put(2L, "second");
+        remoteCache(TAG_IDS_BY_NAME_CACHE).put("java", 3L);
+        localCacheManager.getCache(ENTRY_CACHE).put(1L, "first");
+
+        localBus.evict(ENTRY_CACHE, 1L);
+        localBus.evict(TAG_IDS_BY_NAME_CACHE, "java");
+        assertThat(messages).isEmpty();
+        localBus.flush();
+
+        assertThat(messages).hasSize(1);
+        assertThat(remoteCache(ENTRY_CACHE).containsKey(1L)).isFalse();
+        assertThat(remoteCache(ENTRY_CACHE).containsKey(2L)).isTrue();
+        assertThat(remoteCache(TAG_IDS_BY_NAME_CACHE).containsKey("java")).isFalse();
+        // A node ignores its own messages
+        assertThat(localCacheManager.getCache(ENTRY_CACHE).containsKey(1L)).isTrue();
+    }
+
+    @Test
+    public void testEvictionsAreCoalesced() {
+        remoteCache(ENTRY_CACHE).put(10L, "other");
+        localBus.evict(ENTRY_CACHE, 1L);
+        localBus.evict(ENTRY_CACHE, 1L);
+        localBus.evict(ENTRY_CACHE, 2L);
+        localBus.flush();
+
+        assertThat(messages).hasSize(1);
+        assertThat(messages.get(0)).contains("\"keys\":[1,2]");
+        assertThat(remoteCache(ENTRY_CACHE).containsKey(10L)).isTrue();
+
+        for (long id = 1; id <= MAX_KEYS_PER_REGION + 1; id++) {
+            localBus.evict(ENTRY_CACHE, id);
+        }
+        localBus.flush();
+
+        assertThat(messages).hasSize(2);
+        assertThat(messages.get(1)).doesNotContain("keys");
+        assertThat(remoteCache(ENTRY_CACHE).containsKey(10L)).isFalse();
+
+        localBus.flush();
+        assertThat(messages).hasSize(2);
+    }
+
+    @Test
+    public void testEvictionsAreSplitToFitTheTransport() {
+        CacheInvalidationTransport smallTransport = new LoopbackCacheInvalidationTransport() {
+            @Override
+            public int getMaxMessageLength() {
+                return 120;
+            }
+        };
+        CacheInvalidationBus bus = new CacheInvalidationBus(localCacheManager, smallTransport, new ObjectMapper(), 1000);
+        List<CacheInvalidationBus.Eviction> evictions = new ArrayList<>();
+        List<Object> keys = new ArrayList<>();
+        for (long id = 0; id < 100; id++) {
+            keys.add(id);
+        }
+        evictions.add(new CacheInvalidationBus.Eviction(ENTRY_CACHE, CacheInvalidationBus.KeyType.LONG, keys));
+        evictions.add(new CacheInvalidationBus.Eviction(TAG_IDS_BY_NAME_CACHE, CacheInvalidationBus.KeyType.STRING, singletonKeys("java")));
+        evictions.add(new CacheInvalidationBus.Eviction(TAG_IDS_BY_NAME_CACHE, null, null));
+
+        List<String> encoded = bus.encode(evictions);
+
+        assertThat(encoded).hasSize(2);
+        assertThat(encoded).allSatisfy(message -> assertThat(message.length()).isLessThanOrEqualTo(120));
+        // Too many keys to fit in a message: the region is cleared
+        assertThat(encoded.get(0)).contains(ENTRY_CACHE).doesNotContain("keys");
+    }
+
+    @Test
+    public void testResetClearsEveryCache() {
+        localCacheManager.getCache(ENTRY_CACHE).put(1L, "first");
+        localCacheManager.getCache(TAG_IDS_BY_NAME_CACHE).put("java", 3L);
+
+        localBus.onReset();
+
+        assertThat(localCacheManager.getCache(ENTRY_CACHE).iterator().hasNext()).isFalse();
+        assertThat(localCacheManager.getCache(TAG_IDS_BY_NAME_CACHE).iterator().hasNext()).isFalse();
+    }
+
+    @Test
+    public void testEvictionsAreSentAgainWhenTheTransportFails() {
+        CacheInvalidationTransport failingTransport = new LoopbackCacheInvalidationTransport() {
+
+            private boolean failed;
+
+            @Override
+            public void publish(String message) {
+                if (!failed) {
+                    failed = true;
+                    throw new IllegalStateException("Connection refused");
+                }
+                super.publish(message);
+            }
+        };
+        failingTransport.subscribe(new CacheInvalidationBus(remoteCacheManager, failingTransport, new ObjectMapper(), MAX_KEYS_PER_REGION));
+        CacheInvalidationBus bus = new CacheInvalidationBus(localCacheManager, failingTransport, new ObjectMapper(), MAX_KEYS_PER_REGION);
+        remoteCache(ENTRY_CACHE).put(1L, "first");
+
+        bus.evict(ENTRY_CACHE, 1L);
+        bus.flush();
+        assertThat(remoteCache(ENTRY_CACHE).containsKey(1L)).isTrue();
+
+        bus.flush();
+        assertThat(remoteCache(ENTRY_CACHE).containsKey(1L)).isFalse();
+    }
+
+    private static List<Object> singletonKeys(Object key) {
+        List<Object> keys = new ArrayList<>();
+        keys.add(key);
+        return keys;
+    }
+}
@@ -0,0 +1,146 @@
+package org.jhipster.blog.config.cache;
+
+import org.jhipster.blog.BlogApp;
+import org.jhipster.blog.domain.Blog;
+import org.jhipster.blog.repository.BlogRepository;
+import org.jhipster.blog.service.BlogService;
+import org.jhipster.blog.service.DeleteResult;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.configuration.MutableConfiguration;
+import javax.persistence.EntityManagerFactory;
+import java.net.URI;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the broadcast of second-level cache evictions, with a second node on the loopback transport.
+ */
+@SpringBootTest(classes = BlogApp.class, properties = {
+    "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+    "application.cache.invalidation.enabled=true",
+    "application.cache.invalidation.transport=loopback",
+    // Evictions are only sent when the tests flush them
+    "application.cache.invalidation.flush-interval-in-millis=3600000"
+})
+public class CacheInvalidationIT {
+
+    private static final String BLOG_CACHE = Blog.class.getName();
+
+    private static CacheManager remoteCacheManager;
+
+    private static CacheInvalidationBus remoteBus;
+
+    @Autowired
+    private CacheInvalidationBus bus;
+
+    @Autowired
+    private CacheInvalidationTransport transport;
+
+    @Autowired
+    private BlogRepository blogRepository;
+
+    @Autowired
+    private BlogService blogService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    private Blog blog;
+
+    @BeforeEach
+    public void setup() {
+        if (remoteBus == null) {
+            EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+            remoteCacheManager = provider.getCacheManager(URI.create("urn:remote"), new DefaultConfiguration(getClass().getClassLoader()));
+            remoteCacheManager.createCache(BLOG_CACHE, new MutableConfiguration<>());
+            remoteBus = new CacheInvalidationBus(remoteCacheManager, transport, objectMapper, 100);
+            transport.subscribe(remoteBus);
+        }
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        blog = transactionTemplate.execute(status -> blogRepository.save(new Blog().name("Cache invalidation").handle("cache-invalidation")));
+        bus.flush();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        transactionTemplate.execute(status -> {
+            blogRepository.deleteById(blog.getId());
+            return null;
+        });
+        bus.flush();
+    }
+
+    @AfterAll
+    public static void closeRemoteNode() {
+        if (remoteCacheManager != null) {
+            remoteCacheManager.close();
+        }
+    }
+
+    @Test
+    public void testUpdatesAreEvictedOnTheOtherNodes() {
+        remoteCacheManager.getCache(BLOG_CACHE).put(blog.getId(), "stale");
+
+        transactionTemplate.execute(status -> {
+            blogRepository.findById(blog.getId()).get().setName("Cache invalidation, updated");
+            return null;
+        });
+        assertThat(remoteCacheManager.getCache(BLOG_CACHE).containsKey(blog.getId())).isTrue();
+        bus.flush();
+
+        assertThat(remoteCacheManager.getCache(BLOG_CACHE).containsKey(blog.getId())).isFalse();
+    }
+
+    @Test
+    public void testEvictionsOfOtherNodesAreApplied() {
+        transactionTemplate.execute(status -> blogRepository.findById(blog.getId()));
+        assertThat(entityManagerFactory.getCache().contains(Blog.class, blog.getId())).isTrue();
+
+        remoteBus.evict(BLOG_CACHE, blog.getId());
+        remoteBus.flush();
+
+        assertThat(entityManagerFactory.getCache().contains(Blog.class, blog.getId())).isFalse();
+    }
+
+    @Test
+    public void testDeletionsOnlyEvictTheDeletedBlog() {
+        Blog deleted = transactionTemplate.execute(status -> blogRepository.save(new Blog().name("Cache invalidation, deleted").handle("cache-invalidation-deleted")));
+        transactionTemplate.execute(status -> blogRepository.findById(blog.getId()));
+        transactionTemplate.execute(status -> blogRepository.findById(deleted.getId()));
+        bus.flush();
+        remoteCacheManager.getCache(BLOG_CACHE).put(blog.getId(), "cached");
+        remoteCacheManager.getCache(BLOG_CACHE).put(deleted.getId(), "stale");
+
+        DeleteResult result = transactionTemplate.execute(status -> blogService.delete(deleted.getId(), "anyone"));
+        assertThat(result).isEqualTo(DeleteResult.DELETED);
+        bus.flush();
+
+        assertThat(blogRepository.existsById(deleted.getId())).isFalse();
+        assertThat(entityManagerFactory.getCache().contains(Blog.class, deleted.getId())).isFalse();
+        assertThat(entityManagerFactory.getCache().contains(Blog.class, blog.getId())).isTrue();
+        assertThat(remoteCacheManager.getCache(BLOG_CACHE).containsKey(deleted.getId())).isFalse();
+        assertThat(remoteCacheManager.getCache(BLOG_CACHE).containsKey(blog.getId())).isTrue();
+    }
+}
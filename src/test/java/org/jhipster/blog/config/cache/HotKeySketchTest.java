@@ -0,0 +1,83 @@
+package org.jhipster.blog.config.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the {@link HotKeySketch} class.
+ */
+public class HotKeySketchTest {
+
+    @Test
+    public void testHottestKeysAreKept() {
+        HotKeySketch sketch = new HotKeySketch(3);
+        for (long id = 0; id < 1000; id++) {
+            sketch.record(id);
+            if (id % 10 == 0) {
+                sketch.record(-1L);
+                sketch.record(-1L);
+                sketch.record(-2L);
+            }
+        }
+
+        assertThat(sketch.hottest()).hasSize(3);
+        assertThat(sketch.hottest().subList(0, 2)).containsExactly(-1L, -2L);
+    }
+
+    @Test
+    public void testKeysNoLongerAccessedAreForgotten() {
+        HotKeySketch sketch = new HotKeySketch(2);
+        for (int i = 0; i < 8; i++) {
+            sketch.record("admin");
+        }
+        sketch.record("user");
+
+        sketch.age();
+        assertThat(sketch.hottest()).containsExactly("admin");
+
+        for (int i = 0; i < 3; i++) {
+            sketch.age();
+        }
+        assertThat(sketch.hottest()).isEmpty();
+    }
+
+    @Test
+    public void testNewHotKeysReplaceTheColdest() {
+        HotKeySketch sketch = new HotKeySketch(2);
+        sketch.record("first");
+        sketch.record("first");
+        sketch.record("second");
+        for (int i = 0; i < 5; i++) {
+            sketch.record("third");
+        }
+
+        assertThat(sketch.hottest()).containsExactly("third", "first");
+    }
+
+    @Test
+    public void testConcurrentRecords() throws InterruptedException {
+        HotKeySketch sketch = new HotKeySketch(2);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            long offset = t * 100_000L;
+            threads.add(new Thread(() -> {
+                for (long id = 0; id < 10_000; id++) {
+                    sketch.record(offset + id);
+                    if (id % 4 == 0) {
+                        sketch.record("hot");
+                    }
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(sketch.hottest()).first().isEqualTo("hot");
+    }
+}
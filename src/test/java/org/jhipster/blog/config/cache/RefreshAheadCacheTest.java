@@ -0,0 +1,186 @@
+package org.jhipster.blog.config.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.expiry.ExpiryPolicy;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the {@link RefreshAheadCache} class.
+ */
+public class RefreshAheadCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private final Clock clock = new Clock() {
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.of("UTC");
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(now.get());
+        }
+    };
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    public void setup() {
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        cacheManager = provider.getCacheManager(URI.create("urn:refresh-ahead"), new DefaultConfiguration(getClass().getClassLoader()));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        cacheManager.close();
+    }
+
+    private RefreshAheadCache<String, String> cache(ExpiryPolicy<Object, Object> expiryPolicy) {
+        javax.cache.Cache<Object, Object> cache = cacheManager.createCache("users", Eh107Configuration.fromEhcacheCacheConfiguration(
+            CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(100))
+                .withExpiry(expiryPolicy)));
+        return new RefreshAheadCache<>(cache, null, 0.8, Runnable::run, meterRegistry, clock);
+    }
+
+    private String load(String key) {
+        return key + "-" + loads.incrementAndGet();
+    }
+
+    private double count(String name, String... tags) {
+        return meterRegistry.get(name).tags(tags).counter().count();
+    }
+
+    @Test
+    public void testConcurrentMissesAreLoadedOnce() throws Exception {
+        RefreshAheadCache<String, String> cache = cache(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(100)));
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> cache.get("admin", key -> {
+            loading.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return load(key);
+        }));
+        assertThat(loading.await(10, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> cache.get("admin", this::load));
+        while (count("cache.loads.coalesced") == 0) {
+            Thread.sleep(10);
+        }
+        release.countDown();
+
+        assertThat(first.get(10, TimeUnit.SECONDS)).isEqualTo("admin-1");
+        assertThat(second.get(10, TimeUnit.SECONDS)).isEqualTo("admin-1");
+        assertThat(cache.get("admin", this::load)).isEqualTo("admin-1");
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(count("cache.loads")).isEqualTo(1);
+    }
+
+    @Test
+    public void testHotEntriesAreRefreshedBeforeTheyExpire() {
+        RefreshAheadCache<String, String> cache = cache(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(100)));
+        assertThat(cache.get("admin", this::load)).isEqualTo("admin-1");
+
+        now.set(79_000);
+        assertThat(cache.get("admin", this::load)).isEqualTo("admin-1");
+        assertThat(loads.get()).isEqualTo(1);
+
+        now.set(80_000);
+        assertThat(cache.get("admin", this::load)).isEqualTo("admin-1");
+        assertThat(cache.get("admin", this::load)).isEqualTo("admin-2");
+        assertThat(count("cache.refreshes", "result", "success")).isEqualTo(1);
+    }
+
+    @Test
+    public void testEntriesExpiringOnIdleAreNotRefreshed() {
+        RefreshAheadCache<String, String> cache = cache(ExpiryPolicyBuilder.timeToIdleExpiration(Duration.ofSeconds(100)));
+        cache.get("admin", this::load);
+
+        now.set(1_000_000);
+        assertThat(cache.get("admin", this::load)).isEqualTo("admin-1");
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testEvictionDiscardsTheLoadsInFlight() {
+        RefreshAheadCache<String, String> cache = cache(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(100)));
+
+        assertThat(cache.get("admin", key -> {
+            cache.evict(key);
+            return load(key);
+        })).isEqualTo("admin-1");
+
+        assertThat(cache.get("admin", this::load)).isEqualTo("admin-2");
+    }
+
+    @Test
+    public void testNullValuesAreCached() {
+        RefreshAheadCache<String, String> cache = cache(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(100)));
+
+        assertThat(cache.get("unknown", key -> {
+            loads.incrementAndGet();
+            return null;
+        })).isNull();
+        assertThat(cache.get("unknown", this::load)).isNull();
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testUnknownKeysAreCachedInTheNegativeCache() {
+        javax.cache.Cache<Object, Object> users = cacheManager.createCache("users", Eh107Configuration.fromEhcacheCacheConfiguration(
+            CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(100))
+                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(100)))));
+        javax.cache.Cache<Object, Object> unknownUsers = cacheManager.createCache("unknownUsers", Eh107Configuration.fromEhcacheCacheConfiguration(
+            CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(100))));
+        RefreshAheadCache<String, String> cache = new RefreshAheadCache<>(users, unknownUsers, 0.8, Runnable::run, meterRegistry, clock);
+
+        assertThat(cache.get("unknown", key -> {
+            loads.incrementAndGet();
+            return null;
+        })).isNull();
+        assertThat(cache.get("unknown", this::load)).isNull();
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(users.containsKey("unknown")).isFalse();
+        assertThat(unknownUsers.containsKey("unknown")).isTrue();
+
+        cache.evict("unknown");
+        assertThat(cache.get("unknown", this::load)).isEqualTo("unknown-2");
+        assertThat(unknownUsers.containsKey("unknown")).isFalse();
+    }
+}
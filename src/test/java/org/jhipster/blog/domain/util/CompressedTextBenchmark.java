@@ -0,0 +1,90 @@
+package org.jhipster.blog.domain.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the cost of storing entry content with {@link CompressedText}, against the bytes it saves.
+ * <p>
+ * Run the {@link #main(String[])} method with the test classpath, after {@code ./mvnw test-compile}. The size of
+ * the stored content compared to the original is printed for every content size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompressedTextBenchmark {
+
+    private static final String[] WORDS = {
+        "the", "of", "and", "a", "to", "in", "is", "you", "that", "it", "blog", "entry", "post", "cache",
+        "Hibernate", "query", "database", "Spring", "performance", "application", "JHipster", "index", "with",
+        "for", "this", "we", "can", "when", "which", "should", "request", "response", "transaction", "`code`"
+    };
+
+    @Param({"512", "4096", "65536"})
+    private int length;
+
+    private String content;
+
+    private String compressed;
+
+    /**
+     * Generate Markdown-like prose, as found in blog entries.
+     */
+    @Setup
+    public void setup() {
+        Random random = new Random(length);
+        StringBuilder builder = new StringBuilder(length + 64);
+        while (builder.length() < length) {
+            builder.append("## ").append(WORDS[random.nextInt(WORDS.length)]).append("\n\n");
+            for (int sentence = 0; sentence < 5 && builder.length() < length; sentence++) {
+                int words = 8 + random.nextInt(12);
+                for (int word = 0; word < words; word++) {
+                    builder.append(WORDS[random.nextInt(WORDS.length)]).append(word == words - 1 ? ". " : " ");
+                }
+            }
+            builder.append("\n\n");
+        }
+        content = builder.substring(0, length);
+        compressed = CompressedText.encode(content, 0);
+        System.out.printf("%nContent of %d bytes stored in %d bytes (%.0f%% saved)%n", content.getBytes(StandardCharsets.UTF_8).length,
+            compressed.length(), 100.0 * (1 - (double) compressed.length() / content.getBytes(StandardCharsets.UTF_8).length));
+    }
+
+    @Benchmark
+    public String write() {
+        return CompressedText.encode(content, 0);
+    }
+
+    @Benchmark
+    public String read() {
+        return CompressedText.decode(compressed);
+    }
+
+    @Benchmark
+    public String readPlain() {
+        return CompressedText.decode(content);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(CompressedTextBenchmark.class.getSimpleName()).build()).run();
+    }
+}
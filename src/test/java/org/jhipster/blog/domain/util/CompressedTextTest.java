@@ -0,0 +1,74 @@
+package org.jhipster.blog.domain.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test class for {@link CompressedText}.
+ */
+public class CompressedTextTest {
+
+    private static String repeat(String text, int times) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < times; i++) {
+            builder.append(text);
+        }
+        return builder.toString();
+    }
+
+    @Test
+    public void testLongValuesAreCompressed() {
+        String value = repeat("A long-form post about Hibernate, with some accents: été. ", 100);
+
+        String encoded = CompressedText.encode(value, 1024);
+
+        assertThat(encoded).startsWith("" + CompressedText.HEADER + CompressedText.DEFLATE);
+        assertThat(encoded.length()).isLessThan(value.length() / 4);
+        assertThat(CompressedText.decode(encoded)).isEqualTo(value);
+    }
+
+    @Test
+    public void testShortValuesAreStoredPlain() {
+        String value = repeat("short ", 10);
+
+        assertThat(CompressedText.encode(value, 1024)).isEqualTo(value);
+        assertThat(CompressedText.decode(value)).isEqualTo(value);
+        assertThat(CompressedText.encode(null, 1024)).isNull();
+        assertThat(CompressedText.decode(null)).isNull();
+        assertThat(CompressedText.encode("", 0)).isEmpty();
+    }
+
+    @Test
+    public void testIncompressibleValuesAreStoredPlain() {
+        Random random = new Random(42);
+        StringBuilder value = new StringBuilder();
+        for (int i = 0; i < 2048; i++) {
+            value.append((char) ('!' + random.nextInt(94)));
+        }
+
+        assertThat(CompressedText.encode(value.toString(), 1024)).isEqualTo(value.toString());
+    }
+
+    @Test
+    public void testValuesStartingWithTheHeaderAreEscaped() {
+        String value = CompressedText.HEADER + "Dnot compressed";
+
+        String encoded = CompressedText.encode(value, 1024);
+
+        assertThat(encoded).isNotEqualTo(value);
+        assertThat(CompressedText.decode(encoded)).isEqualTo(value);
+    }
+
+    @Test
+    public void testCorruptedValuesAreRejected() {
+        assertThatThrownBy(() -> CompressedText.decode(CompressedText.HEADER + "Xabc"))
+            .isInstanceOf(IllegalArgumentException.class);
+        String encoded = CompressedText.encode(repeat("truncated ", 200), 0);
+        assertThatThrownBy(() -> CompressedText.decode(encoded.substring(0, encoded.length() / 2)))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,95 @@
+package org.jhipster.blog.security;
+
+import org.jhipster.blog.web.rest.errors.TooManyRequestsException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for the {@link BulkheadPasswordEncoder} class.
+ */
+public class BulkheadPasswordEncoderTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1));
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testPasswordsAreHashedOnTheExecutor() {
+        PasswordEncoder reversingPasswordEncoder = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return new StringBuilder(rawPassword).reverse().toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encode(rawPassword).equals(encodedPassword);
+            }
+        };
+        PasswordEncoder passwordEncoder = new BulkheadPasswordEncoder(reversingPasswordEncoder, executor, 1, meterRegistry);
+
+        assertThat(passwordEncoder.encode("password")).isEqualTo("drowssap");
+        assertThat(passwordEncoder.matches("password", "drowssap")).isTrue();
+        assertThat(passwordEncoder.matches("password", "other")).isFalse();
+
+        assertThat(executor.getTaskCount()).isEqualTo(3);
+        assertThat(meterRegistry.get("password.hashing").tag("operation", "encode").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("password.hashing").tag("operation", "matches").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    public void testHashingFailsFastWhenTheExecutorIsFull() throws Exception {
+        CountDownLatch hashing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder slowPasswordEncoder = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                hashing.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encode(rawPassword).equals(encodedPassword);
+            }
+        };
+        PasswordEncoder passwordEncoder = new BulkheadPasswordEncoder(slowPasswordEncoder, executor, 5, meterRegistry);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> passwordEncoder.encode("running"));
+        assertThat(hashing.await(10, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> passwordEncoder.encode("queued"));
+        while (executor.getQueue().isEmpty()) {
+            Thread.sleep(10);
+        }
+
+        assertThatThrownBy(() -> passwordEncoder.matches("rejected", "rejected"))
+            .isInstanceOfSatisfying(TooManyRequestsException.class, e -> assertThat(e.getRetryAfterInSeconds()).isEqualTo(5));
+        assertThat(meterRegistry.get("password.hashing.rejected").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(10, TimeUnit.SECONDS)).isEqualTo("running");
+        assertThat(queued.get(10, TimeUnit.SECONDS)).isEqualTo("queued");
+    }
+}
@@ -0,0 +1,114 @@
+package org.jhipster.blog.security.jwt;
+
+import org.jhipster.blog.config.ApplicationProperties;
+import org.jhipster.blog.security.AuthoritiesConstants;
+
+import io.github.jhipster.config.JHipsterProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the authentication of a request by its JWT, as done by {@link JWTFilter}: validating then parsing
+ * the token again, as it used to, parsing it once, and getting it from the cache of verified tokens.
+ * <p>
+ * Run the {@link #main(String[])} method with the test classpath, after {@code ./mvnw test-compile}. The cache is
+ * shared by the requests, so the benchmark also runs with several threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenProviderBenchmark {
+
+    /**
+     * Number of distinct tokens authenticated in turn, as many users would.
+     */
+    @Param({"1", "1000"})
+    private int tokenCount;
+
+    private TokenProvider tokenProvider;
+
+    private TokenProvider uncachedTokenProvider;
+
+    private String[] tokens;
+
+    private int next;
+
+    @Setup
+    public void setup() throws Exception {
+        JHipsterProperties jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getSecurity().getAuthentication().getJwt().setBase64Secret(
+            "fd54a45s65fds737b9aafcb3412e07ed99b267f33413274720ddbb7f6c5e64e9f14075f2d7ed041592f0b7657baf8");
+        tokenProvider = new TokenProvider(jHipsterProperties, new ApplicationProperties());
+        tokenProvider.afterPropertiesSet();
+        ApplicationProperties uncachedProperties = new ApplicationProperties();
+        uncachedProperties.getJwt().setVerifiedTokensCacheSize(0);
+        uncachedTokenProvider = new TokenProvider(jHipsterProperties, uncachedProperties);
+        uncachedTokenProvider.afterPropertiesSet();
+
+        tokens = new String[tokenCount];
+        for (int i = 0; i < tokenCount; i++) {
+            tokens[i] = tokenProvider.createToken(new UsernamePasswordAuthenticationToken("user-" + i, "",
+                Arrays.asList(new SimpleGrantedAuthority(AuthoritiesConstants.USER),
+                    new SimpleGrantedAuthority(AuthoritiesConstants.ADMIN))), false);
+        }
+    }
+
+    private String nextToken() {
+        // Racy on purpose with several threads: any token will do
+        int index = next++;
+        if (index >= tokens.length) {
+            index = 0;
+            next = 1;
+        }
+        return tokens[index];
+    }
+
+    @Benchmark
+    public Authentication validateThenParse() {
+        String token = nextToken();
+        return tokenProvider.validateToken(token) ? tokenProvider.getAuthentication(token) : null;
+    }
+
+    @Benchmark
+    public Optional<Authentication> parseOnce() {
+        return uncachedTokenProvider.getValidAuthentication(nextToken());
+    }
+
+    @Benchmark
+    public Optional<Authentication> cached() {
+        return tokenProvider.getValidAuthentication(nextToken());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Optional<Authentication> cachedConcurrently() {
+        return tokenProvider.getValidAuthentication(nextToken());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(TokenProviderBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -1,5 +1,6 @@
 package org.jhipster.blog.security.jwt;
 
+import org.jhipster.blog.config.ApplicationProperties;
 import org.jhipster.blog.security.AuthoritiesConstants;
 
 import java.security.Key;
@@ -30,7 +31,7 @@ public class TokenProviderTest {
 
     @BeforeEach
     public void setup() {
-        tokenProvider = new TokenProvider( new JHipsterProperties());
+        tokenProvider = new TokenProvider( new JHipsterProperties(), new ApplicationProperties());
         key = Keys.hmacShaKeyFor(Decoders.BASE64
             .decode("fd54a45s65fds737b9aafcb3412e07ed99b267f33413274720ddbb7f6c5e64e9f14075f2d7ed041592f0b7657baf8"));
 
@@ -83,6 +84,33 @@ public class TokenProviderTest {
         assertThat(isTokenValid).isEqualTo(false);
     }
 
+    @Test
+    public void testGetValidAuthentication() {
+        String token = tokenProvider.createToken(createAuthentication(), false);
+
+        Optional<Authentication> authentication = tokenProvider.getValidAuthentication(token);
+
+        assertThat(authentication).isPresent();
+        assertThat(authentication.get().getName()).isEqualTo("anonymous");
+        assertThat(authentication.get().getCredentials()).isEqualTo(token);
+        assertThat(authentication.get().getAuthorities()).extracting(GrantedAuthority::getAuthority)
+            .containsExactly(AuthoritiesConstants.ANONYMOUS);
+
+        Authentication cached = tokenProvider.getValidAuthentication(token).get();
+        assertThat(cached).isNotSameAs(authentication.get());
+        assertThat(cached.getPrincipal()).isSameAs(authentication.get().getPrincipal());
+    }
+
+    @Test
+    public void testGetValidAuthenticationOfInvalidToken() {
+        ReflectionTestUtils.setField(tokenProvider, "tokenValidityInMilliseconds", -ONE_MINUTE);
+        String expiredToken = tokenProvider.createToken(createAuthentication(), false);
+
+        assertThat(tokenProvider.getValidAuthentication(createTokenWithDifferentSignature())).isEmpty();
+        assertThat(tokenProvider.getValidAuthentication(expiredToken)).isEmpty();
+        assertThat(tokenProvider.getValidAuthentication("")).isEmpty();
+    }
+
     private Authentication createAuthentication() {
         Collection<GrantedAuthority> authorities = new ArrayList<>();
         authorities.add(new SimpleGrantedAuthority(AuthoritiesConstants.ANONYMOUS));
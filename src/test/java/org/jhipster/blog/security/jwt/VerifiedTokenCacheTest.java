@@ -0,0 +1,104 @@
+package org.jhipster.blog.security.jwt;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the {@link VerifiedTokenCache} class.
+ */
+public class VerifiedTokenCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private final Clock clock = new Clock() {
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.of("UTC");
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(now.get());
+        }
+    };
+
+    private final AtomicInteger verifications = new AtomicInteger();
+
+    private VerifiedTokenCache.Verified<String> verify(String token) {
+        verifications.incrementAndGet();
+        return token.startsWith("invalid") ? null : new VerifiedTokenCache.Verified<>("user-" + token, 60_000);
+    }
+
+    @Test
+    public void testTokensAreVerifiedOnceUntilTheyExpire() {
+        VerifiedTokenCache<String> cache = new VerifiedTokenCache<>(100, clock);
+
+        assertThat(cache.get("token", this::verify)).isEqualTo("user-token");
+        now.set(59_999);
+        assertThat(cache.get("token", this::verify)).isEqualTo("user-token");
+        assertThat(verifications.get()).isEqualTo(1);
+
+        now.set(60_000);
+        assertThat(cache.get("token", this::verify)).isEqualTo("user-token");
+        assertThat(verifications.get()).isEqualTo(2);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    public void testInvalidTokensAreNotCached() {
+        VerifiedTokenCache<String> cache = new VerifiedTokenCache<>(100, clock);
+
+        assertThat(cache.get("invalid", this::verify)).isNull();
+        assertThat(cache.get("invalid", this::verify)).isNull();
+        assertThat(verifications.get()).isEqualTo(2);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    public void testCacheIsBounded() {
+        VerifiedTokenCache<String> cache = new VerifiedTokenCache<>(10, clock);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(cache.get("token-" + i, this::verify)).isEqualTo("user-token-" + i);
+        }
+
+        assertThat(cache.size()).isLessThanOrEqualTo(10);
+        assertThat(cache.get("token-99", this::verify)).isEqualTo("user-token-99");
+        assertThat(verifications.get()).isEqualTo(100);
+    }
+
+    @Test
+    public void testCacheCanBeDisabled() {
+        VerifiedTokenCache<String> cache = new VerifiedTokenCache<>(0, clock);
+
+        assertThat(cache.get("token", this::verify)).isEqualTo("user-token");
+        assertThat(cache.get("token", this::verify)).isEqualTo("user-token");
+        assertThat(verifications.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void testExpiredTokensAreEvictedFirst() {
+        VerifiedTokenCache<String> cache = new VerifiedTokenCache<>(2, clock);
+
+        cache.get("short", token -> new VerifiedTokenCache.Verified<>("user-short", 1_000));
+        cache.get("long", token -> new VerifiedTokenCache.Verified<>("user-long", 60_000));
+        now.set(1_000);
+        cache.get("other", this::verify);
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("long", this::verify)).isEqualTo("user-long");
+        assertThat(verifications.get()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,101 @@
+package org.jhipster.blog.security.ratelimit;
+
+import org.jhipster.blog.config.ApplicationProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.FilterChain;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Benchmark of the overhead of {@link RateLimitingFilter} on an allowed request, which should stay well under a
+ * microsecond and allocate nothing.
+ * <p>
+ * Run the {@link #main(String[])} method with the test classpath, after {@code ./mvnw test-compile}; add
+ * {@code -prof gc} to the JMH options to check the allocations. The buckets are shared, so the benchmark also runs
+ * with several threads, each with its own client address.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RateLimitingFilterBenchmark {
+
+    private static final FilterChain NO_OP = (request, response) -> { };
+
+    private RateLimitingFilter rateLimitingFilter;
+
+    @State(Scope.Thread)
+    public static class Client {
+
+        private static final AtomicInteger ADDRESSES = new AtomicInteger();
+
+        private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+        private MockHttpServletRequest rateLimitedRequest;
+
+        private MockHttpServletRequest otherRequest;
+
+        @Setup
+        public void setup() {
+            String remoteAddr = "10.0.0." + ADDRESSES.incrementAndGet();
+            rateLimitedRequest = new MockHttpServletRequest("POST", "/api/authenticate");
+            rateLimitedRequest.setRemoteAddr(remoteAddr);
+            otherRequest = new MockHttpServletRequest("GET", "/api/entries");
+            otherRequest.setRemoteAddr(remoteAddr);
+        }
+    }
+
+    /**
+     * Limits high enough for every request of the benchmark to be allowed.
+     */
+    @Setup
+    public void setup() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getRateLimit().getByIp().setCapacity(Integer.MAX_VALUE);
+        applicationProperties.getRateLimit().getByIp().setTokensPerMinute(Integer.MAX_VALUE);
+        rateLimitingFilter = new RateLimitingFilter(new RateLimitService(applicationProperties, new SimpleMeterRegistry()),
+            (request, response, handler, ex) -> {
+                throw new IllegalStateException("The benchmark requests should be allowed", ex);
+            });
+    }
+
+    @Benchmark
+    public void rateLimitedRequest(Client client) throws Exception {
+        rateLimitingFilter.doFilter(client.rateLimitedRequest, client.response, NO_OP);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void rateLimitedRequestConcurrently(Client client) throws Exception {
+        rateLimitingFilter.doFilter(client.rateLimitedRequest, client.response, NO_OP);
+    }
+
+    @Benchmark
+    public void otherRequest(Client client) throws Exception {
+        rateLimitingFilter.doFilter(client.otherRequest, client.response, NO_OP);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RateLimitingFilterBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,66 @@
+package org.jhipster.blog.security.ratelimit;
+
+import org.jhipster.blog.config.ApplicationProperties;
+import org.jhipster.blog.web.rest.errors.TooManyRequestsException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.servlet.ModelAndView;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RateLimitingFilterTest {
+
+    private RateLimitingFilter rateLimitingFilter;
+
+    @BeforeEach
+    public void setup() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getRateLimit().getByIp().setCapacity(2);
+        RateLimitService rateLimitService = new RateLimitService(applicationProperties, new SimpleMeterRegistry());
+        HandlerExceptionResolver handlerExceptionResolver = (request, response, handler, ex) -> {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(((TooManyRequestsException) ex).getRetryAfterInSeconds()));
+            return new ModelAndView();
+        };
+        rateLimitingFilter = new RateLimitingFilter(rateLimitService, handlerExceptionResolver);
+    }
+
+    private MockHttpServletResponse perform(String method, String uri, String remoteAddr) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr(remoteAddr);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain filterChain = new MockFilterChain();
+        rateLimitingFilter.doFilter(request, response, filterChain);
+        assertThat(filterChain.getRequest() != null).isEqualTo(response.getStatus() == HttpStatus.OK.value());
+        return response;
+    }
+
+    @Test
+    public void testRateLimitedPathIsLimitedByIp() throws Exception {
+        assertThat(perform("POST", "/api/authenticate", "10.0.0.1").getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(perform("POST", "/api/register", "10.0.0.1").getStatus()).isEqualTo(HttpStatus.OK.value());
+
+        MockHttpServletResponse response = perform("POST", "/api/account/reset-password/init", "10.0.0.1");
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("6");
+
+        assertThat(perform("POST", "/api/authenticate", "10.0.0.2").getStatus()).isEqualTo(HttpStatus.OK.value());
+    }
+
+    @Test
+    public void testOtherRequestsAreNotLimited() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            assertThat(perform("GET", "/api/authenticate", "10.0.0.1").getStatus()).isEqualTo(HttpStatus.OK.value());
+            assertThat(perform("POST", "/api/entries", "10.0.0.1").getStatus()).isEqualTo(HttpStatus.OK.value());
+            assertThat(perform("POST", "/api/authenticate/other", "10.0.0.1").getStatus()).isEqualTo(HttpStatus.OK.value());
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package org.jhipster.blog.security.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the {@link TokenBucketRateLimiter} class.
+ */
+public class TokenBucketRateLimiterTest {
+
+    private static final long ONE_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    // Far from 0, as nano times can be negative
+    private final AtomicLong now = new AtomicLong(-42 * ONE_SECOND);
+
+    @Test
+    public void testBurstIsLimitedToTheCapacity() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(3, 60, 100, now::get);
+
+        assertThat(limiter.tryAcquire("127.0.0.1")).isZero();
+        assertThat(limiter.tryAcquire("127.0.0.1")).isZero();
+        assertThat(limiter.tryAcquire("127.0.0.1")).isZero();
+        assertThat(limiter.tryAcquire("127.0.0.1")).isEqualTo(ONE_SECOND);
+        assertThat(limiter.tryAcquire("10.0.0.1")).isZero();
+    }
+
+    @Test
+    public void testTokensAreRefilledOverTime() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(2, 60, 100, now::get);
+        limiter.tryAcquire("127.0.0.1");
+        limiter.tryAcquire("127.0.0.1");
+
+        now.addAndGet(ONE_SECOND / 2);
+        assertThat(limiter.tryAcquire("127.0.0.1")).isEqualTo(ONE_SECOND / 2);
+
+        now.addAndGet(ONE_SECOND / 2);
+        assertThat(limiter.tryAcquire("127.0.0.1")).isZero();
+        assertThat(limiter.tryAcquire("127.0.0.1")).isEqualTo(ONE_SECOND);
+
+        now.addAndGet(10 * ONE_SECOND);
+        assertThat(limiter.tryAcquire("127.0.0.1")).isZero();
+        assertThat(limiter.tryAcquire("127.0.0.1")).isZero();
+        assertThat(limiter.tryAcquire("127.0.0.1")).isGreaterThan(0);
+    }
+
+    @Test
+    public void testFullBucketsExpire() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(2, 60, 100, now::get);
+        limiter.tryAcquire("127.0.0.1");
+        limiter.tryAcquire("127.0.0.1");
+        limiter.tryAcquire("10.0.0.1");
+
+        now.addAndGet(ONE_SECOND);
+        limiter.expire();
+        assertThat(limiter.size()).isEqualTo(1);
+
+        now.addAndGet(ONE_SECOND);
+        limiter.expire();
+        assertThat(limiter.size()).isZero();
+    }
+
+    @Test
+    public void testNumberOfBucketsIsBounded() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 1, 10, now::get);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.tryAcquire("10.0.0." + i)).isZero();
+        }
+        // No bucket is full, so none is dropped for a new key
+        for (int i = 10; i < 100; i++) {
+            assertThat(limiter.tryAcquire("10.0.0." + i)).isEqualTo(60 * ONE_SECOND);
+        }
+        assertThat(limiter.size()).isEqualTo(10);
+
+        now.addAndGet(60 * ONE_SECOND);
+        assertThat(limiter.tryAcquire("10.0.0.100")).isZero();
+        assertThat(limiter.size()).isEqualTo(10);
+        assertThat(limiter.tryAcquire("10.0.0.100")).isGreaterThan(0);
+    }
+
+    @Test
+    public void testRefundedTokensCanBeTakenAgain() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(2, 60, 100, now::get);
+        limiter.tryAcquire("user");
+        limiter.tryAcquire("user");
+
+        limiter.refund("user");
+        assertThat(limiter.tryAcquire("user")).isZero();
+        assertThat(limiter.tryAcquire("user")).isEqualTo(ONE_SECOND);
+
+        limiter.refund("user");
+        limiter.refund("user");
+        limiter.refund("user");
+        assertThat(limiter.tryAcquire("user")).isZero();
+        assertThat(limiter.tryAcquire("user")).isZero();
+        assertThat(limiter.tryAcquire("user")).isEqualTo(ONE_SECOND);
+    }
+}
@@ -0,0 +1,114 @@
+package org.jhipster.blog.service;
+
+import org.jhipster.blog.BlogApp;
+import org.jhipster.blog.domain.Blog;
+import org.jhipster.blog.repository.BlogRepository;
+import org.jhipster.blog.repository.UserRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for {@link CacheWarmUpService}.
+ */
+@SpringBootTest(classes = BlogApp.class, properties = {
+    "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+    "application.cache.warm-up.enabled=true",
+    "application.cache.warm-up.snapshot-file=target/cache-warm-up/hot-keys.json",
+    // Snapshots are only written when the tests ask
+    "application.cache.warm-up.snapshot-interval-in-seconds=3600"
+})
+public class CacheWarmUpServiceIT {
+
+    private static final Path SNAPSHOT_FILE = Paths.get("target/cache-warm-up/hot-keys.json");
+
+    @Autowired
+    private CacheWarmUpService cacheWarmUpService;
+
+    @Autowired
+    private CacheWarmUpHealthIndicator cacheWarmUpHealthIndicator;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private BlogRepository blogRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    private Blog blog;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        Files.deleteIfExists(SNAPSHOT_FILE);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        blog = transactionTemplate.execute(status -> blogRepository.save(new Blog().name("Cache warm-up").handle("cache-warm-up")));
+    }
+
+    @AfterEach
+    public void cleanup() {
+        transactionTemplate.execute(status -> {
+            blogRepository.deleteById(blog.getId());
+            return null;
+        });
+    }
+
+    @Test
+    public void testHotKeysAreLoadedFromTheSnapshot() throws Exception {
+        transactionTemplate.execute(status -> blogRepository.findById(blog.getId()));
+        userService.getUserWithAuthoritiesByLogin("admin");
+
+        cacheWarmUpService.snapshot();
+        assertThat(SNAPSHOT_FILE).exists();
+        assertThat(new String(Files.readAllBytes(SNAPSHOT_FILE), "UTF-8"))
+            .contains(Blog.class.getName()).contains("\"admin\"");
+
+        entityManagerFactory.getCache().evictAll();
+        cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).clear();
+        cacheWarmUpService.warmUp();
+
+        assertThat(entityManagerFactory.getCache().contains(Blog.class, blog.getId())).isTrue();
+        assertThat(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).get("admin")).isNotNull();
+        assertThat(meterRegistry.get("warmup.coverage").tag("region", Blog.class.getName()).gauge().value()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("warmup.keys").tag("region", UserRepository.USERS_BY_LOGIN_CACHE).tag("state", "loaded")
+            .gauge().value()).isGreaterThanOrEqualTo(1.0);
+        assertThat(cacheWarmUpHealthIndicator.health().getStatus()).isEqualTo(Status.UP);
+    }
+
+    @Test
+    public void testNothingIsLoadedWithoutSnapshot() {
+        int loadedKeys = cacheWarmUpService.getLoadedKeys();
+
+        cacheWarmUpService.warmUp();
+
+        assertThat(cacheWarmUpService.getLoadedKeys()).isEqualTo(loadedKeys);
+        assertThat(cacheWarmUpService.isWarmingUp()).isFalse();
+    }
+}
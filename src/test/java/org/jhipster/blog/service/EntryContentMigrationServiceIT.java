@@ -0,0 +1,98 @@
+package org.jhipster.blog.service;
+
+import org.jhipster.blog.BlogApp;
+import org.jhipster.blog.config.ApplicationProperties;
+import org.jhipster.blog.domain.Entry;
+import org.jhipster.blog.domain.util.CompressedText;
+import org.jhipster.blog.repository.EntryRepository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for {@link EntryContentMigrationService}.
+ */
+@SpringBootTest(classes = BlogApp.class)
+@Transactional
+public class EntryContentMigrationServiceIT {
+
+    private static final String LONG_CONTENT;
+
+    static {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            content.append("Paragraph ").append(i).append(" of a long-form post, which compresses well. ");
+        }
+        LONG_CONTENT = content.toString();
+    }
+
+    @Autowired
+    private EntryContentMigrationService entryContentMigrationService;
+
+    @Autowired
+    private EntryRepository entryRepository;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager em;
+
+    @AfterEach
+    public void disableCompression() {
+        applicationProperties.getEntryContent().getCompression().setEnabled(false);
+    }
+
+    private String storedContent(Long id) {
+        return jdbcTemplate.queryForObject("select content from entry where id = ?", String.class, id);
+    }
+
+    @Test
+    public void assertThatContentIsCompressedAndDecompressed() {
+        Entry longEntry = entryRepository.saveAndFlush(new Entry().title("long").content(LONG_CONTENT).date(Instant.now()));
+        Entry shortEntry = entryRepository.saveAndFlush(new Entry().title("short").content("short").date(Instant.now()));
+        Long version = longEntry.getVersion();
+        assertThat(storedContent(longEntry.getId())).isEqualTo(LONG_CONTENT);
+
+        // Compress the existing entries
+        applicationProperties.getEntryContent().getCompression().setEnabled(true);
+        assertThat(entryContentMigrationService.migrate()).isGreaterThanOrEqualTo(1);
+        assertThat(storedContent(longEntry.getId())).startsWith("" + CompressedText.HEADER + CompressedText.DEFLATE);
+        assertThat(storedContent(longEntry.getId()).length()).isLessThan(LONG_CONTENT.length() / 2);
+        assertThat(storedContent(shortEntry.getId())).isEqualTo("short");
+        assertThat(entryContentMigrationService.migrate()).isZero();
+
+        em.clear();
+        Entry reloaded = entryRepository.findById(longEntry.getId()).get();
+        assertThat(reloaded.getContent()).isEqualTo(LONG_CONTENT);
+        assertThat(reloaded.getVersion()).isEqualTo(version);
+
+        // Store them plain again
+        applicationProperties.getEntryContent().getCompression().setEnabled(false);
+        assertThat(entryContentMigrationService.migrate()).isGreaterThanOrEqualTo(1);
+        assertThat(storedContent(longEntry.getId())).isEqualTo(LONG_CONTENT);
+    }
+
+    @Test
+    public void assertThatNewContentIsCompressedWhenEnabled() {
+        applicationProperties.getEntryContent().getCompression().setEnabled(true);
+
+        Entry entry = entryRepository.saveAndFlush(new Entry().title("long").content(LONG_CONTENT).date(Instant.now()));
+
+        assertThat(storedContent(entry.getId())).startsWith("" + CompressedText.HEADER + CompressedText.DEFLATE);
+        em.clear();
+        assertThat(entryRepository.findById(entry.getId()).get().getContent()).isEqualTo(LONG_CONTENT);
+    }
+}
@@ -0,0 +1,97 @@
+package org.jhipster.blog.service;
+
+import org.jhipster.blog.BlogApp;
+import org.jhipster.blog.config.ApplicationProperties;
+import org.jhipster.blog.domain.Entry;
+import org.jhipster.blog.repository.EntryRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for {@link EntryHtmlService}, with the rendered HTML persisted.
+ */
+@SpringBootTest(classes = BlogApp.class)
+@Transactional
+public class EntryHtmlServiceIT {
+
+    @Autowired
+    private EntryRepository entryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private EntryHtmlService entryHtmlService;
+
+    private Entry entry;
+
+    @BeforeEach
+    public void init() {
+        cacheManager.getCache(EntryHtmlService.ENTRY_HTML_CACHE).clear();
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getEntryContent().getHtml().setPersist(true);
+        entryHtmlService = new EntryHtmlService(entryRepository, jdbcTemplate, cacheManager, applicationProperties);
+        entry = entryRepository.saveAndFlush(new Entry().title("Title").content("Some **bold** text").date(Instant.now()));
+    }
+
+    @Test
+    public void assertThatSavedEntriesArePersistedAndCachedOnCommit() {
+        entryHtmlService.entrySaved(entry);
+
+        Map<String, Object> row = jdbcTemplate.queryForMap("select content_html, content_html_version from entry where id = ?", entry.getId());
+        assertThat(row.get("content_html")).isEqualTo("<p>Some <strong>bold</strong> text</p>\n");
+        assertThat(((Number) row.get("content_html_version")).longValue()).isEqualTo(entry.getVersion());
+        // The transaction of the test is never committed
+        assertThat(cacheManager.getCache(EntryHtmlService.ENTRY_HTML_CACHE).get(entry.getId() + ":" + entry.getVersion())).isNull();
+    }
+
+    @Test
+    public void assertThatPersistedHtmlIsReadWhenNotCached() {
+        entryHtmlService.entrySaved(entry);
+        jdbcTemplate.update("update entry set content_html = ? where id = ?", "<p>persisted</p>", entry.getId());
+
+        assertThat(entryHtmlService.getHtml(entry)).isEqualTo("<p>persisted</p>");
+    }
+
+    @Test
+    public void assertThatHtmlOfAnotherVersionIsNotRead() {
+        jdbcTemplate.update("update entry set content_html = ?, content_html_version = ? where id = ?",
+            "<p>previous</p>", entry.getVersion() - 1, entry.getId());
+
+        assertThat(entryHtmlService.getHtml(entry.getId()))
+            .hasValueSatisfying(content -> {
+                assertThat(content.getVersion()).isEqualTo(entry.getVersion());
+                assertThat(content.getHtml()).isEqualTo("<p>Some <strong>bold</strong> text</p>\n");
+            });
+        assertThat(entryHtmlService.getHtml(Long.MAX_VALUE)).isEmpty();
+    }
+
+    @Test
+    public void assertThatCachedOrPersistedHtmlIsReadById() {
+        jdbcTemplate.update("update entry set content_html = ?, content_html_version = ? where id = ?",
+            "<p>persisted</p>", entry.getVersion(), entry.getId());
+
+        assertThat(entryHtmlService.getHtml(entry.getId()))
+            .hasValueSatisfying(content -> assertThat(content.getHtml()).isEqualTo("<p>persisted</p>"));
+
+        cacheManager.getCache(EntryHtmlService.ENTRY_HTML_CACHE).put(entry.getId() + ":" + entry.getVersion(), "<p>cached</p>");
+        assertThat(entryHtmlService.getHtml(entry.getId()))
+            .hasValueSatisfying(content -> {
+                assertThat(content.getVersion()).isEqualTo(entry.getVersion());
+                assertThat(content.getHtml()).isEqualTo("<p>cached</p>");
+            });
+    }
+}
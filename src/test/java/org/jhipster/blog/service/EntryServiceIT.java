@@ -0,0 +1,132 @@
+package org.jhipster.blog.service;
+
+import org.jhipster.blog.BlogApp;
+import org.jhipster.blog.domain.Blog;
+import org.jhipster.blog.domain.Entry;
+import org.jhipster.blog.domain.Tag;
+import org.jhipster.blog.repository.UserRepository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.io.ByteArrayOutputStream;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for {@link EntryService}.
+ */
+@SpringBootTest(classes = BlogApp.class)
+@Transactional
+public class EntryServiceIT {
+
+    private static final String LOGIN = "user";
+
+    private static final int ENTRY_COUNT = 7;
+
+    @Autowired
+    private EntryService entryService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void init() {
+        Blog blog = new Blog().name("statistics").handle("statistics").user(userRepository.findOneByLogin(LOGIN).get());
+        em.persist(blog);
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            Entry entry = new Entry().title("title-" + i).content("content-" + i).date(Instant.ofEpochSecond(i)).blog(blog);
+            for (int j = 0; j < 2; j++) {
+                Tag tag = new Tag().name("tag-" + i + "-" + j);
+                em.persist(tag);
+                entry.getTags().add(tag);
+            }
+            em.persist(entry);
+        }
+        em.flush();
+        em.clear();
+
+        statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @AfterEach
+    public void disableStatistics() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    public void assertThatAPageOfEntriesIsFetchedWithAFixedNumberOfStatements() {
+        Page<Entry> page = entryService.findAllWithEagerRelationships(LOGIN, PageRequest.of(0, 5));
+
+        assertThat(page.getTotalElements()).isEqualTo(ENTRY_COUNT);
+        assertThat(page.getContent()).hasSize(5);
+        assertThat(page.getContent()).extracting(Entry::getTitle)
+            .containsExactly("title-6", "title-5", "title-4", "title-3", "title-2");
+        page.getContent().forEach(entry -> assertThat(entry.getTags()).hasSize(2));
+        // One statement for the ids of the page, one for the count and one for the entries with their tags
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    public void assertThatTheStatementCountDoesNotDependOnThePageSize() {
+        Page<Entry> page = entryService.findAllWithEagerRelationships(LOGIN, PageRequest.of(0, 2));
+        page.getContent().forEach(entry -> assertThat(entry.getTags()).hasSize(2));
+        long smallPageStatements = statistics.getPrepareStatementCount();
+        em.clear();
+        statistics.clear();
+
+        page = entryService.findAllWithEagerRelationships(LOGIN, PageRequest.of(1, 3));
+        page.getContent().forEach(entry -> assertThat(entry.getTags()).hasSize(2));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(smallPageStatements);
+    }
+
+    @Test
+    public void assertThatEntriesAreExportedWithTheirTagsInAFixedNumberOfStatements() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long count = entryService.exportEntries(LOGIN, output);
+
+        assertThat(count).isEqualTo(ENTRY_COUNT);
+        String[] lines = output.toString("UTF-8").split("\n");
+        assertThat(lines).hasSize(ENTRY_COUNT);
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            JsonNode entry = objectMapper.readTree(lines[i]);
+            assertThat(entry.get("title").asText()).isEqualTo("title-" + i);
+            assertThat(entry.get("blog").get("name").asText()).isEqualTo("statistics");
+            assertThat(entry.get("tags")).hasSize(2);
+        }
+        // One statement for the entries, and one for the tags of every batch
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void assertThatOnlyTheEntriesOfTheUserAreExported() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        assertThat(entryService.exportEntries("someone-else", output)).isZero();
+        assertThat(output.size()).isZero();
+    }
+}
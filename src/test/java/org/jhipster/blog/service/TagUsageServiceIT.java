@@ -0,0 +1,141 @@
+package org.jhipster.blog.service;
+
+import org.jhipster.blog.BlogApp;
+import org.jhipster.blog.domain.Entry;
+import org.jhipster.blog.domain.Tag;
+import org.jhipster.blog.repository.TagRepository;
+import org.jhipster.blog.service.dto.TagUsageDTO;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Integration tests for {@link TagUsageService}.
+ */
+@SpringBootTest(classes = BlogApp.class)
+public class TagUsageServiceIT {
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager em;
+
+    private TagUsageService tagUsageService;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    public void init() {
+        tagUsageService = new TagUsageService(tagRepository);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    private static Tag tag(long id, String name) {
+        Tag tag = new Tag().name(name);
+        tag.setId(id);
+        return tag;
+    }
+
+    @Test
+    public void assertThatChangesAreAppliedOnCommit() {
+        transactionTemplate.execute(status -> {
+            tagUsageService.recordChange(Collections.emptySet(), Arrays.asList(tag(1L, "java"), tag(2L, "jhipster")));
+            tagUsageService.recordChange(Collections.emptySet(), Collections.singleton(tag(1L, "java")));
+            assertThat(tagUsageService.getCloud(10)).isEmpty();
+            return null;
+        });
+
+        assertThat(tagUsageService.getCloud(10))
+            .extracting(TagUsageDTO::getId, TagUsageDTO::getName, TagUsageDTO::getCount)
+            .containsExactly(tuple(1L, "java", 2L), tuple(2L, "jhipster", 1L));
+    }
+
+    @Test
+    public void assertThatChangesAreDiscardedOnRollback() {
+        transactionTemplate.execute(status -> {
+            tagUsageService.recordChange(Collections.emptySet(), Collections.singleton(tag(1L, "java")));
+            status.setRollbackOnly();
+            return null;
+        });
+
+        assertThat(tagUsageService.getCloud(10)).isEmpty();
+    }
+
+    @Test
+    public void assertThatUpdatesAndDeletesApplyDeltas() {
+        tagUsageService.recordChange(Collections.emptySet(), Arrays.asList(tag(1L, "java"), tag(2L, "jhipster")));
+        tagUsageService.recordChange(Collections.emptySet(), Collections.singleton(tag(1L, "java")));
+
+        tagUsageService.recordChange(Arrays.asList(1L, 2L), Arrays.asList(tag(2L, "jhipster"), tag(3L, "spring")));
+        tagUsageService.recordChange(Collections.singleton(1L), Collections.emptySet());
+
+        assertThat(tagUsageService.getCloud(10))
+            .extracting(TagUsageDTO::getId, TagUsageDTO::getCount)
+            .containsExactly(tuple(2L, 1L), tuple(3L, 1L));
+        assertThat(tagUsageService.getCloud(1)).hasSize(1);
+    }
+
+    @Test
+    public void assertThatTheCloudHasTheMostUsedTags() {
+        for (long id = 1; id <= 20; id++) {
+            for (long i = 0; i < id % 7; i++) {
+                tagUsageService.recordChange(Collections.emptySet(), Collections.singleton(tag(id, "tag-" + id)));
+            }
+        }
+
+        assertThat(tagUsageService.getCloud(4))
+            .extracting(TagUsageDTO::getName, TagUsageDTO::getCount)
+            .containsExactly(tuple("tag-13", 6L), tuple("tag-20", 6L), tuple("tag-6", 6L), tuple("tag-12", 5L));
+        assertThat(tagUsageService.getCloud(100)).hasSize(18);
+    }
+
+    @Test
+    public void assertThatRenamedTagsKeepTheirCount() {
+        tagUsageService.recordChange(Collections.emptySet(), Collections.singleton(tag(1L, "java")));
+
+        tagUsageService.tagSaved(tag(1L, "kotlin"));
+
+        assertThat(tagUsageService.getCloud(10))
+            .extracting(TagUsageDTO::getName, TagUsageDTO::getCount)
+            .containsExactly(tuple("kotlin", 1L));
+    }
+
+    @Test
+    @Transactional
+    public void assertThatReconcileCountsEntriesInTheDatabase() {
+        Tag used = new Tag().name("used");
+        em.persist(used);
+        Tag unused = new Tag().name("unused");
+        em.persist(unused);
+        for (int i = 0; i < 3; i++) {
+            em.persist(new Entry().title("title-" + i).content("content").date(Instant.now()).addTag(used));
+        }
+        em.flush();
+        tagUsageService.recordChange(Collections.emptySet(), Collections.singleton(tag(-1L, "stale")));
+
+        tagUsageService.reconcile();
+
+        assertThat(tagUsageService.getCloud(Integer.MAX_VALUE))
+            .extracting(TagUsageDTO::getId, TagUsageDTO::getName, TagUsageDTO::getCount)
+            .contains(tuple(used.getId(), "used", 3L))
+            .extracting(tuple -> tuple.toArray()[0])
+            .doesNotContain(unused.getId(), -1L);
+    }
+}
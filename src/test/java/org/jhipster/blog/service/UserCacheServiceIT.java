@@ -0,0 +1,89 @@
+package org.jhipster.blog.service;
+
+import org.jhipster.blog.BlogApp;
+import org.jhipster.blog.domain.User;
+import org.jhipster.blog.repository.UserRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for {@link UserCacheService}.
+ */
+@SpringBootTest(classes = BlogApp.class)
+@Transactional
+public class UserCacheServiceIT {
+
+    @Autowired
+    private UserCacheService userCacheService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private User user;
+
+    @BeforeEach
+    public void init() {
+        String login = "cached-" + RandomStringUtils.randomAlphanumeric(8).toLowerCase();
+        user = new User();
+        user.setLogin(login);
+        user.setPassword(RandomStringUtils.random(60));
+        user.setActivated(true);
+        user.setEmail(login + "@localhost");
+        user.setLangKey("en");
+    }
+
+    private double loads(String cacheName) {
+        return meterRegistry.get("cache.loads").tag("name", cacheName).counter().count();
+    }
+
+    @Test
+    public void testUsersAreLoadedOnce() {
+        userRepository.saveAndFlush(user);
+        double loads = loads(UserRepository.USERS_BY_LOGIN_CACHE);
+
+        assertThat(userCacheService.getUserWithAuthoritiesByLogin(user.getLogin())).isPresent();
+        assertThat(userCacheService.getUserWithAuthoritiesByLogin(user.getLogin())).isPresent();
+
+        assertThat(loads(UserRepository.USERS_BY_LOGIN_CACHE)).isEqualTo(loads + 1);
+    }
+
+    @Test
+    public void testUnknownLoginsAreNotLookedUpAgain() {
+        assertThat(userCacheService.getUserWithAuthoritiesByLogin(user.getLogin())).isEmpty();
+        assertThat(cacheManager.getCache(UserRepository.UNKNOWN_LOGINS_CACHE).get(user.getLogin())).isNotNull();
+        assertThat(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).get(user.getLogin())).isNull();
+
+        userRepository.saveAndFlush(user);
+        assertThat(userCacheService.getUserWithAuthoritiesByLogin(user.getLogin())).isEmpty();
+
+        userCacheService.evict(user);
+        assertThat(userCacheService.getUserWithAuthoritiesByLogin(user.getLogin())).isPresent();
+        assertThat(cacheManager.getCache(UserRepository.UNKNOWN_LOGINS_CACHE).get(user.getLogin())).isNull();
+    }
+
+    @Test
+    public void testUnknownEmailsAreNotLookedUpAgain() {
+        assertThat(userCacheService.getUserWithAuthoritiesByEmail(user.getEmail())).isEmpty();
+        double loads = loads(UserRepository.USERS_BY_EMAIL_CACHE);
+
+        assertThat(userCacheService.getUserWithAuthoritiesByEmail(user.getEmail())).isEmpty();
+
+        assertThat(loads(UserRepository.USERS_BY_EMAIL_CACHE)).isEqualTo(loads);
+        assertThat(cacheManager.getCache(UserRepository.UNKNOWN_EMAILS_CACHE).get(user.getEmail())).isNotNull();
+    }
+}
@@ -0,0 +1,113 @@
+package org.jhipster.blog.service.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the {@link InvertedIndex}.
+ */
+public class InvertedIndexTest {
+
+    private InvertedIndex index;
+
+    @BeforeEach
+    public void setup() {
+        index = new InvertedIndex();
+    }
+
+    private void add(long id, String owner, String title, String content) {
+        index.add(InvertedIndex.analyze(new EntryDocument(id, title, content, owner)));
+    }
+
+    @Test
+    public void testTokenizer() {
+        assertThat(Tokenizer.tokenize("Hello, World! It's 2019: ÉTÉ a-b")).containsExactly("hello", "world", "it", "2019", "été");
+        assertThat(Tokenizer.tokenize(null)).isEmpty();
+    }
+
+    @Test
+    public void testSearchRanksByRelevance() {
+        add(1L, "user", "Cooking", "pasta pasta pasta and some tomato");
+        add(2L, "user", "Travel", "a long trip with a single mention of pasta and many other words to make it longer");
+        add(3L, "user", "Pasta", "a recipe");
+        add(4L, "user", "Music", "nothing in common");
+
+        InvertedIndex.Hits hits = index.search("pasta", "user", 0, 10);
+
+        assertThat(hits.getTotal()).isEqualTo(3);
+        // A match in a short title beats repeated matches in the content, which beat a single one in a long text
+        assertThat(hits.getEntryIds()).containsExactly(3L, 1L, 2L);
+    }
+
+    @Test
+    public void testSearchIsFilteredByOwner() {
+        add(1L, "user", "Pasta", "recipe");
+        add(2L, "admin", "Pasta", "recipe");
+        add(3L, null, "Pasta", "recipe");
+
+        assertThat(index.search("pasta", "user", 0, 10).getEntryIds()).containsExactly(1L);
+        assertThat(index.search("pasta", "admin", 0, 10).getEntryIds()).containsExactly(2L);
+        assertThat(index.search("pasta", "unknown", 0, 10).getTotal()).isZero();
+        assertThat(index.search("pasta", null, 0, 10).getTotal()).isZero();
+    }
+
+    @Test
+    public void testSearchIsScoredOnTheEntriesOfTheOwner() {
+        add(1L, "user", "Pasta", "recipe");
+        add(2L, "user", "Pizza", "recipe");
+        for (long id = 3; id < 100; id++) {
+            add(id, "admin", "Pizza", "recipe");
+        }
+
+        // Pasta and pizza are as rare in the entries of the user, whatever the other users write
+        assertThat(index.search("pasta pizza", "user", 0, 10).getEntryIds()).containsExactly(2L, 1L);
+        index.remove(2L);
+        assertThat(index.search("pasta pizza", "user", 0, 10).getEntryIds()).containsExactly(1L);
+    }
+
+    @Test
+    public void testSearchIsPaginated() {
+        for (long id = 1; id <= 5; id++) {
+            add(id, "user", "Pasta", "recipe");
+        }
+
+        InvertedIndex.Hits hits = index.search("pasta", "user", 2, 2);
+
+        assertThat(hits.getTotal()).isEqualTo(5);
+        // Equal scores are ordered newest first
+        assertThat(hits.getEntryIds()).containsExactly(3L, 2L);
+    }
+
+    @Test
+    public void testUpdateAndRemove() {
+        add(1L, "user", "Pasta", "recipe");
+        add(1L, "user", "Pizza", "recipe");
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.search("pasta", "user", 0, 10).getTotal()).isZero();
+        assertThat(index.search("pizza", "user", 0, 10).getEntryIds()).containsExactly(1L);
+
+        index.remove(1L);
+
+        assertThat(index.size()).isZero();
+        assertThat(index.search("pizza recipe", "user", 0, 10).getTotal()).isZero();
+    }
+
+    @Test
+    public void testCompaction() {
+        for (long id = 0; id < 3000; id++) {
+            add(id, "user", "Entry " + id, "shared");
+        }
+        for (long id = 0; id < 2900; id++) {
+            index.remove(id);
+        }
+
+        assertThat(index.size()).isEqualTo(100);
+        InvertedIndex.Hits hits = index.search("shared", "user", 0, 1000);
+        assertThat(hits.getTotal()).isEqualTo(100);
+        assertThat(hits.getEntryIds()).hasSize(100).allMatch(id -> id >= 2900);
+        assertThat(index.search("2950", "user", 0, 10).getEntryIds()).containsExactly(2950L);
+    }
+}
@@ -0,0 +1,70 @@
+package org.jhipster.blog.service.search;
+
+import org.jhipster.blog.service.dto.TagUsageDTO;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of tag suggestions over a million tags, reporting latency percentiles.
+ * <p>
+ * Run the {@link #main(String[])} method with the test classpath, after {@code ./mvnw test-compile}. Prefixes of one
+ * letter match tens of thousands of tags, and longer ones a handful.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class TagSuggestionIndexBenchmark {
+
+    private static final int TAGS = 1_000_000;
+
+    @Param({"j", "ja", "jav"})
+    private String prefix;
+
+    private TagSuggestionIndex index;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        List<TagUsageDTO> tags = new ArrayList<>(TAGS);
+        for (long id = 0; id < TAGS; id++) {
+            StringBuilder name = new StringBuilder();
+            for (int i = 0, length = 3 + random.nextInt(10); i < length; i++) {
+                name.append((char) ('a' + random.nextInt(26)));
+            }
+            // Usage follows a power law, as few tags are used a lot
+            long count = (long) (1 / Math.pow(1 - random.nextDouble(), 1.2));
+            tags.add(new TagUsageDTO(id, name.toString(), count));
+        }
+        index = TagSuggestionIndex.build(tags);
+    }
+
+    @Benchmark
+    public Object suggest() {
+        return index.suggest(prefix, 10);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(TagSuggestionIndexBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,73 @@
+package org.jhipster.blog.service.search;
+
+import org.jhipster.blog.service.dto.TagUsageDTO;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the {@link TagSuggestionIndex}.
+ */
+public class TagSuggestionIndexTest {
+
+    private static List<String> suggest(TagSuggestionIndex index, String prefix, int limit) {
+        return index.suggest(prefix, limit).stream().map(TagUsageDTO::getName).collect(Collectors.toList());
+    }
+
+    @Test
+    public void testSuggestRanksByUsage() {
+        TagSuggestionIndex index = TagSuggestionIndex.build(Arrays.asList(
+            new TagUsageDTO(1L, "Java", 5),
+            new TagUsageDTO(2L, "javascript", 12),
+            new TagUsageDTO(3L, "JHipster", 40),
+            new TagUsageDTO(4L, "jakarta", 5),
+            new TagUsageDTO(5L, "kotlin", 100)));
+
+        assertThat(suggest(index, "ja", 10)).containsExactly("javascript", "jakarta", "Java");
+        assertThat(suggest(index, "J", 2)).containsExactly("JHipster", "javascript");
+        assertThat(suggest(index, " JAVA", 10)).containsExactly("javascript", "Java");
+        assertThat(suggest(index, "", 1)).containsExactly("kotlin");
+        assertThat(suggest(index, "python", 10)).isEmpty();
+        assertThat(suggest(index, "kotlinx", 10)).isEmpty();
+    }
+
+    @Test
+    public void testEmptyIndex() {
+        assertThat(TagSuggestionIndex.empty().suggest("a", 10)).isEmpty();
+        assertThat(TagSuggestionIndex.build(Collections.emptyList()).suggest("", 10)).isEmpty();
+    }
+
+    @Test
+    public void testSuggestMatchesAScan() {
+        Random random = new Random(42);
+        List<TagUsageDTO> tags = new ArrayList<>();
+        for (long id = 0; id < 5000; id++) {
+            StringBuilder name = new StringBuilder();
+            for (int i = 0, length = 1 + random.nextInt(6); i < length; i++) {
+                name.append((char) ('a' + random.nextInt(4)));
+            }
+            tags.add(new TagUsageDTO(id, name.toString(), random.nextInt(50)));
+        }
+        TagSuggestionIndex index = TagSuggestionIndex.build(tags);
+
+        for (String prefix : Arrays.asList("", "a", "ab", "dca", "bbbb", "abcdab")) {
+            List<Long> expected = tags.stream()
+                .filter(tag -> tag.getName().startsWith(prefix))
+                .sorted(Comparator.comparingLong(TagUsageDTO::getCount).reversed()
+                    .thenComparing(TagUsageDTO::getName).thenComparing(TagUsageDTO::getId))
+                .limit(20)
+                .map(TagUsageDTO::getId)
+                .collect(Collectors.toList());
+            assertThat(index.suggest(prefix, 20)).extracting(TagUsageDTO::getId).containsExactlyElementsOf(expected);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package org.jhipster.blog.service.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the throughput of {@link MarkdownRenderer}, which bounds how often an entry can be rendered
+ * instead of being served from the HTML cache.
+ * <p>
+ * Run the {@link #main(String[])} method with the test classpath, after {@code ./mvnw test-compile}. The renderer
+ * is shared, so the benchmark also runs with several threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MarkdownRendererBenchmark {
+
+    private static final String[] WORDS = {
+        "the", "of", "and", "a", "to", "in", "is", "you", "that", "it", "blog", "entry", "post", "cache",
+        "Hibernate", "query", "database", "Spring", "performance", "application", "JHipster", "index", "with",
+        "for", "this", "we", "can", "when", "which", "should", "request", "response", "transaction", "`code`",
+        "*emphasis*", "**strong**", "[link](https://www.jhipster.tech)", "<b>raw</b>"
+    };
+
+    @Param({"512", "4096", "65536"})
+    private int length;
+
+    private String content;
+
+    /**
+     * Generate Markdown with headings, paragraphs, lists and code blocks, as found in blog entries.
+     */
+    @Setup
+    public void setup() {
+        Random random = new Random(length);
+        StringBuilder builder = new StringBuilder(length + 256);
+        while (builder.length() < length) {
+            builder.append("## ").append(WORDS[random.nextInt(WORDS.length)]).append("\n\n");
+            for (int sentence = 0; sentence < 5; sentence++) {
+                int words = 8 + random.nextInt(12);
+                for (int word = 0; word < words; word++) {
+                    builder.append(WORDS[random.nextInt(WORDS.length)]).append(word == words - 1 ? ". " : " ");
+                }
+            }
+            builder.append("\n\n- ").append(WORDS[random.nextInt(WORDS.length)])
+                .append("\n- ").append(WORDS[random.nextInt(WORDS.length)]).append("\n\n")
+                .append("```java\nentryRepository.findById(id);\n```\n\n");
+        }
+        content = builder.toString();
+    }
+
+    @Benchmark
+    public String render() {
+        return MarkdownRenderer.render(content);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String renderConcurrently() {
+        return MarkdownRenderer.render(content);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(MarkdownRendererBenchmark.class.getSimpleName()).build()).run();
+    }
+}
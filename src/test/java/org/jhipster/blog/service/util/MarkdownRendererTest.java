@@ -0,0 +1,41 @@
+package org.jhipster.blog.service.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for {@link MarkdownRenderer}.
+ */
+public class MarkdownRendererTest {
+
+    @Test
+    public void testMarkdownIsRendered() {
+        String html = MarkdownRenderer.render("## Caching\n\nSome *emphasis*, `code` and a [link](https://www.jhipster.tech).\n\n- one\n- two");
+
+        assertThat(html).isEqualTo("<h2>Caching</h2>\n" +
+            "<p>Some <em>emphasis</em>, <code>code</code> and a <a rel=\"nofollow\" href=\"https://www.jhipster.tech\">link</a>.</p>\n" +
+            "<ul>\n<li>one</li>\n<li>two</li>\n</ul>\n");
+    }
+
+    @Test
+    public void testRawHtmlIsEscaped() {
+        String html = MarkdownRenderer.render("<script>alert(1)</script>\n\nText with <img src=x onerror=alert(1)>");
+
+        assertThat(html).doesNotContain("<script>").doesNotContain("<img");
+        assertThat(html).contains("&lt;script&gt;alert(1)&lt;/script&gt;");
+    }
+
+    @Test
+    public void testUnsafeUrlsAreDropped() {
+        String html = MarkdownRenderer.render("[click](javascript:alert(1)) ![image](vbscript:msgbox) [mail](mailto:blog@localhost)");
+
+        assertThat(html).doesNotContain("javascript:").doesNotContain("vbscript:");
+        assertThat(html).contains("href=\"mailto:blog@localhost\"");
+    }
+
+    @Test
+    public void testNullContent() {
+        assertThat(MarkdownRenderer.render(null)).isEmpty();
+    }
+}
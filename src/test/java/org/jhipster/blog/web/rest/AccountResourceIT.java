@@ -7,6 +7,7 @@ import org.jhipster.blog.domain.User;
 import org.jhipster.blog.repository.AuthorityRepository;
 import org.jhipster.blog.repository.UserRepository;
 import org.jhipster.blog.security.AuthoritiesConstants;
+import org.jhipster.blog.security.ratelimit.RateLimitService;
 import org.jhipster.blog.service.MailService;
 import org.jhipster.blog.service.UserService;
 import org.jhipster.blog.service.dto.PasswordChangeDTO;
@@ -64,6 +65,9 @@ public class AccountResourceIT {
     @Autowired
     private ExceptionTranslator exceptionTranslator;
 
+    @Autowired
+    private RateLimitService rateLimitService;
+
     @Mock
     private UserService mockUserService;
 
@@ -79,10 +83,10 @@ public class AccountResourceIT {
         MockitoAnnotations.initMocks(this);
         doNothing().when(mockMailService).sendActivationEmail(any());
         AccountResource accountResource =
-            new AccountResource(userRepository, userService, mockMailService);
+            new AccountResource(userRepository, userService, mockMailService, rateLimitService);
 
         AccountResource accountUserMockResource =
-            new AccountResource(userRepository, mockUserService, mockMailService);
+            new AccountResource(userRepository, mockUserService, mockMailService, rateLimitService);
         this.restMvc = MockMvcBuilders.standaloneSetup(accountResource)
             .setMessageConverters(httpMessageConverters)
             .setControllerAdvice(exceptionTranslator)
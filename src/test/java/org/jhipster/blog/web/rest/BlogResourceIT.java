@@ -4,6 +4,7 @@ import org.jhipster.blog.BlogApp;
 import org.jhipster.blog.domain.Blog;
 import org.jhipster.blog.repository.BlogRepository;
 import org.jhipster.blog.repository.UserRepository;
+import org.jhipster.blog.service.BlogService;
 import org.jhipster.blog.web.rest.errors.ExceptionTranslator;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -12,6 +13,7 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.security.test.context.support.WithMockUser;
@@ -56,6 +58,9 @@ public class BlogResourceIT {
     @Autowired
     private EntityManager em;
 
+    @Autowired
+    private BlogService blogService;
+
     @Autowired
     private UserRepository userRepository;
 
@@ -69,7 +74,7 @@ public class BlogResourceIT {
     @BeforeEach
     public void setup() {
         MockitoAnnotations.initMocks(this);
-        final BlogResource blogResource = new BlogResource(blogRepository);
+        final BlogResource blogResource = new BlogResource(blogRepository, blogService);
         this.restBlogMockMvc = MockMvcBuilders.standaloneSetup(blogResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
             .setControllerAdvice(exceptionTranslator)
@@ -217,6 +222,19 @@ public class BlogResourceIT {
             .andExpect(jsonPath("$.handle").value(DEFAULT_HANDLE.toString()));
     }
 
+    @Test
+    @Transactional
+    @WithMockUser
+    public void getBlogWithIfNoneMatch() throws Exception {
+        // Initialize the database
+        blogRepository.saveAndFlush(blog);
+
+        restBlogMockMvc.perform(get("/api/blogs/{id}", blog.getId())
+            .header(HttpHeaders.IF_NONE_MATCH, "\"" + blog.getVersion() + "\""))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + blog.getVersion() + "\""));
+    }
+
     @Test
     @Transactional
     public void getNonExistingBlog() throws Exception {
@@ -255,6 +273,26 @@ public class BlogResourceIT {
         assertThat(testBlog.getHandle()).isEqualTo(UPDATED_HANDLE);
     }
 
+    @Test
+    @Transactional
+    @WithMockUser
+    public void updateBlogWithOutdatedIfMatch() throws Exception {
+        // Initialize the database
+        blogRepository.saveAndFlush(blog);
+
+        Blog updatedBlog = blogRepository.findById(blog.getId()).get();
+        em.detach(updatedBlog);
+        updatedBlog.name(UPDATED_NAME);
+
+        restBlogMockMvc.perform(put("/api/blogs")
+            .header(HttpHeaders.IF_MATCH, "W/\"" + blog.getVersion() + "\"")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(updatedBlog)))
+            .andExpect(status().isPreconditionFailed());
+
+        assertThat(blogRepository.findById(blog.getId()).get().getName()).isEqualTo(DEFAULT_NAME);
+    }
+
     @Test
     @Transactional
     public void updateNonExistingBlog() throws Exception {
@@ -292,6 +330,22 @@ public class BlogResourceIT {
         assertThat(blogList).hasSize(databaseSizeBeforeDelete - 1);
     }
 
+    @Test
+    @Transactional
+    @WithMockUser("someone-else")
+    public void deleteBlogOfAnotherUser() throws Exception {
+        // Initialize the database
+        blogRepository.saveAndFlush(blog);
+
+        int databaseSizeBeforeDelete = blogRepository.findAll().size();
+
+        restBlogMockMvc.perform(delete("/api/blogs/{id}", blog.getId())
+            .accept(TestUtil.APPLICATION_JSON_UTF8))
+            .andExpect(status().isForbidden());
+
+        assertThat(blogRepository.findAll()).hasSize(databaseSizeBeforeDelete);
+    }
+
     @Test
     @Transactional
     public void equalsVerifier() throws Exception {
@@ -1,8 +1,15 @@
 package org.jhipster.blog.web.rest;
 
 import org.jhipster.blog.BlogApp;
+import org.jhipster.blog.domain.Blog;
 import org.jhipster.blog.domain.Entry;
+import org.jhipster.blog.domain.Tag;
 import org.jhipster.blog.repository.EntryRepository;
+import org.jhipster.blog.repository.UserRepository;
+import org.jhipster.blog.service.EntryHtmlService;
+import org.jhipster.blog.service.EntryImportService;
+import org.jhipster.blog.service.EntryService;
+import org.jhipster.blog.service.search.EntrySearchService;
 import org.jhipster.blog.web.rest.errors.ExceptionTranslator;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -15,22 +22,33 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
 import org.springframework.http.MediaType;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.StringHttpMessageConverter;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Base64Utils;
 import org.springframework.validation.Validator;
 
 import javax.persistence.EntityManager;
+import java.io.ByteArrayInputStream;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 
 import static org.jhipster.blog.web.rest.TestUtil.createFormattingConversionService;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.everyItem;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -65,6 +83,21 @@ public class EntryResourceIT {
     @Autowired
     private ExceptionTranslator exceptionTranslator;
 
+    @Autowired
+    private EntryService entryService;
+
+    @Autowired
+    private EntrySearchService entrySearchService;
+
+    @Autowired
+    private EntryImportService entryImportService;
+
+    @Autowired
+    private EntryHtmlService entryHtmlService;
+
+    @Autowired
+    private UserRepository userRepository;
+
     @Autowired
     private EntityManager em;
 
@@ -78,12 +111,13 @@ public class EntryResourceIT {
     @BeforeEach
     public void setup() {
         MockitoAnnotations.initMocks(this);
-        final EntryResource entryResource = new EntryResource(entryRepository);
+        final EntryResource entryResource = new EntryResource(entryRepository, entryService, entrySearchService, entryImportService,
+            entryHtmlService);
         this.restEntryMockMvc = MockMvcBuilders.standaloneSetup(entryResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
             .setControllerAdvice(exceptionTranslator)
             .setConversionService(createFormattingConversionService())
-            .setMessageConverters(jacksonMessageConverter)
+            .setMessageConverters(jacksonMessageConverter, new StringHttpMessageConverter())
             .setValidator(validator).build();
     }
 
@@ -211,9 +245,297 @@ public class EntryResourceIT {
             .andExpect(jsonPath("$.[*].date").value(hasItem(DEFAULT_DATE.toString())));
     }
     
+    @Test
+    @Transactional
+    @WithMockUser
+    public void getAllEntriesWithKeysetPagination() throws Exception {
+        // Initialize the database with three entries of the current user, two of them sharing the same date
+        Blog blog = new Blog().name("keyset").handle("keyset").user(userRepository.findOneByLogin("user").get());
+        em.persist(blog);
+        Entry first = createEntity(em).blog(blog).date(UPDATED_DATE);
+        Entry second = createEntity(em).blog(blog);
+        Entry third = createEntity(em).blog(blog);
+        entryRepository.saveAndFlush(first);
+        entryRepository.saveAndFlush(second);
+        entryRepository.saveAndFlush(third);
+
+        // Get the first page, newest first and ties broken by descending id
+        MvcResult result = restEntryMockMvc.perform(get("/api/entries?after=&size=2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$.[0].id").value(first.getId().intValue()))
+            .andExpect(jsonPath("$.[1].id").value(third.getId().intValue()))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("rel=\"next\"")))
+            .andReturn();
+
+        // Follow the cursor to the last page, which has no next link
+        String link = result.getResponse().getHeader(HttpHeaders.LINK);
+        String next = link.substring(link.indexOf("/api/entries"), link.indexOf('>'));
+        restEntryMockMvc.perform(get(next))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(second.getId().intValue()))
+            .andExpect(header().doesNotExist(HttpHeaders.LINK));
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser
+    public void getAllEntriesWithKeysetPaginationAcrossBlogs() throws Exception {
+        // Initialize the database with entries of the current user interleaved across two blogs
+        Blog blog = new Blog().name("keyset").handle("keyset").user(userRepository.findOneByLogin("user").get());
+        Blog otherBlog = new Blog().name("keyset-other").handle("keyset-other").user(blog.getUser());
+        em.persist(blog);
+        em.persist(otherBlog);
+        Entry first = createEntity(em).blog(blog).date(DEFAULT_DATE.plusSeconds(3));
+        Entry second = createEntity(em).blog(otherBlog).date(DEFAULT_DATE.plusSeconds(2));
+        Entry third = createEntity(em).blog(blog).date(DEFAULT_DATE.plusSeconds(1));
+        Entry fourth = createEntity(em).blog(otherBlog).date(DEFAULT_DATE.plusSeconds(1));
+        Entry fifth = createEntity(em).blog(blog);
+        entryRepository.saveAndFlush(first);
+        entryRepository.saveAndFlush(second);
+        entryRepository.saveAndFlush(third);
+        entryRepository.saveAndFlush(fourth);
+        entryRepository.saveAndFlush(fifth);
+
+        // Each page merges the entries of both blogs, newest first and ties broken by descending id
+        MvcResult result = restEntryMockMvc.perform(get("/api/entries?after=&size=2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(first.getId().intValue(), second.getId().intValue())))
+            .andReturn();
+        String link = result.getResponse().getHeader(HttpHeaders.LINK);
+        result = restEntryMockMvc.perform(get(link.substring(link.indexOf("/api/entries"), link.indexOf('>'))))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(fourth.getId().intValue(), third.getId().intValue())))
+            .andReturn();
+        link = result.getResponse().getHeader(HttpHeaders.LINK);
+        restEntryMockMvc.perform(get(link.substring(link.indexOf("/api/entries"), link.indexOf('>'))))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(fifth.getId().intValue())))
+            .andExpect(header().doesNotExist(HttpHeaders.LINK));
+
+        // Summaries are paged the same way
+        result = restEntryMockMvc.perform(get("/api/entries?view=summary&after=&size=3"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(first.getId().intValue(), second.getId().intValue(), fourth.getId().intValue())))
+            .andExpect(jsonPath("$.[*].blogName").value(contains("keyset", "keyset-other", "keyset-other")))
+            .andReturn();
+        link = result.getResponse().getHeader(HttpHeaders.LINK);
+        restEntryMockMvc.perform(get(link.substring(link.indexOf("/api/entries"), link.indexOf('>'))))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(third.getId().intValue(), fifth.getId().intValue())))
+            .andExpect(header().doesNotExist(HttpHeaders.LINK));
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser
+    public void getAllEntrySummaries() throws Exception {
+        // Initialize the database with a tagged entry of the current user
+        Blog blog = new Blog().name("summary").handle("summary").user(userRepository.findOneByLogin("user").get());
+        em.persist(blog);
+        Tag tag = new Tag().name("summary-tag");
+        em.persist(tag);
+        entry.blog(blog).getTags().add(tag);
+        entryRepository.saveAndFlush(entry);
+
+        // Get the summaries, which never carry the content
+        restEntryMockMvc.perform(get("/api/entries?view=summary&sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(entry.getId().intValue())))
+            .andExpect(jsonPath("$.[*].title").value(hasItem(DEFAULT_TITLE)))
+            .andExpect(jsonPath("$.[*].date").value(hasItem(DEFAULT_DATE.toString())))
+            .andExpect(jsonPath("$.[*].blogName").value(hasItem("summary")))
+            .andExpect(jsonPath("$.[*].tags[*].name").value(hasItem("summary-tag")))
+            .andExpect(jsonPath("$.[*].content").doesNotExist());
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser
+    public void getAllEntrySummariesWithKeysetPagination() throws Exception {
+        // Initialize the database with three entries of the current user, two of them sharing the same date
+        Blog blog = new Blog().name("summary-keyset").handle("summary-keyset").user(userRepository.findOneByLogin("user").get());
+        em.persist(blog);
+        Entry first = createEntity(em).blog(blog).date(UPDATED_DATE);
+        Entry second = createEntity(em).blog(blog);
+        Entry third = createEntity(em).blog(blog);
+        entryRepository.saveAndFlush(first);
+        entryRepository.saveAndFlush(second);
+        entryRepository.saveAndFlush(third);
+
+        // Get the first page, newest first and ties broken by descending id
+        MvcResult result = restEntryMockMvc.perform(get("/api/entries?view=summary&after=&size=2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$.[0].id").value(first.getId().intValue()))
+            .andExpect(jsonPath("$.[1].id").value(third.getId().intValue()))
+            .andExpect(jsonPath("$.[*].content").doesNotExist())
+            .andExpect(header().string(HttpHeaders.LINK, containsString("rel=\"next\"")))
+            .andReturn();
+
+        // Follow the cursor to the last page, which has no next link
+        String link = result.getResponse().getHeader(HttpHeaders.LINK);
+        String next = link.substring(link.indexOf("/api/entries"), link.indexOf('>'));
+        restEntryMockMvc.perform(get(next))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(second.getId().intValue()))
+            .andExpect(header().doesNotExist(HttpHeaders.LINK));
+
+        restEntryMockMvc.perform(get("/api/entries?view=summary&after=invalid"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser
+    public void searchEntries() throws Exception {
+        Blog blog = new Blog().name("search").handle("search").user(userRepository.findOneByLogin("user").get());
+        em.persist(blog);
+        Entry other = createEntity(em).title("Unrelated").content("Nothing to see here").blog(blog);
+        entry.title("Hibernate tuning").content("How to tune the second level cache").blog(blog);
+
+        // Create the entries, which indexes them
+        for (Entry created : new Entry[]{entry, other}) {
+            restEntryMockMvc.perform(post("/api/entries")
+                .contentType(TestUtil.APPLICATION_JSON_UTF8)
+                .content(TestUtil.convertObjectToJsonBytes(created)))
+                .andExpect(status().isCreated());
+        }
+
+        // Search the entries
+        restEntryMockMvc.perform(get("/api/_search/entries?q=second Cache"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(header().string("X-Total-Count", "1"))
+            .andExpect(jsonPath("$.[0].title").value("Hibernate tuning"));
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser("someone-else")
+    public void searchEntriesOfAnotherUser() throws Exception {
+        Blog blog = new Blog().name("search").handle("search").user(userRepository.findOneByLogin("user").get());
+        em.persist(blog);
+        entry.title("Hibernate tuning").blog(blog);
+        entryRepository.saveAndFlush(entry);
+        entrySearchService.index(entry);
+
+        restEntryMockMvc.perform(get("/api/_search/entries?q=hibernate"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "0"));
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser
+    public void importEntries() throws Exception {
+        Blog blog = new Blog().name("import").handle("import").user(userRepository.findOneByLogin("user").get());
+        em.persist(blog);
+        Tag tag = new Tag().name("import-tag");
+        em.persist(tag);
+        int databaseSizeBeforeImport = entryRepository.findAll().size();
+
+        // Import a valid entry, an entry without a title and an entry with an unknown tag
+        String body = "[" +
+            "{\"title\":\"First\",\"content\":\"One\",\"date\":\"" + DEFAULT_DATE + "\"," +
+            "\"blog\":{\"id\":" + blog.getId() + "},\"tags\":[{\"id\":" + tag.getId() + "}]}," +
+            "{\"content\":\"Two\",\"date\":\"" + DEFAULT_DATE + "\",\"blog\":{\"id\":" + blog.getId() + "}}," +
+            "{\"title\":\"Third\",\"content\":\"Three\",\"date\":\"" + DEFAULT_DATE + "\"," +
+            "\"blog\":{\"id\":" + blog.getId() + "},\"tags\":[{\"id\":" + Long.MAX_VALUE + "}]}" +
+            "]";
+        restEntryMockMvc.perform(post("/api/entries/_bulk")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(body))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].status").value("created"))
+            .andExpect(jsonPath("$.[0].id").isNumber())
+            .andExpect(jsonPath("$.[1].status").value("failed"))
+            .andExpect(jsonPath("$.[1].error").value(containsString("title")))
+            .andExpect(jsonPath("$.[2].status").value("failed"))
+            .andExpect(jsonPath("$.[2].error").value(containsString("Unknown tag")));
+
+        List<Entry> entryList = entryRepository.findAll();
+        assertThat(entryList).hasSize(databaseSizeBeforeImport + 1);
+        Entry imported = entryRepository.findOneWithEagerRelationships(entryList.get(entryList.size() - 1).getId()).get();
+        assertThat(imported.getTitle()).isEqualTo("First");
+        assertThat(imported.getBlog().getId()).isEqualTo(blog.getId());
+        assertThat(imported.getTags()).extracting(Tag::getName).containsExactly("import-tag");
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser
+    public void importEntriesAsNdjson() throws Exception {
+        Blog blog = new Blog().name("import").handle("import").user(userRepository.findOneByLogin("user").get());
+        em.persist(blog);
+        int databaseSizeBeforeImport = entryRepository.findAll().size();
+
+        String line = "{\"title\":\"Line\",\"content\":\"Line\",\"date\":\"" + DEFAULT_DATE + "\"," +
+            "\"blog\":{\"id\":" + blog.getId() + "}}\n";
+        restEntryMockMvc.perform(post("/api/entries/_bulk")
+            .contentType(EntryResource.NDJSON_VALUE)
+            .content(line + line + line))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(3))
+            .andExpect(jsonPath("$.[*].status").value(everyItem(is("created"))));
+
+        assertThat(entryRepository.findAll()).hasSize(databaseSizeBeforeImport + 3);
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser("someone-else")
+    public void importEntriesIntoBlogOfAnotherUser() throws Exception {
+        Blog blog = new Blog().name("import").handle("import").user(userRepository.findOneByLogin("user").get());
+        em.persist(blog);
+        int databaseSizeBeforeImport = entryRepository.findAll().size();
+
+        String body = "[{\"title\":\"Mine\",\"content\":\"Mine\",\"date\":\"" + DEFAULT_DATE + "\"," +
+            "\"blog\":{\"id\":" + blog.getId() + "}}]";
+        restEntryMockMvc.perform(post("/api/entries/_bulk")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(body))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].status").value("failed"))
+            .andExpect(jsonPath("$.[0].error").value(containsString("Unknown blog")));
+
+        assertThat(entryRepository.findAll()).hasSize(databaseSizeBeforeImport);
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser
+    public void exportEntriesGzipped() throws Exception {
+        MvcResult result = restEntryMockMvc.perform(get("/api/entries/_export")
+            .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        byte[] body = restEntryMockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(EntryResource.NDJSON_VALUE))
+            .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+            .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, containsString("entries.ndjson")))
+            .andReturn().getResponse().getContentAsByteArray();
+        try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertThat(input.read()).isEqualTo(-1);
+        }
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser
+    public void getAllEntriesWithInvalidCursor() throws Exception {
+        restEntryMockMvc.perform(get("/api/entries?after=not-a-cursor"))
+            .andExpect(status().isBadRequest());
+    }
+
     @SuppressWarnings({"unchecked"})
     public void getAllEntriesWithEagerRelationshipsIsEnabled() throws Exception {
-        EntryResource entryResource = new EntryResource(entryRepositoryMock);
+        EntryResource entryResource = new EntryResource(entryRepositoryMock, entryService, entrySearchService, entryImportService, entryHtmlService);
         when(entryRepositoryMock.findAllWithEagerRelationships(any())).thenReturn(new PageImpl(new ArrayList<>()));
 
         MockMvc restEntryMockMvc = MockMvcBuilders.standaloneSetup(entryResource)
@@ -230,7 +552,7 @@ public class EntryResourceIT {
 
     @SuppressWarnings({"unchecked"})
     public void getAllEntriesWithEagerRelationshipsIsNotEnabled() throws Exception {
-        EntryResource entryResource = new EntryResource(entryRepositoryMock);
+        EntryResource entryResource = new EntryResource(entryRepositoryMock, entryService, entrySearchService, entryImportService, entryHtmlService);
             when(entryRepositoryMock.findAllWithEagerRelationships(any())).thenReturn(new PageImpl(new ArrayList<>()));
             MockMvc restEntryMockMvc = MockMvcBuilders.standaloneSetup(entryResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
@@ -260,6 +582,57 @@ public class EntryResourceIT {
             .andExpect(jsonPath("$.date").value(DEFAULT_DATE.toString()));
     }
 
+    @Test
+    @Transactional
+    public void getEntryWithIfNoneMatch() throws Exception {
+        // Initialize the database
+        entryRepository.saveAndFlush(entry);
+
+        String eTag = "\"" + entry.getVersion() + ".0.0\"";
+        restEntryMockMvc.perform(get("/api/entries/{id}", entry.getId())
+            .header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, eTag));
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser
+    public void getEntryWithIfNoneMatchAfterItsBlogChanged() throws Exception {
+        // Initialize the database with an entry of the current user
+        Blog blog = new Blog().name("etag").handle("etag").user(userRepository.findOneByLogin("user").get());
+        em.persist(blog);
+        Tag tag = new Tag().name("etag-tag");
+        em.persist(tag);
+        entry.blog(blog).getTags().add(tag);
+        entryRepository.saveAndFlush(entry);
+
+        String eTag = restEntryMockMvc.perform(get("/api/entries/{id}", entry.getId()))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Rename the blog embedded in the entry
+        blog.setName("etag-renamed");
+        em.flush();
+
+        restEntryMockMvc.perform(get("/api/entries/{id}", entry.getId())
+            .header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, not(eTag)))
+            .andExpect(jsonPath("$.blog.name").value("etag-renamed"));
+
+        // Rename the tag embedded in the entry
+        String blogETag = restEntryMockMvc.perform(get("/api/entries/{id}", entry.getId()))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        tag.setName("etag-tag-renamed");
+        em.flush();
+
+        restEntryMockMvc.perform(get("/api/entries/{id}", entry.getId())
+            .header(HttpHeaders.IF_NONE_MATCH, blogETag))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, not(blogETag)));
+    }
+
     @Test
     @Transactional
     public void getNonExistingEntry() throws Exception {
@@ -268,6 +641,41 @@ public class EntryResourceIT {
             .andExpect(status().isNotFound());
     }
 
+    @Test
+    @Transactional
+    public void getEntryHtml() throws Exception {
+        // Initialize the database
+        entry.setContent("# Title\n\nSome *text* <script>alert(1)</script> and a [link](javascript:alert(1))");
+        entryRepository.saveAndFlush(entry);
+
+        restEntryMockMvc.perform(get("/api/entries/{id}/html", entry.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("text/html;charset=UTF-8"))
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + entry.getVersion() + "\""))
+            .andExpect(content().string(containsString("<h1>Title</h1>")))
+            .andExpect(content().string(containsString("<em>text</em>")))
+            .andExpect(content().string(containsString("&lt;script&gt;")))
+            .andExpect(content().string(not(containsString("javascript:"))));
+    }
+
+    @Test
+    @Transactional
+    public void getEntryHtmlWithIfNoneMatch() throws Exception {
+        // Initialize the database
+        entryRepository.saveAndFlush(entry);
+
+        restEntryMockMvc.perform(get("/api/entries/{id}/html", entry.getId())
+            .header(HttpHeaders.IF_NONE_MATCH, "\"" + entry.getVersion() + "\""))
+            .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @Transactional
+    public void getNonExistingEntryHtml() throws Exception {
+        restEntryMockMvc.perform(get("/api/entries/{id}/html", Long.MAX_VALUE))
+            .andExpect(status().isNotFound());
+    }
+
     @Test
     @Transactional
     public void updateEntry() throws Exception {
@@ -335,6 +743,80 @@ public class EntryResourceIT {
         assertThat(entryList).hasSize(databaseSizeBeforeDelete - 1);
     }
 
+    @Test
+    @Transactional
+    @WithMockUser
+    public void deleteEntryWithTags() throws Exception {
+        // Initialize the database with a tagged entry of the current user
+        Blog blog = new Blog().name("delete").handle("delete").user(userRepository.findOneByLogin("user").get());
+        em.persist(blog);
+        Tag tag = new Tag().name("delete-tag");
+        em.persist(tag);
+        entry.blog(blog).getTags().add(tag);
+        entryRepository.saveAndFlush(entry);
+
+        int databaseSizeBeforeDelete = entryRepository.findAll().size();
+
+        // Delete the entry
+        restEntryMockMvc.perform(delete("/api/entries/{id}", entry.getId())
+            .accept(TestUtil.APPLICATION_JSON_UTF8))
+            .andExpect(status().isNoContent());
+
+        // Validate the entry and its tag associations are gone, but not the tag
+        em.flush();
+        em.clear();
+        assertThat(entryRepository.findAll()).hasSize(databaseSizeBeforeDelete - 1);
+        assertThat(em.createNativeQuery("select count(*) from entry_tag where entry_id = " + entry.getId())
+            .getSingleResult().toString()).isEqualTo("0");
+        assertThat(em.find(Tag.class, tag.getId())).isNotNull();
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser("someone-else")
+    public void deleteEntryOfAnotherUser() throws Exception {
+        Blog blog = new Blog().name("delete").handle("delete").user(userRepository.findOneByLogin("user").get());
+        em.persist(blog);
+        entryRepository.saveAndFlush(entry.blog(blog));
+
+        int databaseSizeBeforeDelete = entryRepository.findAll().size();
+
+        restEntryMockMvc.perform(delete("/api/entries/{id}", entry.getId())
+            .accept(TestUtil.APPLICATION_JSON_UTF8))
+            .andExpect(status().isUnauthorized());
+
+        assertThat(entryRepository.findAll()).hasSize(databaseSizeBeforeDelete);
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser("someone-else")
+    public void updateEntryOfAnotherUser() throws Exception {
+        Blog blog = new Blog().name("update").handle("update").user(userRepository.findOneByLogin("user").get());
+        em.persist(blog);
+        entryRepository.saveAndFlush(entry.blog(blog));
+
+        // Try to take the entry over by moving it out of its blog
+        Entry updatedEntry = entryRepository.findById(entry.getId()).get();
+        em.detach(updatedEntry);
+        updatedEntry.title(UPDATED_TITLE).blog(null);
+
+        restEntryMockMvc.perform(put("/api/entries")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(updatedEntry)))
+            .andExpect(status().isUnauthorized());
+
+        assertThat(entryRepository.findById(entry.getId()).get().getTitle()).isEqualTo(DEFAULT_TITLE);
+    }
+
+    @Test
+    @Transactional
+    public void deleteNonExistingEntry() throws Exception {
+        restEntryMockMvc.perform(delete("/api/entries/{id}", Long.MAX_VALUE)
+            .accept(TestUtil.APPLICATION_JSON_UTF8))
+            .andExpect(status().isNotFound());
+    }
+
     @Test
     @Transactional
     public void equalsVerifier() throws Exception {
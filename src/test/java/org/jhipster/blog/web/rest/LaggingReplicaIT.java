@@ -0,0 +1,288 @@
+package org.jhipster.blog.web.rest;
+
+import org.jhipster.blog.BlogApp;
+import org.jhipster.blog.config.ReplicaRoutingDataSource;
+import org.jhipster.blog.domain.Blog;
+import org.jhipster.blog.domain.Entry;
+import org.jhipster.blog.repository.BlogRepository;
+import org.jhipster.blog.repository.EntryRepository;
+import org.jhipster.blog.domain.User;
+import org.jhipster.blog.repository.UserRepository;
+import org.jhipster.blog.service.UserCacheService;
+import org.jhipster.blog.service.UserService;
+import org.jhipster.blog.web.rest.errors.ExceptionTranslator;
+
+import org.apache.commons.lang3.RandomStringUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.File;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests of the updates of {@link EntryResource} and {@link BlogResource} with a replica which lags
+ * behind the primary database: a copy of the test database taken before the blog and entry of each test were
+ * created. The checks done before an update must not read the replica, and the entities read from the replica
+ * must not be put in the second-level cache.
+ */
+@SpringBootTest(classes = BlogApp.class, properties = {
+    "application.datasource.replica.enabled=true",
+    "application.datasource.replica.url=" + LaggingReplicaIT.REPLICA_URL,
+    "application.datasource.replica.lag-query=select lag_in_seconds from replication_status",
+    "spring.jpa.properties.hibernate.cache.use_second_level_cache=true"
+})
+public class LaggingReplicaIT {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:blog-replica;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntryResource entryResource;
+
+    @Autowired
+    private BlogResource blogResource;
+
+    @Autowired
+    private EntryRepository entryRepository;
+
+    @Autowired
+    private BlogRepository blogRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserCacheService userCacheService;
+
+    @Autowired
+    private MappingJackson2HttpMessageConverter jacksonMessageConverter;
+
+    @Autowired
+    private ExceptionTranslator exceptionTranslator;
+
+    @Autowired
+    private PageableHandlerMethodArgumentResolver pageableArgumentResolver;
+
+    private ReplicaRoutingDataSource routingDataSource;
+
+    private JdbcTemplate replica;
+
+    private MockMvc restMockMvc;
+
+    private Blog blog;
+
+    private Entry entry;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        restMockMvc = MockMvcBuilders.standaloneSetup(entryResource, blogResource)
+            .setCustomArgumentResolvers(pageableArgumentResolver)
+            .setControllerAdvice(exceptionTranslator)
+            .setMessageConverters(jacksonMessageConverter).build();
+        routingDataSource = (ReplicaRoutingDataSource) ((LazyConnectionDataSourceProxy) dataSource).getTargetDataSource();
+        replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL,
+            dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword()));
+
+        copyPrimaryToReplica();
+
+        new TransactionTemplate(transactionManager).execute(status -> {
+            blog = blogRepository.save(new Blog().name("replica").handle("replica").user(userRepository.findOneByLogin("user").get()));
+            entry = entryRepository.save(new Entry().title("replica").content("replica").date(Instant.ofEpochMilli(0L)).blog(blog));
+            return null;
+        });
+    }
+
+    @AfterEach
+    public void cleanup() {
+        new TransactionTemplate(transactionManager).execute(status -> {
+            entryRepository.deleteById(entry.getId());
+            blogRepository.deleteById(blog.getId());
+            return null;
+        });
+        replica.execute("drop all objects");
+        routingDataSource.checkReplica();
+    }
+
+    /**
+     * Copy the primary database to the replica, which then stops replicating.
+     */
+    private void copyPrimaryToReplica() throws IOException {
+        File script = File.createTempFile("replica", ".sql");
+        try {
+            // Outside of a transaction, so on the primary database
+            new JdbcTemplate(dataSource).execute("script to '" + script.getAbsolutePath() + "'");
+            replica.execute("drop all objects");
+            replica.execute("runscript from '" + script.getAbsolutePath() + "'");
+        } finally {
+            script.delete();
+        }
+        replica.execute("create table replication_status (lag_in_seconds int)");
+        replica.execute("insert into replication_status values (0)");
+        routingDataSource.checkReplica();
+        assertThat(routingDataSource.isReplicaAvailable()).isTrue();
+    }
+
+    /**
+     * Read in a read-write transaction, which uses the primary database.
+     */
+    private <T> T onPrimary(Supplier<T> read) {
+        return new TransactionTemplate(transactionManager).execute(status -> read.get());
+    }
+
+    @Test
+    @WithMockUser
+    public void updateEntryUnknownToTheReplica() throws Exception {
+        Entry updatedEntry = new Entry().title("updated").content("updated").date(entry.getDate()).blog(blog);
+        updatedEntry.setId(entry.getId());
+
+        restMockMvc.perform(put("/api/entries")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .header(HttpHeaders.IF_MATCH, "\"" + entry.getVersion() + "." + blog.getVersion() + ".0\"")
+            .content(TestUtil.convertObjectToJsonBytes(updatedEntry)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.title").value("updated"));
+
+        assertThat(onPrimary(() -> entryRepository.findById(entry.getId()).get().getTitle())).isEqualTo("updated");
+    }
+
+    @Test
+    @WithMockUser("someone-else")
+    public void updateEntryOfAnotherUserUnknownToTheReplica() throws Exception {
+        Entry updatedEntry = new Entry().title("updated").content("updated").date(entry.getDate());
+        updatedEntry.setId(entry.getId());
+
+        restMockMvc.perform(put("/api/entries")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(updatedEntry)))
+            .andExpect(status().isUnauthorized());
+
+        assertThat(onPrimary(() -> entryRepository.findById(entry.getId()).get().getTitle())).isEqualTo("replica");
+    }
+
+    @Test
+    @WithMockUser("someone-else")
+    public void deleteEntryOfAnotherUserUnknownToTheReplica() throws Exception {
+        restMockMvc.perform(delete("/api/entries/{id}", entry.getId()))
+            .andExpect(status().isUnauthorized());
+
+        assertThat(onPrimary(() -> entryRepository.existsById(entry.getId()))).isTrue();
+    }
+
+    @Test
+    @WithMockUser
+    public void updateBlogUnknownToTheReplica() throws Exception {
+        Blog updatedBlog = new Blog().name("updated").handle("replica").user(blog.getUser());
+        updatedBlog.setId(blog.getId());
+
+        restMockMvc.perform(put("/api/blogs")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .header(HttpHeaders.IF_MATCH, "\"" + blog.getVersion() + "\"")
+            .content(TestUtil.convertObjectToJsonBytes(updatedBlog)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.name").value("updated"));
+    }
+
+    @Test
+    @WithMockUser("someone-else")
+    public void updateBlogOfAnotherUserUnknownToTheReplica() throws Exception {
+        Blog updatedBlog = new Blog().name("updated").handle("replica");
+        updatedBlog.setId(blog.getId());
+
+        restMockMvc.perform(put("/api/blogs")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(updatedBlog)))
+            .andExpect(status().isForbidden());
+
+        assertThat(onPrimary(() -> blogRepository.findById(blog.getId()).get().getName())).isEqualTo("replica");
+    }
+
+    @Test
+    @WithMockUser
+    public void updateEntryAfterReadingItFromTheReplica() throws Exception {
+        copyPrimaryToReplica();
+        Entry updatedEntry = new Entry().title("updated").content("updated").date(entry.getDate()).blog(blog);
+        updatedEntry.setId(entry.getId());
+        updatedEntry.setVersion(entry.getVersion());
+        restMockMvc.perform(put("/api/entries")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(updatedEntry)))
+            .andExpect(status().isOk());
+
+        // The replica still has the entry as it was before the update
+        restMockMvc.perform(get("/api/entries"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[?(@.id == " + entry.getId() + ")].title").value("replica"));
+
+        Entry current = onPrimary(() -> entryRepository.findById(entry.getId()).get());
+        assertThat(current.getTitle()).isEqualTo("updated");
+        assertThat(current.getVersion()).isGreaterThan(entry.getVersion());
+
+        updatedEntry.setTitle("updated again");
+        updatedEntry.setVersion(current.getVersion());
+        restMockMvc.perform(put("/api/entries")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .header(HttpHeaders.IF_MATCH, "\"" + current.getVersion() + "." + blog.getVersion() + ".0\"")
+            .content(TestUtil.convertObjectToJsonBytes(updatedEntry)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.title").value("updated again"));
+    }
+
+    @Test
+    public void getUserUnknownToTheReplica() {
+        User user = onPrimary(() -> {
+            User created = new User();
+            created.setLogin("replica-user");
+            created.setPassword(RandomStringUtils.random(60));
+            created.setActivated(true);
+            created.setEmail("replica-user@localhost");
+            created.setLangKey("en");
+            return userRepository.save(created);
+        });
+        try {
+            // In a read-only transaction, which reads the replica
+            assertThat(userService.getUserWithAuthoritiesByLogin("replica-user")).isPresent();
+        } finally {
+            onPrimary(() -> {
+                userRepository.deleteById(user.getId());
+                return null;
+            });
+            userCacheService.evict(user);
+        }
+    }
+}
@@ -0,0 +1,317 @@
+package org.jhipster.blog.web.rest;
+
+import org.jhipster.blog.BlogApp;
+import org.jhipster.blog.domain.Blog;
+import org.jhipster.blog.domain.Entry;
+import org.jhipster.blog.domain.Tag;
+import org.jhipster.blog.repository.BlogRepository;
+import org.jhipster.blog.repository.EntryRepository;
+import org.jhipster.blog.repository.UserRepository;
+import org.jhipster.blog.service.EntryService;
+import org.jhipster.blog.service.PublicBlogService;
+import org.jhipster.blog.web.rest.errors.ExceptionTranslator;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for the {@link PublicBlogResource} REST controller.
+ */
+@SpringBootTest(classes = BlogApp.class)
+public class PublicBlogResourceIT {
+
+    private static final String HANDLE = "public-handle";
+
+    private static final Map<String, String> ATOM = Collections.singletonMap("a", "http://www.w3.org/2005/Atom");
+
+    @Autowired
+    private PublicBlogService publicBlogService;
+
+    @Autowired
+    private EntryService entryService;
+
+    @Autowired
+    private BlogRepository blogRepository;
+
+    @Autowired
+    private EntryRepository entryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MappingJackson2HttpMessageConverter jacksonMessageConverter;
+
+    @Autowired
+    private ExceptionTranslator exceptionTranslator;
+
+    @Autowired
+    private EntityManager em;
+
+    private MockMvc restPublicBlogMockMvc;
+
+    @BeforeEach
+    public void setup() {
+        cacheManager.getCache(PublicBlogService.PUBLIC_BLOG_RESPONSES_CACHE).clear();
+        cacheManager.getCache(PublicBlogService.PUBLIC_BLOG_GENERATIONS_CACHE).clear();
+        final PublicBlogResource publicBlogResource = new PublicBlogResource(publicBlogService);
+        this.restPublicBlogMockMvc = MockMvcBuilders.standaloneSetup(publicBlogResource)
+            .setControllerAdvice(exceptionTranslator)
+            .setMessageConverters(new ByteArrayHttpMessageConverter(), jacksonMessageConverter).build();
+    }
+
+    private Blog createBlog() {
+        return new Blog()
+            .name("Public blog")
+            .handle(HANDLE)
+            .user(userRepository.findOneByLogin("user").get());
+    }
+
+    private static Entry createEntry(Blog blog, String title, Instant date) {
+        return new Entry()
+            .title(title)
+            .content("Content of " + title)
+            .date(date)
+            .blog(blog);
+    }
+
+    @Test
+    @Transactional
+    public void getPublicBlog() throws Exception {
+        em.persist(createBlog());
+        em.flush();
+
+        restPublicBlogMockMvc.perform(get("/public/blogs/{handle}", HANDLE))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(jsonPath("$.name").value("Public blog"))
+            .andExpect(jsonPath("$.handle").value(HANDLE))
+            .andExpect(jsonPath("$.user").doesNotExist())
+            .andExpect(jsonPath("$.id").doesNotExist());
+    }
+
+    @Test
+    @Transactional
+    public void getPublicEntries() throws Exception {
+        Blog blog = createBlog();
+        em.persist(blog);
+        Tag java = new Tag().name("java");
+        Tag angular = new Tag().name("angular");
+        em.persist(java);
+        em.persist(angular);
+        em.persist(createEntry(blog, "First", Instant.ofEpochSecond(1000L)));
+        em.persist(createEntry(blog, "Second", Instant.ofEpochSecond(2000L)).addTag(java).addTag(angular));
+        em.persist(createEntry(blog, "Third", Instant.ofEpochSecond(3000L)));
+        em.flush();
+        em.clear();
+
+        restPublicBlogMockMvc.perform(get("/public/blogs/{handle}/entries?page=0&size=2", HANDLE))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(header().string("X-Total-Count", "3"))
+            .andExpect(jsonPath("$", hasSize(2)))
+            .andExpect(jsonPath("$.[*].title", contains("Third", "Second")))
+            .andExpect(jsonPath("$.[1].content").value("Content of Second"))
+            .andExpect(jsonPath("$.[1].html").value("<p>Content of Second</p>\n"))
+            .andExpect(jsonPath("$.[1].tags", contains("angular", "java")))
+            .andExpect(jsonPath("$.[0].blog").doesNotExist());
+
+        restPublicBlogMockMvc.perform(get("/public/blogs/{handle}/entries?page=1&size=2", HANDLE))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].title", contains("First")));
+    }
+
+    @Test
+    @Transactional
+    public void getUnknownPublicBlog() throws Exception {
+        restPublicBlogMockMvc.perform(get("/public/blogs/{handle}", "unknown-handle"))
+            .andExpect(status().isNotFound());
+        restPublicBlogMockMvc.perform(get("/public/blogs/{handle}/entries", "unknown-handle"))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Transactional
+    public void getPublicEntriesWithInvalidPage() throws Exception {
+        restPublicBlogMockMvc.perform(get("/public/blogs/{handle}/entries?size=51", HANDLE))
+            .andExpect(status().isBadRequest());
+        restPublicBlogMockMvc.perform(get("/public/blogs/{handle}/entries?page=-1", HANDLE))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    public void getAtomFeed() throws Exception {
+        Blog blog = createBlog();
+        em.persist(blog);
+        Tag java = new Tag().name("java");
+        em.persist(java);
+        em.persist(createEntry(blog, "First", Instant.ofEpochSecond(1000L)));
+        em.persist(createEntry(blog, "Second <b>bold</b>", Instant.ofEpochSecond(2000L)).addTag(java));
+        em.flush();
+        em.clear();
+
+        restPublicBlogMockMvc.perform(get("/public/blogs/{handle}/feed.xml", HANDLE))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("application/atom+xml;charset=UTF-8"))
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andExpect(header().string(HttpHeaders.LAST_MODIFIED, "Thu, 01 Jan 1970 00:33:20 GMT"))
+            .andExpect(xpath("/a:feed/a:title", ATOM).string("Public blog"))
+            .andExpect(xpath("/a:feed/a:updated", ATOM).string("1970-01-01T00:33:20Z"))
+            .andExpect(xpath("/a:feed/a:link/@href", ATOM)
+                .string("http://127.0.0.1:8080/public/blogs/" + HANDLE + "/feed.xml"))
+            .andExpect(xpath("/a:feed/a:entry", ATOM).nodeCount(2))
+            .andExpect(xpath("/a:feed/a:entry[1]/a:title", ATOM).string("Second <b>bold</b>"))
+            .andExpect(xpath("/a:feed/a:entry[1]/a:category/@term", ATOM).string("java"))
+            .andExpect(xpath("/a:feed/a:entry[2]/a:content", ATOM).string("<p>Content of First</p>\n"));
+    }
+
+    @Test
+    @Transactional
+    public void getRssFeed() throws Exception {
+        Blog blog = createBlog();
+        em.persist(blog);
+        em.persist(createEntry(blog, "First", Instant.ofEpochSecond(1000L)));
+        em.flush();
+        em.clear();
+
+        restPublicBlogMockMvc.perform(get("/public/blogs/{handle}/feed.xml?format=rss", HANDLE))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("application/rss+xml;charset=UTF-8"))
+            .andExpect(xpath("/rss/@version").string("2.0"))
+            .andExpect(xpath("/rss/channel/title").string("Public blog"))
+            .andExpect(xpath("/rss/channel/item/title").string("First"))
+            .andExpect(xpath("/rss/channel/item/pubDate").string("Thu, 1 Jan 1970 00:16:40 GMT"))
+            .andExpect(xpath("/rss/channel/item/description").string("<p>Content of First</p>\n"));
+    }
+
+    @Test
+    @Transactional
+    public void getFeedWithConditionalRequests() throws Exception {
+        Blog blog = createBlog();
+        em.persist(blog);
+        em.persist(createEntry(blog, "First", Instant.ofEpochSecond(1000L)));
+        em.flush();
+
+        MockHttpServletResponse response = restPublicBlogMockMvc.perform(get("/public/blogs/{handle}/feed.xml", HANDLE))
+            .andExpect(status().isOk())
+            .andReturn().getResponse();
+        String eTag = response.getHeader(HttpHeaders.ETAG);
+        String lastModified = response.getHeader(HttpHeaders.LAST_MODIFIED);
+
+        restPublicBlogMockMvc.perform(get("/public/blogs/{handle}/feed.xml", HANDLE)
+            .header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, eTag));
+        restPublicBlogMockMvc.perform(get("/public/blogs/{handle}/feed.xml", HANDLE)
+            .header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+            .andExpect(status().isNotModified());
+        restPublicBlogMockMvc.perform(get("/public/blogs/{handle}/feed.xml", HANDLE)
+            .header(HttpHeaders.IF_NONE_MATCH, "\"other\"")
+            .header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+            .andExpect(status().isOk());
+        restPublicBlogMockMvc.perform(get("/public/blogs/{handle}/feed.xml", HANDLE)
+            .header(HttpHeaders.IF_MODIFIED_SINCE, DateTimeFormatter.RFC_1123_DATE_TIME.format(Instant.EPOCH.atOffset(ZoneOffset.UTC))))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    @Transactional
+    public void getFeedWithInvalidFormat() throws Exception {
+        restPublicBlogMockMvc.perform(get("/public/blogs/{handle}/feed.xml?format=json", HANDLE))
+            .andExpect(status().isBadRequest());
+        restPublicBlogMockMvc.perform(get("/public/blogs/{handle}/feed.xml", "unknown-handle"))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void assertThatEntryChangesInvalidateTheCache() throws Exception {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Entry entry = transactionTemplate.execute(status -> {
+            Blog blog = blogRepository.save(createBlog());
+            return entryService.save(createEntry(blog, "Before", Instant.ofEpochSecond(1000L)));
+        });
+        try {
+            restPublicBlogMockMvc.perform(get("/public/blogs/{handle}/entries", HANDLE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[*].title", contains("Before")));
+            String eTag = restPublicBlogMockMvc.perform(get("/public/blogs/{handle}/feed.xml", HANDLE))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+            entry.setTitle("After");
+            transactionTemplate.execute(status -> entryService.save(entry));
+
+            restPublicBlogMockMvc.perform(get("/public/blogs/{handle}/entries", HANDLE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[*].title", contains("After")));
+            restPublicBlogMockMvc.perform(get("/public/blogs/{handle}/feed.xml", HANDLE)
+                .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(eTag)))
+                .andExpect(xpath("/a:feed/a:entry/a:title", ATOM).string("After"));
+        } finally {
+            entryRepository.deleteById(entry.getId());
+            blogRepository.deleteById(entry.getBlog().getId());
+        }
+    }
+
+    @Test
+    @Transactional
+    public void assertThatAnEvictedGenerationInvalidatesThePages() throws Exception {
+        Blog blog = createBlog();
+        em.persist(blog);
+        Entry entry = createEntry(blog, "Before", Instant.ofEpochSecond(1000L));
+        em.persist(entry);
+        em.flush();
+
+        restPublicBlogMockMvc.perform(get("/public/blogs/{handle}/entries", HANDLE))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].title", contains("Before")));
+
+        // Changed without invalidating the public view, as by another node
+        entry.setTitle("After");
+        em.flush();
+        restPublicBlogMockMvc.perform(get("/public/blogs/{handle}/entries", HANDLE))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].title", contains("Before")));
+
+        // Evicted as by the invalidation sent by the other node
+        cacheManager.getCache(PublicBlogService.PUBLIC_BLOG_GENERATIONS_CACHE).evict(HANDLE);
+        restPublicBlogMockMvc.perform(get("/public/blogs/{handle}/entries", HANDLE))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].title", contains("After")));
+    }
+}
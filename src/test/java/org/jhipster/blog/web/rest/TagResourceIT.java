@@ -1,8 +1,13 @@
 package org.jhipster.blog.web.rest;
 
 import org.jhipster.blog.BlogApp;
+import org.jhipster.blog.domain.Entry;
 import org.jhipster.blog.domain.Tag;
 import org.jhipster.blog.repository.TagRepository;
+import org.jhipster.blog.service.PublicBlogService;
+import org.jhipster.blog.service.TagService;
+import org.jhipster.blog.service.TagUsageService;
+import org.jhipster.blog.service.search.TagSuggestionService;
 import org.jhipster.blog.web.rest.errors.ExceptionTranslator;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -10,7 +15,9 @@ import org.junit.jupiter.api.Test;
 import org.mockito.MockitoAnnotations;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.test.web.servlet.MockMvc;
@@ -19,11 +26,14 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.Validator;
 
 import javax.persistence.EntityManager;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 
 import static org.jhipster.blog.web.rest.TestUtil.createFormattingConversionService;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -39,6 +49,15 @@ public class TagResourceIT {
     @Autowired
     private TagRepository tagRepository;
 
+    @Autowired
+    private TagService tagService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private PublicBlogService publicBlogService;
+
     @Autowired
     private MappingJackson2HttpMessageConverter jacksonMessageConverter;
 
@@ -56,12 +75,19 @@ public class TagResourceIT {
 
     private MockMvc restTagMockMvc;
 
+    private TagUsageService tagUsageService;
+
+    private TagSuggestionService tagSuggestionService;
+
     private Tag tag;
 
     @BeforeEach
     public void setup() {
         MockitoAnnotations.initMocks(this);
-        final TagResource tagResource = new TagResource(tagRepository);
+        tagUsageService = new TagUsageService(tagRepository);
+        tagSuggestionService = new TagSuggestionService(tagUsageService);
+        cacheManager.getCache(TagRepository.TAG_IDS_BY_NAME_CACHE).clear();
+        final TagResource tagResource = new TagResource(tagRepository, tagUsageService, tagSuggestionService, tagService, publicBlogService);
         this.restTagMockMvc = MockMvcBuilders.standaloneSetup(tagResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
             .setControllerAdvice(exceptionTranslator)
@@ -136,6 +162,68 @@ public class TagResourceIT {
     }
 
 
+    @Test
+    @Transactional
+    public void createTagWithExistingName() throws Exception {
+        // Initialize the database
+        tagRepository.saveAndFlush(tag);
+        int databaseSizeBeforeCreate = tagRepository.findAll().size();
+
+        // A tag with the same name, whatever its case, cannot be created
+        Tag duplicate = new Tag().name(" " + DEFAULT_NAME.toLowerCase() + " ");
+        restTagMockMvc.perform(post("/api/tags")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(duplicate)))
+            .andExpect(status().isBadRequest());
+
+        assertThat(tagRepository.findAll()).hasSize(databaseSizeBeforeCreate);
+    }
+
+    @Test
+    @Transactional
+    public void resolveTags() throws Exception {
+        // Initialize the database
+        tagRepository.saveAndFlush(tag);
+        int databaseSizeBeforeResolve = tagRepository.findAll().size();
+
+        // Resolve an existing name and a new one, twice with different spellings
+        restTagMockMvc.perform(post("/api/tags/_resolve")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(Arrays.asList(DEFAULT_NAME.toLowerCase(), " New Tag ", "NEW TAG"))))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(jsonPath("$.['" + DEFAULT_NAME.toLowerCase() + "']").value(tag.getId().intValue()));
+
+        // A single tag was created, with the first spelling of its name
+        assertThat(tagRepository.findAll()).hasSize(databaseSizeBeforeResolve + 1);
+        Optional<Long> id = tagRepository.findIdByNormalizedName("new tag");
+        assertThat(id).isPresent();
+        assertThat(tagRepository.findById(id.get()).get().getName()).isEqualTo("New Tag");
+
+        // Resolved names are cached, and resolving them again creates nothing
+        assertThat(cacheManager.getCache(TagRepository.TAG_IDS_BY_NAME_CACHE).get("new tag", Long.class)).isEqualTo(id.get());
+        restTagMockMvc.perform(post("/api/tags/_resolve")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(Arrays.asList("new tag", DEFAULT_NAME))))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.['new tag']").value(id.get().intValue()))
+            .andExpect(jsonPath("$.['" + DEFAULT_NAME + "']").value(tag.getId().intValue()));
+        assertThat(tagRepository.findAll()).hasSize(databaseSizeBeforeResolve + 1);
+    }
+
+    @Test
+    @Transactional
+    public void resolveTagsWithInvalidName() throws Exception {
+        int databaseSizeBeforeResolve = tagRepository.findAll().size();
+
+        restTagMockMvc.perform(post("/api/tags/_resolve")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(Arrays.asList("valid", " x "))))
+            .andExpect(status().isBadRequest());
+
+        assertThat(tagRepository.findAll()).hasSize(databaseSizeBeforeResolve);
+    }
+
     @Test
     @Transactional
     public void checkNameIsRequired() throws Exception {
@@ -168,6 +256,76 @@ public class TagResourceIT {
             .andExpect(jsonPath("$.[*].name").value(hasItem(DEFAULT_NAME.toString())));
     }
     
+    @Test
+    @Transactional
+    public void getTagCloud() throws Exception {
+        // Initialize the database
+        tagRepository.saveAndFlush(tag);
+        Tag unused = tagRepository.saveAndFlush(createUpdatedEntity(em));
+        for (int i = 0; i < 2; i++) {
+            Entry entry = EntryResourceIT.createEntity(em).addTag(tag);
+            em.persist(entry);
+        }
+        em.flush();
+        tagUsageService.reconcile();
+
+        // Get the tag cloud
+        restTagMockMvc.perform(get("/api/tags/_cloud"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(jsonPath("$.[?(@.id == " + tag.getId() + ")].name").value(hasItem(DEFAULT_NAME)))
+            .andExpect(jsonPath("$.[?(@.id == " + tag.getId() + ")].count").value(hasItem(2)))
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(unused.getId().intValue()))));
+    }
+
+    @Test
+    public void getTagCloudWithInvalidSize() throws Exception {
+        restTagMockMvc.perform(get("/api/tags/_cloud?size=0"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    public void suggestTags() throws Exception {
+        // Initialize the database
+        tagRepository.saveAndFlush(tag);
+        Tag other = tagRepository.saveAndFlush(createUpdatedEntity(em));
+        em.persist(EntryResourceIT.createEntity(em).addTag(tag));
+        em.flush();
+        tagUsageService.reconcile();
+        tagSuggestionService.rebuild();
+
+        // Suggest tags, whatever the case of the prefix
+        restTagMockMvc.perform(get("/api/tags/_suggest?prefix=aaa"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(tag.getId().intValue())))
+            .andExpect(jsonPath("$.[?(@.id == " + tag.getId() + ")].count").value(hasItem(1)))
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(other.getId().intValue()))));
+    }
+
+    @Test
+    @Transactional
+    public void suggestTagsFollowsChanges() throws Exception {
+        tagSuggestionService.rebuild();
+        restTagMockMvc.perform(post("/api/tags")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(tag)))
+            .andExpect(status().isCreated());
+
+        tagSuggestionService.rebuildIfChanged();
+
+        restTagMockMvc.perform(get("/api/tags/_suggest?prefix=AAAAAAAAAA&size=1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].name").value(hasItem(DEFAULT_NAME)));
+    }
+
+    @Test
+    public void suggestTagsWithInvalidSize() throws Exception {
+        restTagMockMvc.perform(get("/api/tags/_suggest?prefix=a&size=0"))
+            .andExpect(status().isBadRequest());
+    }
+
     @Test
     @Transactional
     public void getTag() throws Exception {
@@ -182,6 +340,32 @@ public class TagResourceIT {
             .andExpect(jsonPath("$.name").value(DEFAULT_NAME.toString()));
     }
 
+    @Test
+    @Transactional
+    public void getTagWithIfNoneMatch() throws Exception {
+        // Initialize the database
+        tagRepository.saveAndFlush(tag);
+        String etag = "\"" + tag.getVersion() + "\"";
+
+        // Get the tag, whose version is returned as an entity tag
+        restTagMockMvc.perform(get("/api/tags/{id}", tag.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, etag));
+
+        // Get the tag again, which has not changed
+        restTagMockMvc.perform(get("/api/tags/{id}", tag.getId())
+            .header(HttpHeaders.IF_NONE_MATCH, "W/" + etag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, etag))
+            .andExpect(content().string(""));
+
+        // Get the tag with an outdated entity tag
+        restTagMockMvc.perform(get("/api/tags/{id}", tag.getId())
+            .header(HttpHeaders.IF_NONE_MATCH, "\"" + (tag.getVersion() + 1) + "\""))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.name").value(DEFAULT_NAME));
+    }
+
     @Test
     @Transactional
     public void getNonExistingTag() throws Exception {
@@ -217,6 +401,69 @@ public class TagResourceIT {
         assertThat(testTag.getName()).isEqualTo(UPDATED_NAME);
     }
 
+    @Test
+    @Transactional
+    public void updateTagWithOutdatedIfMatch() throws Exception {
+        // Initialize the database
+        tagRepository.saveAndFlush(tag);
+
+        Tag updatedTag = tagRepository.findById(tag.getId()).get();
+        em.detach(updatedTag);
+        updatedTag.name(UPDATED_NAME);
+
+        restTagMockMvc.perform(put("/api/tags")
+            .header(HttpHeaders.IF_MATCH, "\"" + (tag.getVersion() + 1) + "\"")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(updatedTag)))
+            .andExpect(status().isPreconditionFailed());
+
+        // Validate the Tag in the database is unchanged
+        assertThat(tagRepository.findById(tag.getId()).get().getName()).isEqualTo(DEFAULT_NAME);
+    }
+
+    @Test
+    @Transactional
+    public void updateTagWithIfMatch() throws Exception {
+        // Initialize the database
+        tagRepository.saveAndFlush(tag);
+        Long version = tag.getVersion();
+
+        Tag updatedTag = tagRepository.findById(tag.getId()).get();
+        em.detach(updatedTag);
+        updatedTag.name(UPDATED_NAME);
+        updatedTag.setVersion(null);
+
+        restTagMockMvc.perform(put("/api/tags")
+            .header(HttpHeaders.IF_MATCH, "\"" + version + "\"")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(updatedTag)))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + (version + 1) + "\""));
+
+        assertThat(tagRepository.findById(tag.getId()).get().getName()).isEqualTo(UPDATED_NAME);
+    }
+
+    @Test
+    @Transactional
+    public void updateTagWithOutdatedVersion() throws Exception {
+        // Initialize the database
+        tagRepository.saveAndFlush(tag);
+
+        Tag outdatedTag = tagRepository.findById(tag.getId()).get();
+        em.detach(outdatedTag);
+        outdatedTag.name(UPDATED_NAME);
+
+        // Update the tag concurrently
+        Tag concurrentTag = tagRepository.findById(tag.getId()).get();
+        concurrentTag.name("concurrent");
+        tagRepository.saveAndFlush(concurrentTag);
+
+        restTagMockMvc.perform(put("/api/tags")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(outdatedTag)))
+            .andExpect(status().isConflict());
+    }
+
     @Test
     @Transactional
     public void updateNonExistingTag() throws Exception {
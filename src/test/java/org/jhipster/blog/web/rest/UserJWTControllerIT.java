@@ -4,6 +4,7 @@ import org.jhipster.blog.BlogApp;
 import org.jhipster.blog.domain.User;
 import org.jhipster.blog.repository.UserRepository;
 import org.jhipster.blog.security.jwt.TokenProvider;
+import org.jhipster.blog.security.ratelimit.RateLimitService;
 import org.jhipster.blog.web.rest.errors.ExceptionTranslator;
 import org.jhipster.blog.web.rest.vm.LoginVM;
 import org.junit.jupiter.api.BeforeEach;
@@ -45,11 +46,14 @@ public class UserJWTControllerIT {
     @Autowired
     private ExceptionTranslator exceptionTranslator;
 
+    @Autowired
+    private RateLimitService rateLimitService;
+
     private MockMvc mockMvc;
 
     @BeforeEach
     public void setup() {
-        UserJWTController userJWTController = new UserJWTController(tokenProvider, authenticationManager);
+        UserJWTController userJWTController = new UserJWTController(tokenProvider, authenticationManager, rateLimitService);
         this.mockMvc = MockMvcBuilders.standaloneSetup(userJWTController)
             .setControllerAdvice(exceptionTranslator)
             .build();
@@ -116,4 +120,48 @@ public class UserJWTControllerIT {
             .andExpect(jsonPath("$.id_token").doesNotExist())
             .andExpect(header().doesNotExist("Authorization"));
     }
+
+    @Test
+    public void testAuthorizeIsRateLimitedByLogin() throws Exception {
+        LoginVM login = new LoginVM();
+        login.setUsername("rate-limited-user");
+        login.setPassword("wrong password");
+        byte[] content = TestUtil.convertObjectToJsonBytes(login);
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(post("/api/authenticate")
+                .contentType(TestUtil.APPLICATION_JSON_UTF8)
+                .content(content))
+                .andExpect(status().isUnauthorized());
+        }
+
+        mockMvc.perform(post("/api/authenticate")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(content))
+            .andExpect(status().isTooManyRequests())
+            .andExpect(header().string("Retry-After", not(isEmptyString())))
+            .andExpect(header().doesNotExist("Authorization"));
+    }
+
+    @Test
+    @Transactional
+    public void testSuccessfulAuthorizationsAreNotRateLimited() throws Exception {
+        User user = new User();
+        user.setLogin("user-jwt-controller-rate-limit");
+        user.setEmail("user-jwt-controller-rate-limit@example.com");
+        user.setActivated(true);
+        user.setPassword(passwordEncoder.encode("test"));
+
+        userRepository.saveAndFlush(user);
+
+        LoginVM login = new LoginVM();
+        login.setUsername("user-jwt-controller-rate-limit");
+        login.setPassword("test");
+        byte[] content = TestUtil.convertObjectToJsonBytes(login);
+        for (int i = 0; i < 10; i++) {
+            mockMvc.perform(post("/api/authenticate")
+                .contentType(TestUtil.APPLICATION_JSON_UTF8)
+                .content(content))
+                .andExpect(status().isOk());
+        }
+    }
 }
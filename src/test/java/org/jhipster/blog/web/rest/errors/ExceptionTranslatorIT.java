@@ -13,6 +13,7 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -113,6 +114,16 @@ public class ExceptionTranslatorIT {
             .andExpect(jsonPath("$.title").value("test response status"));
     }
 
+    @Test
+    public void testTooManyRequests() throws Exception {
+        mockMvc.perform(get("/test/too-many-requests"))
+            .andExpect(status().isTooManyRequests())
+            .andExpect(header().string("Retry-After", "5"))
+            .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+            .andExpect(jsonPath("$.message").value(ErrorConstants.ERR_TOO_MANY_REQUESTS))
+            .andExpect(jsonPath("$.title").value("test too many requests"));
+    }
+
     @Test
     public void testInternalServerError() throws Exception {
         mockMvc.perform(get("/test/internal-server-error"))
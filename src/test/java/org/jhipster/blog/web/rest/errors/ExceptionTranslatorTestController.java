@@ -44,6 +44,11 @@ public class ExceptionTranslatorTestController {
         throw new TestResponseStatusException();
     }
 
+    @GetMapping("/test/too-many-requests")
+    public void tooManyRequests() {
+        throw new TooManyRequestsException("test too many requests", 5);
+    }
+
     @GetMapping("/test/internal-server-error")
     public void internalServerError() {
         throw new RuntimeException();